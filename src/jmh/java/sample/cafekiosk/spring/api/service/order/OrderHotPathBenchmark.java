@@ -0,0 +1,118 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 주문 등록 경로 중 DB 를 거치지 않는 부분의 처리량을 주문 상품 수(1, 10, 100)별로 측정한다.
+ * - 주문 상품은 세 가지 상품 유형을 번갈아 사용하고, 상품번호는 10 종류를 반복한다. ( 같은 상품을 여러 개 주문하는 경우 )
+ * - 실행: ./gradlew jmh ( 결과: build/results/jmh/results.json )
+ * - 재고 상품 집계는 이전 방식(createStockCountingMapWithStream)과 연산당 할당량(gc.alloc.rate.norm)을 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderHotPathBenchmark {
+
+    private static final int DISTINCT_PRODUCT_COUNT = 10;
+
+    @Param({"1", "10", "100"})
+    private int itemCount;
+
+    private final OrderService orderService = new OrderService(null, null, null, null); // DB 를 사용하지 않는 메서드만 호출한다.
+    private final LocalDateTime registeredDateTime = LocalDateTime.of(2023, 3, 5, 10, 0);
+
+    private List<String> productNumbers;
+    private Map<String, Product> productMap;
+    private List<Product> products;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        productMap = new HashMap<>();
+        ProductType[] types = ProductType.values();
+        for (int i = 1; i <= DISTINCT_PRODUCT_COUNT; i++) {
+            String productNumber = String.format("%03d", i);
+            productMap.put(productNumber, Product.builder()
+                    .productNumber(productNumber)
+                    .type(types[i % types.length])
+                    .sellingStatus(ProductSellingStatus.SELLING)
+                    .name("메뉴 " + productNumber)
+                    .price(1000 * i)
+                    .build());
+        }
+
+        productNumbers = IntStream.range(0, itemCount)
+                .mapToObj(i -> String.format("%03d", i % DISTINCT_PRODUCT_COUNT + 1))
+                .toList();
+        products = orderService.mapToProducts(productNumbers, productMap);
+        order = Order.create(products, registeredDateTime);
+    }
+
+    @Benchmark
+    public Order createOrder() {
+        return Order.create(products, registeredDateTime);
+    }
+
+    @Benchmark
+    public OrderResponse createOrderResponse() {
+        return OrderResponse.of(order);
+    }
+
+    @Benchmark
+    public List<Product> mapToProducts() {
+        return orderService.mapToProducts(productNumbers, productMap);
+    }
+
+    @Benchmark
+    public List<String> extractStockProductNumbers() {
+        return orderService.extractStockProductNumbers(products);
+    }
+
+    @Benchmark
+    public Map<String, Integer> createStockCountingMap() {
+        return orderService.createStockCountingMapBy(products);
+    }
+
+    /**
+     * 비교 기준: 재고 상품번호 리스트를 만든 뒤 groupingBy 로 세던 이전 방식
+     */
+    @Benchmark
+    public Map<String, Integer> createStockCountingMapWithStream() {
+        List<String> stockProductNumbers = products.stream()
+                .filter(product -> List.of(ProductType.BOTTLE, ProductType.BAKERY).contains(product.getType()))
+                .map(Product::getProductNumber)
+                .collect(Collectors.toList());
+        return stockProductNumbers.stream()
+                .collect(Collectors.groupingBy(p -> p, TreeMap::new, Collectors.summingInt(p -> 1)));
+    }
+
+    /**
+     * createOrder 에서 재고 차감 전까지의 흐름 ( 상품 매핑 -> 재고 상품별 수량 집계 )
+     */
+    @Benchmark
+    public Map<String, Integer> productPipeline() {
+        List<Product> mappedProducts = orderService.mapToProducts(productNumbers, productMap);
+        return orderService.createStockCountingMapBy(mappedProducts);
+    }
+}
@@ -0,0 +1,55 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import sample.cafekiosk.spring.api.service.order.response.SalesTimeSeriesResponse;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 매출 시계열 인덱스에서 6주치 매출 추이를 조회하는 데 걸리는 시간을 구간 단위별로 측정한다.
+ * - 보관 기간(400일) 전체에 하루 1,000건씩 주문을 채워둔 상태에서 조회한다.
+ * - 실행: ./gradlew jmh ( 결과: build/results/jmh/results.json )
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SalesTimeSeriesIndexBenchmark {
+
+    private static final int RETENTION_DAYS = 400;
+    private static final int ORDERS_PER_DAY = 1_000;
+
+    @Param({"HOUR", "DAY", "WEEK"})
+    private SalesGranularity granularity;
+
+    private final SalesTimeSeriesIndex salesTimeSeriesIndex = new SalesTimeSeriesIndex(null, RETENTION_DAYS); // rebuild 는 호출하지 않는다.
+    private final LocalDate toDate = LocalDate.now();
+    private final LocalDate fromDate = toDate.minusWeeks(6).plusDays(1);
+
+    @Setup
+    public void setUp() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        OrderStatus[] orderStatuses = OrderStatus.values();
+        for (int day = 0; day < RETENTION_DAYS; day++) {
+            LocalDate salesDate = toDate.minusDays(day);
+            for (int i = 0; i < ORDERS_PER_DAY; i++) {
+                salesTimeSeriesIndex.record(salesDate.atTime(random.nextInt(24), random.nextInt(60)),
+                        orderStatuses[random.nextInt(orderStatuses.length)], 1, 1000L * (1 + random.nextInt(10)));
+            }
+        }
+    }
+
+    @Benchmark
+    public SalesTimeSeriesResponse querySixWeeks() {
+        return salesTimeSeriesIndex.query(fromDate, toDate, granularity, OrderStatus.PAYMENT_COMPLETED);
+    }
+}
@@ -0,0 +1,44 @@
+package sample.cafekiosk.spring.domain.product;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * 주문 상품 수(1, 10, 100)만큼 ProductType.containsStockType 을 호출하는 처리량을 측정한다.
+ * - 실행: ./gradlew jmh ( 결과: build/results/jmh/results.json )
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductTypeBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int itemCount;
+
+    private ProductType[] types;
+
+    @Setup
+    public void setUp() {
+        ProductType[] values = ProductType.values();
+        types = IntStream.range(0, itemCount)
+                .mapToObj(i -> values[i % values.length])
+                .toArray(ProductType[]::new);
+    }
+
+    @Benchmark
+    public void containsStockType(Blackhole blackhole) {
+        for (ProductType type : types) {
+            blackhole.consume(ProductType.containsStockType(type));
+        }
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.validation.BindException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import sample.cafekiosk.spring.api.service.order.OrderStatusConflictException;
 
 @RestControllerAdvice
 public class ApiControllerAdvice {
@@ -19,4 +20,24 @@ public class ApiControllerAdvice {
         );
     }
 
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(IllegalArgumentException.class) // 서비스에서 요청 값을 검증하다 실패한 경우
+    public <T> ApiResponse<T> illegalArgumentExceptionHandler(IllegalArgumentException e) {
+        return ApiResponse.of(
+                HttpStatus.BAD_REQUEST,
+                e.getMessage(),
+                null
+        );
+    }
+
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(OrderStatusConflictException.class) // 주문 상태를 바꾸는 동안 다른 요청이 먼저 바꾼 경우 ( 다시 요청하면 된다. )
+    public <T> ApiResponse<T> orderStatusConflictExceptionHandler(OrderStatusConflictException e) {
+        return ApiResponse.of(
+                HttpStatus.CONFLICT,
+                e.getMessage(),
+                null
+        );
+    }
+
 }
@@ -0,0 +1,35 @@
+package sample.cafekiosk.spring.api.controller.kitchen;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import sample.cafekiosk.spring.api.ApiResponse;
+import sample.cafekiosk.spring.api.service.kitchen.KitchenDisplayBroadcaster;
+import sample.cafekiosk.spring.api.service.kitchen.KitchenOrderQueue;
+import sample.cafekiosk.spring.api.service.kitchen.response.KitchenOrderResponse;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class KitchenController {
+
+    private final KitchenOrderQueue kitchenOrderQueue;
+    private final KitchenDisplayBroadcaster kitchenDisplayBroadcaster;
+
+    @GetMapping("/api/v1/kitchen/orders")
+    public ApiResponse<List<KitchenOrderResponse>> getKitchenOrders() {
+        return ApiResponse.ok(kitchenOrderQueue.getOrders());
+    }
+
+    /**
+     * 주방 화면이 연결해두면, 대기열이 바뀔 때마다 대기열 전체(kitchen-orders 이벤트, List<KitchenOrderResponse>)를 받는다.
+     * - 연결하자마자 현재 대기열을 한 번 받는다.
+     */
+    @GetMapping(value = "/api/v1/kitchen/orders/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamKitchenOrders() {
+        return kitchenDisplayBroadcaster.subscribe();
+    }
+}
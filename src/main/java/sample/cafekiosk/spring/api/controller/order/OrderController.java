@@ -2,26 +2,88 @@ package sample.cafekiosk.spring.api.controller.order;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import sample.cafekiosk.spring.api.ApiResponse;
+import sample.cafekiosk.spring.api.controller.order.request.OrderBatchCreateRequest;
 import sample.cafekiosk.spring.api.controller.order.request.OrderCreateRequest;
+import sample.cafekiosk.spring.api.controller.order.request.OrderStatusChangeRequest;
+import sample.cafekiosk.spring.api.service.order.OrderIdempotencyStore;
+import sample.cafekiosk.spring.api.service.order.OrderQueryService;
 import sample.cafekiosk.spring.api.service.order.OrderService;
+import sample.cafekiosk.spring.api.service.order.OrderStatusService;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderBatchResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderPageResponse;
 import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderStatusChangeResponse;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @RestController
 @RequiredArgsConstructor
 public class OrderController {
 
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final OrderService orderService;
+    private final OrderIdempotencyStore orderIdempotencyStore;
+    private final OrderQueryService orderQueryService;
+    private final OrderStatusService orderStatusService;
 
+    /**
+     * Idempotency-Key 헤더가 있으면, 같은 키로 다시 들어온 요청(재시도)에는 주문을 새로 만들지 않고 처음 만든 주문의 응답을 돌려준다.
+     */
     @PostMapping("/api/v1/orders/new")
-    public ApiResponse<OrderResponse> createOrder(@Valid @RequestBody OrderCreateRequest request) { // body 로 넘어오는 데이터를 받음
+    public ApiResponse<OrderResponse> createOrder(@Valid @RequestBody OrderCreateRequest request, // body 로 넘어오는 데이터를 받음
+                                                  @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         LocalDateTime registeredDateTime = LocalDateTime.now();
-        return ApiResponse.ok(orderService.createOrder(request.toServiceRequest(), registeredDateTime));
+        OrderCreateServiceRequest serviceRequest = request.toServiceRequest();
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return ApiResponse.ok(orderService.createOrder(serviceRequest, registeredDateTime));
+        }
+        return ApiResponse.ok(orderIdempotencyStore.createOrderOnce(idempotencyKey, serviceRequest,
+                () -> orderService.createOrder(serviceRequest, registeredDateTime)));
+    }
+
+    @PostMapping("/api/v1/orders/batch")
+    public ApiResponse<OrderBatchResponse> createOrders(@Valid @RequestBody OrderBatchCreateRequest request) {
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+        return ApiResponse.ok(orderService.createOrders(request.toServiceRequests(), registeredDateTime));
     }
-}
 
+    /**
+     * 여러 주문의 상태를 한 번에 바꾼다. ( 바꿀 수 없는 주문은 failures 로 응답하고, 나머지 주문만 바꾼다. )
+     */
+    @PostMapping("/api/v1/orders/status")
+    public ApiResponse<OrderStatusChangeResponse> changeOrderStatuses(@Valid @RequestBody OrderStatusChangeRequest request) {
+        LocalDateTime modifiedDateTime = LocalDateTime.now();
+        return ApiResponse.ok(orderStatusService.changeOrderStatuses(request.toServiceRequest(), modifiedDateTime));
+    }
+
+    /**
+     * 기간(from ~ to, 양 끝 포함) 의 주문을 최신순으로 조회한다.
+     * - 다음 페이지는 응답의 nextCursor 를 cursor 로 보내서 조회한다. ( keyset 페이징 )
+     */
+    @GetMapping("/api/v1/orders")
+    public ApiResponse<OrderPageResponse> getOrders(@RequestParam(required = false) OrderStatus orderStatus,
+                                                    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "20") int size) {
+        return ApiResponse.ok(orderQueryService.getOrders(orderStatus, from, to, cursor, size));
+    }
+
+    @GetMapping("/api/v1/orders/{orderId}")
+    public ApiResponse<OrderResponse> getOrder(@PathVariable Long orderId) {
+        return ApiResponse.ok(orderQueryService.getOrder(orderId));
+    }
+}
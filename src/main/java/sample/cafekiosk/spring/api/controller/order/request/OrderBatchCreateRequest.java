@@ -0,0 +1,32 @@
+package sample.cafekiosk.spring.api.controller.order.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+public class OrderBatchCreateRequest {
+
+    @Valid // 각 주문(OrderCreateRequest)에 대한 검증도 함께 수행
+    @NotEmpty(message = "주문 리스트는 필수입니다.")
+    @Size(max = 1000, message = "한 번에 등록할 수 있는 주문은 최대 1000건입니다.")
+    private List<OrderCreateRequest> orders; // 키오스크에 쌓여있던 주문 목록 ( 요청 순서대로 처리 )
+
+    @Builder
+    public OrderBatchCreateRequest(List<OrderCreateRequest> orders) {
+        this.orders = orders;
+    }
+
+    public List<OrderCreateServiceRequest> toServiceRequests() {
+        return orders.stream()
+                .map(OrderCreateRequest::toServiceRequest)
+                .toList();
+    }
+}
@@ -0,0 +1,37 @@
+package sample.cafekiosk.spring.api.controller.order.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.api.service.order.request.OrderStatusChangeServiceRequest;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+public class OrderStatusChangeRequest {
+
+    @NotEmpty(message = "주문 id 리스트는 필수입니다.")
+    @Size(max = 10000, message = "한 번에 상태를 바꿀 수 있는 주문은 최대 10000건입니다.")
+    private List<Long> orderIds;
+
+    @NotNull(message = "주문 상태는 필수입니다.")
+    private OrderStatus orderStatus; // 바꿀 상태
+
+    @Builder
+    public OrderStatusChangeRequest(List<Long> orderIds, OrderStatus orderStatus) {
+        this.orderIds = orderIds;
+        this.orderStatus = orderStatus;
+    }
+
+    public OrderStatusChangeServiceRequest toServiceRequest() {
+        return OrderStatusChangeServiceRequest.builder()
+                .orderIds(orderIds)
+                .orderStatus(orderStatus)
+                .build();
+    }
+}
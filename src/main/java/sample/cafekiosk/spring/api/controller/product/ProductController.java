@@ -2,31 +2,51 @@ package sample.cafekiosk.spring.api.controller.product;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 import sample.cafekiosk.spring.api.ApiResponse;
 import sample.cafekiosk.spring.api.controller.product.dto.request.ProductCreateRequest;
 import sample.cafekiosk.spring.api.service.product.ProductService;
+import sample.cafekiosk.spring.api.service.product.SellingMenuSnapshotService;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
-
-import java.util.List;
+import sample.cafekiosk.spring.api.service.product.response.SellingMenuSnapshot;
 
 @RestController
 @RequiredArgsConstructor
 public class ProductController {
 
     private final ProductService productService;
+    private final SellingMenuSnapshotService sellingMenuSnapshotService;
 
     @PostMapping("/api/v1/products/new")
     public ApiResponse<ProductResponse> createProduct(@Valid @RequestBody ProductCreateRequest request) {
         return ApiResponse.ok(productService.createProduct(request.toServiceRequest()));
     }
 
+    /**
+     * 미리 직렬화해둔 판매 상품 목록(ApiResponse<List<ProductResponse>>)을 그대로 내려준다.
+     * - 키오스크가 마지막으로 받은 ETag 를 If-None-Match 로 보내면, 메뉴가 바뀌지 않은 경우 본문 없이 304 로 응답한다.
+     */
     @GetMapping("/api/v1/products/selling")
-    public ApiResponse<List<ProductResponse>> getSellingProducts() {
-        return ApiResponse.ok(productService.getSellingProducts());
+    public ResponseEntity<byte[]> getSellingProducts(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        SellingMenuSnapshot snapshot = sellingMenuSnapshotService.getSnapshot();
+        if (snapshot.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.getETag())
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(snapshot.getETag())
+                .body(snapshot.getBody());
     }
 
 }
@@ -0,0 +1,32 @@
+package sample.cafekiosk.spring.api.controller.statistics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import sample.cafekiosk.spring.api.ApiResponse;
+import sample.cafekiosk.spring.api.service.order.OrderStatisticsService;
+import sample.cafekiosk.spring.api.service.order.SalesGranularity;
+import sample.cafekiosk.spring.api.service.order.response.SalesTimeSeriesResponse;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+import java.time.LocalDate;
+
+@RestController
+@RequiredArgsConstructor
+public class StatisticsController {
+
+    private final OrderStatisticsService orderStatisticsService;
+
+    /**
+     * 기간(from ~ to, 양 끝 포함) 의 매출 추이를 구간 단위(granularity)로 조회한다. ( 기본: 일 단위, 결제완료 주문 )
+     */
+    @GetMapping("/api/v1/statistics/sales")
+    public ApiResponse<SalesTimeSeriesResponse> getSales(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                         @RequestParam(defaultValue = "DAY") SalesGranularity granularity,
+                                                         @RequestParam(defaultValue = "PAYMENT_COMPLETED") OrderStatus orderStatus) {
+        return ApiResponse.ok(orderStatisticsService.getSalesTimeSeries(from, to, granularity, orderStatus));
+    }
+}
@@ -0,0 +1,218 @@
+package sample.cafekiosk.spring.api.service.kitchen;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * 연결된 주방 화면들에 주방 대기열을 Server-Sent Events 로 밀어준다. ( 화면이 폴링하지 않는다. )
+ * - 대기열이 바뀌면 이벤트를 한 번만 JSON(byte[]) 으로 직렬화하고, 같은 이벤트 객체를 모든 화면에 그대로 보낸다. ( 화면 수만큼 직렬화하지 않는다. )
+ * - 이벤트는 전용 스레드 하나에서 만든다. 만드는 동안 대기열이 여러 번 바뀌면 마지막 상태만 한 번 만든다. ( 주문 트랜잭션은 발송을 기다리지 않는다. )
+ * - 만든 이벤트는 화면마다 크기가 정해진 발송 큐(send-queue-size)에 넣고, 화면마다 따로 보낸다. ( 느린 화면이 다른 화면의 발송을 막지 않는다. )
+ *   발송은 크기가 정해진 발송 스레드 풀(send-threads)에서 한다. spring.threads.virtual.enabled 이면 가상 스레드로 실행한다. ( virtual-threads 프로파일 )
+ *   발송 큐가 가득 찬 화면(보내는 속도를 따라오지 못하는 화면)은 목록에서 빼고, 그 화면의 발송 스레드에서 연결을 끊는다.
+ * - 새로 연결한 화면에는 마지막으로 만든 이벤트를 먼저 보낸다. ( 화면마다 큐 순서대로 보내므로 순서가 뒤바뀌지 않는다. )
+ * - 보내다 실패한(연결이 끊긴) 화면은 목록에서 뺀다. 목록에 넣기 전에 이미 연결이 끝난 화면은 넣지 않는다. 화면은 EventSource 의 재연결로 다시 붙는다.
+ */
+@Slf4j
+@Component
+public class KitchenDisplayBroadcaster implements MeterBinder {
+
+    static final String EVENT_NAME = "kitchen-orders";
+
+    private final ObjectMapper objectMapper;
+    private final long timeoutMillis;
+    private final int sendQueueSize;
+
+    private final Map<SseEmitter, KitchenDisplay> displays = new ConcurrentHashMap<>();
+    private final ExecutorService broadcaster = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("kitchen-display-"));
+    private final ExecutorService senders;
+    private final AtomicReference<Supplier<?>> pendingPayload = new AtomicReference<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile Set<ResponseBodyEmitter.DataWithMediaType> lastEvent;
+
+    public KitchenDisplayBroadcaster(ObjectMapper objectMapper,
+                                     @Value("${cafekiosk.kitchen.display.timeout:30m}") Duration timeout,
+                                     @Value("${cafekiosk.kitchen.display.send-queue-size:16}") int sendQueueSize,
+                                     @Value("${cafekiosk.kitchen.display.send-threads:4}") int sendThreads,
+                                     @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.objectMapper = objectMapper;
+        this.timeoutMillis = timeout.toMillis();
+        this.sendQueueSize = sendQueueSize;
+
+        ThreadFactory threadFactory = virtualThreads
+                ? new VirtualThreadTaskExecutor("kitchen-display-send-").getVirtualThreadFactory() // JDK 21 이상
+                : new CustomizableThreadFactory("kitchen-display-send-");
+        this.senders = Executors.newFixedThreadPool(sendThreads, threadFactory);
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        KitchenDisplay display = new KitchenDisplay(emitter);
+        emitter.onCompletion(display::disconnect);
+        emitter.onTimeout(display::disconnect);
+        emitter.onError(e -> display.disconnect());
+
+        broadcaster.execute(() -> { // 이벤트를 만드는 스레드에서 등록하므로, 마지막 이벤트와 이후 이벤트 사이에 빠지는 이벤트가 없다.
+            displays.put(emitter, display);
+            if (display.disconnected) { // 등록하기 전에 연결이 끝났다. ( 넣은 뒤에 끝났다면 disconnect 에서 뺀다. )
+                displays.remove(emitter);
+                return;
+            }
+            Set<ResponseBodyEmitter.DataWithMediaType> event = lastEvent;
+            if (event != null) {
+                display.offer(event);
+            }
+        });
+        return emitter;
+    }
+
+    /**
+     * 보낼 내용은 발송 스레드에서 payload 를 호출해서 만든다. ( 밀려 있는 동안 바뀐 내용까지 담긴다. )
+     */
+    public void publish(Supplier<?> payload) {
+        if (pendingPayload.getAndSet(payload) == null) {
+            broadcaster.execute(this::broadcastPending);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return displays.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("cafekiosk.kitchen.displays", displays, Map::size)
+                .description("연결된 주방 화면 수")
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        broadcaster.shutdownNow();
+        senders.shutdownNow();
+        displays.keySet().forEach(SseEmitter::complete);
+        displays.clear();
+    }
+
+    private void broadcastPending() {
+        Supplier<?> payload = pendingPayload.getAndSet(null);
+        if (payload == null) {
+            return;
+        }
+
+        Set<ResponseBodyEmitter.DataWithMediaType> event;
+        try {
+            event = SseEmitter.event()
+                    .id(String.valueOf(sequence.incrementAndGet()))
+                    .name(EVENT_NAME)
+                    .data(objectMapper.writeValueAsBytes(payload.get()), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            log.error("주방 대기열을 직렬화할 수 없습니다.", e);
+            return;
+        }
+
+        lastEvent = event;
+        for (KitchenDisplay display : displays.values()) {
+            if (!display.offer(event)) {
+                log.warn("주방 화면이 이벤트를 받는 속도를 따라오지 못해 연결을 끊습니다. ( 밀린 이벤트 {}개 )", sendQueueSize);
+                displays.remove(display.emitter);
+                display.close();
+            }
+        }
+    }
+
+    /**
+     * 연결된 주방 화면 하나 ( 발송 큐의 이벤트를 순서대로 보낸다. 보내는 스레드는 화면마다 한 번에 하나다. )
+     */
+    private class KitchenDisplay {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> events = new ArrayBlockingQueue<>(sendQueueSize);
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile boolean disconnected; // emitter 의 연결이 끝났다. ( 완료 / 타임아웃 / 오류 )
+        private volatile boolean closed; // 발송 큐가 넘쳐서 연결을 끊어야 한다.
+
+        private KitchenDisplay(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void disconnect() {
+            disconnected = true;
+            displays.remove(emitter);
+        }
+
+        // 남은 이벤트는 버리고, 발송 스레드에서 연결을 끊는다. ( 보내는 중이면 그 발송이 끝날 때까지 기다리므로, 이벤트를 만드는 스레드에서 끊지 않는다. )
+        private void close() {
+            closed = true;
+            events.clear();
+            if (sending.compareAndSet(false, true)) {
+                senders.execute(this::sendAll);
+            }
+        }
+
+        // 발송 큐가 가득 차 있으면 false
+        private boolean offer(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+            if (!events.offer(event)) {
+                return false;
+            }
+            if (sending.compareAndSet(false, true)) {
+                senders.execute(this::sendAll);
+            }
+            return true;
+        }
+
+        private void sendAll() {
+            do {
+                Set<ResponseBodyEmitter.DataWithMediaType> event;
+                while (!closed && (event = events.poll()) != null) {
+                    if (!send(event)) {
+                        displays.remove(emitter);
+                        return; // 목록에서 빠졌으므로 더 들어오지 않는다.
+                    }
+                }
+                if (closed) {
+                    emitter.complete();
+                    return; // sending 을 내려놓지 않으므로 더 보내지 않는다.
+                }
+                sending.set(false);
+            } while ((closed || !events.isEmpty()) && sending.compareAndSet(false, true)); // 내려놓는 사이에 들어온 이벤트 / 끊으라는 요청
+        }
+
+        private boolean send(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+            try {
+                emitter.send(event);
+                return true;
+            } catch (IOException | IllegalStateException e) { // 연결이 끊겼거나 이미 완료된 emitter ( 요청 정리는 서블릿 컨테이너가 한다. )
+                return false;
+            }
+        }
+    }
+}
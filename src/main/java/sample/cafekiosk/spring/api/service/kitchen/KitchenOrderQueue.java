@@ -0,0 +1,170 @@
+package sample.cafekiosk.spring.api.service.kitchen;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sample.cafekiosk.spring.api.service.kitchen.response.KitchenOrderItemResponse;
+import sample.cafekiosk.spring.api.service.kitchen.response.KitchenOrderResponse;
+import sample.cafekiosk.spring.api.service.product.ProductCatalogCache;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.order.OrderStatusChangedEvent;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProduct;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 주방에서 만들어야 하는(접수된) 제조 음료 주문의 대기열
+ * - 주문이 접수(RECEIVED)되면 제조 음료(HANDMADE)가 있는 주문만 들어오고, 접수 상태에서 벗어나면(처리완료 / 취소) 빠진다.
+ * - 먼저 들어온 주문(registeredDateTime, id 순)이 앞에 온다.
+ * - 상태 변경이 커밋된 뒤에 한 트랜잭션의 변경을 한 번에 반영하고, 연결된 주방 화면에 알린다. ( 일괄 상태 변경도 화면에는 한 번 )
+ * - 기동 시에 접수 상태의 주문으로 다시 채운다.
+ *
+ * 참고) 매장 구분이 없으므로(키오스크 서버 = 매장) 서버마다 대기열 하나를 둔다.
+ */
+@RequiredArgsConstructor
+@Component
+public class KitchenOrderQueue {
+
+    private static final Comparator<KitchenOrderResponse> PRIORITY = Comparator
+            .comparing(KitchenOrderResponse::getRegisteredDateTime)
+            .thenComparing(KitchenOrderResponse::getOrderId);
+
+    private final OrderRepository orderRepository;
+    private final ProductCatalogCache productCatalogCache;
+    private final KitchenDisplayBroadcaster kitchenDisplayBroadcaster;
+    private final PriorityBlockingQueue<KitchenOrderResponse> queue = new PriorityBlockingQueue<>(64, PRIORITY);
+
+    @EventListener
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        boolean entering = event.getAfterStatus() == OrderStatus.RECEIVED;
+        boolean leaving = event.getBeforeStatus() == OrderStatus.RECEIVED;
+        if (!entering && !leaving) {
+            return;
+        }
+
+        // 상품 정보는 트랜잭션 안에서 조회해둔다.
+        KitchenOrderResponse kitchenOrder = entering ? toKitchenOrder(event) : null;
+        Runnable change = () -> {
+            if (leaving) {
+                queue.removeIf(order -> order.getOrderId().equals(event.getOrderId()));
+            }
+            if (kitchenOrder != null) {
+                queue.add(kitchenOrder);
+            }
+        };
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            kitchenDisplayBroadcaster.publish(this::getOrders);
+            return;
+        }
+        transactionChanges().add(change);
+    }
+
+    /**
+     * 대기열을 비우고, 접수 상태의 주문으로 다시 채운다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        queue.clear();
+        for (Order order : orderRepository.findAllWithProductsByOrderStatus(OrderStatus.RECEIVED)) {
+            List<Product> products = order.getOrderProducts().stream()
+                    .map(OrderProduct::getProduct)
+                    .toList();
+            KitchenOrderResponse kitchenOrder = toKitchenOrder(order.getId(), order.getRegisteredDateTime(), products);
+            if (kitchenOrder != null) {
+                queue.add(kitchenOrder);
+            }
+        }
+        kitchenDisplayBroadcaster.publish(this::getOrders);
+    }
+
+    /**
+     * 대기열의 주문을 먼저 만들어야 하는 순서대로 반환한다.
+     */
+    public List<KitchenOrderResponse> getOrders() {
+        KitchenOrderResponse[] orders = queue.toArray(new KitchenOrderResponse[0]); // PriorityBlockingQueue 의 순회 순서는 우선순위 순이 아니다.
+        Arrays.sort(orders, PRIORITY);
+        return List.of(orders);
+    }
+
+    public void clear() {
+        queue.clear();
+    }
+
+    // 현재 트랜잭션에서 모아둔 대기열 변경 ( 처음 호출될 때 만들고, 커밋된 뒤에 반영한다. )
+    private List<Runnable> transactionChanges() {
+        @SuppressWarnings("unchecked")
+        List<Runnable> changes = (List<Runnable>) TransactionSynchronizationManager.getResource(KitchenOrderQueue.class);
+        if (changes != null) {
+            return changes;
+        }
+
+        List<Runnable> newChanges = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(KitchenOrderQueue.class, newChanges);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                newChanges.forEach(Runnable::run);
+                kitchenDisplayBroadcaster.publish(KitchenOrderQueue.this::getOrders);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(KitchenOrderQueue.class);
+            }
+        });
+        return newChanges;
+    }
+
+    private KitchenOrderResponse toKitchenOrder(OrderStatusChangedEvent event) {
+        Map<String, Product> productMap = productCatalogCache.getProductsByProductNumbers(event.getProductNumbers()).stream()
+                .collect(Collectors.toMap(Product::getProductNumber, Function.identity()));
+        List<Product> products = event.getProductNumbers().stream()
+                .map(productMap::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return toKitchenOrder(event.getOrderId(), event.getRegisteredDateTime(), products);
+    }
+
+    // 제조 음료가 없는 주문이면 null
+    private KitchenOrderResponse toKitchenOrder(Long orderId, LocalDateTime registeredDateTime, List<Product> products) {
+        Map<Product, Integer> quantities = new LinkedHashMap<>(); // 주문한 순서대로
+        products.stream()
+                .filter(product -> product.getType() == ProductType.HANDMADE)
+                .forEach(product -> quantities.merge(product, 1, Integer::sum));
+        if (quantities.isEmpty()) {
+            return null;
+        }
+
+        List<KitchenOrderItemResponse> items = quantities.entrySet().stream()
+                .map(entry -> KitchenOrderItemResponse.builder()
+                        .productNumber(entry.getKey().getProductNumber())
+                        .name(entry.getKey().getName())
+                        .quantity(entry.getValue())
+                        .build())
+                .toList();
+        return KitchenOrderResponse.builder()
+                .orderId(orderId)
+                .registeredDateTime(registeredDateTime)
+                .items(items)
+                .build();
+    }
+}
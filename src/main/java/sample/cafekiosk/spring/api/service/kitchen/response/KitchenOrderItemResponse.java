@@ -0,0 +1,22 @@
+package sample.cafekiosk.spring.api.service.kitchen.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 주방에서 만들어야 하는 제조 음료와 잔 수
+ */
+@Getter
+public class KitchenOrderItemResponse {
+
+    private String productNumber;
+    private String name;
+    private int quantity;
+
+    @Builder
+    private KitchenOrderItemResponse(String productNumber, String name, int quantity) {
+        this.productNumber = productNumber;
+        this.name = name;
+        this.quantity = quantity;
+    }
+}
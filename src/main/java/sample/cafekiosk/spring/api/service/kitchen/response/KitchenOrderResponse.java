@@ -0,0 +1,25 @@
+package sample.cafekiosk.spring.api.service.kitchen.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 주방 대기열의 주문 한 건 ( 제조 음료만 담는다. )
+ */
+@Getter
+public class KitchenOrderResponse {
+
+    private Long orderId;
+    private LocalDateTime registeredDateTime;
+    private List<KitchenOrderItemResponse> items;
+
+    @Builder
+    private KitchenOrderResponse(Long orderId, LocalDateTime registeredDateTime, List<KitchenOrderItemResponse> items) {
+        this.orderId = orderId;
+        this.registeredDateTime = registeredDateTime;
+        this.items = items;
+    }
+}
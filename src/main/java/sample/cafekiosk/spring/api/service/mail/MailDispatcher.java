@@ -0,0 +1,204 @@
+package sample.cafekiosk.spring.api.service.mail;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import sample.cafekiosk.spring.client.mail.MailSendClient;
+import sample.cafekiosk.spring.domain.history.mail.MailSendHistory;
+import sample.cafekiosk.spring.domain.history.mail.MailSendHistoryRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 메일을 비동기로 발송한다.
+ * - 호출한 스레드는 크기가 정해진 대기열에 메일을 넣고 바로 돌아간다. ( 발송 결과는 CompletableFuture 로 받는다. )
+ * - 워커 스레드들이 대기열에서 최대 batch-size 만큼 꺼내서 발송하고, 성공한 메일의 발송 이력은 한 번에 저장한다.
+ * - 발송에 실패하면(예외 포함) 지수 백오프로 max-attempts 까지 다시 시도한다.
+ * - 대기열이 가득 차 있으면 offer-timeout 만큼 기다리고, 그래도 자리가 없으면 IllegalStateException 을 던진다. ( back-pressure )
+ * - 종료할 때는 shutdown-timeout 까지 대기열을 비우고, 그 안에 보내지 못한 메일의 발송 결과는 false 로 끝낸다.
+ * - spring.threads.virtual.enabled 이면 워커를 가상 스레드로 실행한다. ( virtual-threads 프로파일 )
+ */
+@Slf4j
+@Component
+public class MailDispatcher {
+
+    private final MailSendClient mailSendClient;
+    private final MailSendHistoryRepository mailSendHistoryRepository;
+    private final BlockingQueue<MailRequest> queue;
+    private final int workerCount;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration offerTimeout;
+    private final Duration shutdownTimeout;
+    private final boolean virtualThreads;
+    private final ReadWriteLock runningLock = new ReentrantReadWriteLock(); // 종료된 뒤에 대기열에 넣지 못하도록 running 변경과 대기열 넣기를 나눈다.
+
+    private ExecutorService workers;
+    private volatile boolean running;
+
+    public MailDispatcher(MailSendClient mailSendClient,
+                          MailSendHistoryRepository mailSendHistoryRepository,
+                          @Value("${cafekiosk.mail.dispatcher.queue-capacity:10000}") int queueCapacity,
+                          @Value("${cafekiosk.mail.dispatcher.worker-count:4}") int workerCount,
+                          @Value("${cafekiosk.mail.dispatcher.batch-size:50}") int batchSize,
+                          @Value("${cafekiosk.mail.dispatcher.max-attempts:3}") int maxAttempts,
+                          @Value("${cafekiosk.mail.dispatcher.initial-backoff:200ms}") Duration initialBackoff,
+                          @Value("${cafekiosk.mail.dispatcher.offer-timeout:100ms}") Duration offerTimeout,
+                          @Value("${cafekiosk.mail.dispatcher.shutdown-timeout:30s}") Duration shutdownTimeout,
+                          @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.mailSendClient = mailSendClient;
+        this.mailSendHistoryRepository = mailSendHistoryRepository;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.workerCount = workerCount;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.offerTimeout = offerTimeout;
+        this.shutdownTimeout = shutdownTimeout;
+        this.virtualThreads = virtualThreads;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        ThreadFactory threadFactory = virtualThreads
+                ? new VirtualThreadTaskExecutor("mail-dispatcher-").getVirtualThreadFactory() // JDK 21 이상
+                : new CustomizableThreadFactory("mail-dispatcher-");
+        workers = Executors.newFixedThreadPool(workerCount, threadFactory);
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(this::work);
+        }
+    }
+
+    /**
+     * 대기열이 비워질 때까지 발송한 뒤 워커를 종료한다.
+     * - shutdown-timeout 안에 끝나지 않으면 워커를 중단시키고, 대기열에 남은 메일의 발송 결과는 false 로 끝낸다.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        runningLock.writeLock().lock(); // 대기열에 넣고 있는 호출이 끝난 뒤에 종료 상태로 바꾼다.
+        try {
+            running = false;
+        } finally {
+            runningLock.writeLock().unlock();
+        }
+
+        workers.shutdown();
+        if (!workers.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            workers.shutdownNow();
+        }
+
+        List<MailRequest> leftovers = new ArrayList<>();
+        queue.drainTo(leftovers);
+        if (!leftovers.isEmpty()) {
+            log.warn("종료 전에 발송하지 못한 메일 {}건", leftovers.size());
+        }
+        leftovers.forEach(request -> request.getResult().complete(false));
+    }
+
+    public CompletableFuture<Boolean> dispatch(String fromEmail, String toEmail, String subject, String content) {
+        MailRequest request = new MailRequest(fromEmail, toEmail, subject, content);
+
+        runningLock.readLock().lock(); // 워커는 종료 상태에서 대기열이 비면 끝나므로, 종료 상태가 아닌 동안에만 대기열에 넣는다.
+        try {
+            if (!running) {
+                throw new IllegalStateException("메일 발송이 종료되었습니다.");
+            }
+            if (!queue.offer(request, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("메일 발송 대기열이 가득 찼습니다.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("메일 발송 대기열에 넣지 못했습니다.", e);
+        } finally {
+            runningLock.readLock().unlock();
+        }
+        return request.getResult();
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private void work() {
+        List<MailRequest> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                MailRequest first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                sendBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(request -> request.getResult().complete(false));
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void sendBatch(List<MailRequest> batch) throws InterruptedException {
+        List<MailRequest> sentRequests = new ArrayList<>(batch.size());
+        for (MailRequest request : batch) {
+            if (sendWithRetry(request)) {
+                sentRequests.add(request);
+                continue;
+            }
+            request.getResult().complete(false);
+        }
+
+        if (sentRequests.isEmpty()) {
+            return;
+        }
+
+        List<MailSendHistory> histories = sentRequests.stream()
+                .map(MailRequest::toHistory)
+                .toList();
+        try {
+            mailSendHistoryRepository.saveAll(histories);
+        } catch (RuntimeException e) {
+            log.error("메일 발송 이력 저장 실패 ( {}건 )", histories.size(), e);
+        }
+        sentRequests.forEach(request -> request.getResult().complete(true)); // 메일은 이미 발송되었으므로 이력 저장 실패와 무관하게 성공
+    }
+
+    private boolean sendWithRetry(MailRequest request) throws InterruptedException {
+        long backoffMillis = initialBackoff.toMillis();
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                if (mailSendClient.sendEmail(request.getFromEmail(), request.getToEmail(), request.getSubject(), request.getContent())) {
+                    return true;
+                }
+            } catch (RuntimeException e) {
+                log.warn("메일 전송 실패 ( {}/{} ) : {}", attempt, maxAttempts, e.getMessage());
+            }
+
+            if (attempt < maxAttempts) {
+                Thread.sleep(backoffMillis);
+                backoffMillis *= 2;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,35 @@
+package sample.cafekiosk.spring.api.service.mail;
+
+import lombok.Getter;
+import sample.cafekiosk.spring.domain.history.mail.MailSendHistory;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 발송 대기열(MailDispatcher)에 들어가는 메일 한 건과, 발송 결과를 전달할 future
+ */
+@Getter
+class MailRequest {
+
+    private final String fromEmail;
+    private final String toEmail;
+    private final String subject;
+    private final String content;
+    private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+
+    MailRequest(String fromEmail, String toEmail, String subject, String content) {
+        this.fromEmail = fromEmail;
+        this.toEmail = toEmail;
+        this.subject = subject;
+        this.content = content;
+    }
+
+    MailSendHistory toHistory() {
+        return MailSendHistory.builder()
+                .fromEmail(fromEmail)
+                .toEmail(toEmail)
+                .subject(subject)
+                .content(content)
+                .build();
+    }
+}
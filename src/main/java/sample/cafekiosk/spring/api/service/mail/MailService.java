@@ -1,5 +1,6 @@
 package sample.cafekiosk.spring.api.service.mail;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import sample.cafekiosk.spring.client.mail.MailSendClient;
@@ -13,6 +14,7 @@ public class MailService {
     private final MailSendClient mailSendClient;
     private final MailSendHistoryRepository mailSendHistoryRepository;
 
+    @Timed(value = "cafekiosk.mail.send", description = "메일 발송 시간 ( 발송 이력 저장 포함 )", histogram = true)
     public boolean sendMail(String fromEmail, String toEmail, String subject, String content) {
         boolean result = mailSendClient.sendEmail(fromEmail, toEmail, subject, content);
         if (result) {
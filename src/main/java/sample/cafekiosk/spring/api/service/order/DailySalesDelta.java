@@ -0,0 +1,55 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.sales.DailyProductSalesSummaryId;
+import sample.cafekiosk.spring.domain.sales.DailySalesSummaryId;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 한 트랜잭션 동안 발생한 매출 집계 증감량 ( 커밋 직전에 집계 row 별로 한 번씩만 반영한다. )
+ * - 집계 row 는 키 순서(일자 / 상태 / 상품번호)로 갱신한다. 요청마다 상품 순서가 달라도 row lock 을 같은 순서로 잡으므로, 주문끼리 데드락이 생기지 않는다.
+ */
+class DailySalesDelta {
+
+    private static final Comparator<DailySalesSummaryId> SUMMARY_ORDER = Comparator
+            .comparing(DailySalesSummaryId::getSalesDate)
+            .thenComparing(DailySalesSummaryId::getOrderStatus);
+    private static final Comparator<DailyProductSalesSummaryId> PRODUCT_SUMMARY_ORDER = Comparator
+            .comparing(DailyProductSalesSummaryId::getSalesDate)
+            .thenComparing(DailyProductSalesSummaryId::getOrderStatus)
+            .thenComparing(DailyProductSalesSummaryId::getProductNumber);
+
+    private final Map<DailySalesSummaryId, Long> orderCounts = new TreeMap<>(SUMMARY_ORDER);
+    private final Map<DailySalesSummaryId, Long> totalPrices = new TreeMap<>(SUMMARY_ORDER);
+    private final Map<DailyProductSalesSummaryId, Long> productQuantities = new TreeMap<>(PRODUCT_SUMMARY_ORDER);
+
+    /**
+     * @param sign 주문이 해당 상태로 들어오면 1, 빠져나가면 -1
+     */
+    void add(LocalDate salesDate, OrderStatus orderStatus, int sign, long totalPrice, List<String> productNumbers) {
+        DailySalesSummaryId id = new DailySalesSummaryId(salesDate, orderStatus);
+        orderCounts.merge(id, (long) sign, Long::sum);
+        totalPrices.merge(id, sign * totalPrice, Long::sum);
+
+        for (String productNumber : productNumbers) {
+            productQuantities.merge(new DailyProductSalesSummaryId(salesDate, orderStatus, productNumber), (long) sign, Long::sum);
+        }
+    }
+
+    Map<DailySalesSummaryId, Long> getOrderCounts() {
+        return orderCounts;
+    }
+
+    Map<DailySalesSummaryId, Long> getTotalPrices() {
+        return totalPrices;
+    }
+
+    Map<DailyProductSalesSummaryId, Long> getProductQuantities() {
+        return productQuantities;
+    }
+}
@@ -0,0 +1,223 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.domain.order.OrderCreatedEvent;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderSalesByStatus;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.order.OrderStatusChangedEvent;
+import sample.cafekiosk.spring.domain.sales.DailyProductSalesSummaryId;
+import sample.cafekiosk.spring.domain.sales.DailyProductSalesSummaryRepository;
+import sample.cafekiosk.spring.domain.sales.DailySalesSummary;
+import sample.cafekiosk.spring.domain.sales.DailySalesSummaryId;
+import sample.cafekiosk.spring.domain.sales.DailySalesSummaryRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 일자 / 주문 상태별 매출 집계(daily_sales_summary, daily_product_sales_summary)를 관리한다.
+ * - 주문이 생성되거나 상태가 바뀌면 증감량을 트랜잭션에 모아두었다가, 커밋 직전에 같은 트랜잭션에서 집계 row 별로 한 번씩 MERGE 한다.
+ *   ( 주문과 집계가 함께 커밋/롤백되고, 한 번에 여러 건을 주문해도 집계 row 마다 한 번만 갱신한다. )
+ * - 주문이 몰리는 일자별 집계 row 는 전날 미리 만들어둔다. ( prepareNextDay )
+ * - 집계를 도입하기 전의 주문이나 어긋난 집계는 rebuild / reconcile 로 orders 테이블에서 다시 만든다.
+ */
+@Service
+public class DailySalesSummaryService {
+
+    private final DailySalesSummaryRepository dailySalesSummaryRepository;
+    private final DailyProductSalesSummaryRepository dailyProductSalesSummaryRepository;
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public DailySalesSummaryService(DailySalesSummaryRepository dailySalesSummaryRepository,
+                                    DailyProductSalesSummaryRepository dailyProductSalesSummaryRepository,
+                                    OrderRepository orderRepository,
+                                    PlatformTransactionManager transactionManager) {
+        this.dailySalesSummaryRepository = dailySalesSummaryRepository;
+        this.dailyProductSalesSummaryRepository = dailyProductSalesSummaryRepository;
+        this.orderRepository = orderRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public long getTotalPrice(LocalDate salesDate, OrderStatus orderStatus) {
+        return dailySalesSummaryRepository.findById(new DailySalesSummaryId(salesDate, orderStatus))
+                .map(DailySalesSummary::getTotalPrice)
+                .orElse(0L);
+    }
+
+    @EventListener
+    public void onOrderCreated(OrderCreatedEvent event) {
+        if (event.getRegisteredDateTime() == null) {
+            return;
+        }
+
+        collect(delta -> delta.add(event.getRegisteredDateTime().toLocalDate(), event.getOrderStatus(), 1,
+                event.getTotalPrice(), event.getProductNumbers()));
+    }
+
+    @EventListener
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (event.getRegisteredDateTime() == null) {
+            return;
+        }
+
+        LocalDate salesDate = event.getRegisteredDateTime().toLocalDate();
+        collect(delta -> {
+            delta.add(salesDate, event.getBeforeStatus(), -1, event.getTotalPrice(), event.getProductNumbers());
+            delta.add(salesDate, event.getAfterStatus(), 1, event.getTotalPrice(), event.getProductNumbers());
+        });
+    }
+
+    /**
+     * 다음 날의 주문 상태별 집계 row 를 0 으로 미리 만들어둔다.
+     * - 그날 첫 주문들이 동시에 들어와도 같은 row 를 동시에 만들지 않고 UPDATE 만 하도록 한다. ( 주문이 키 중복으로 롤백되지 않는다. )
+     * - 상품별 집계 row 는 상품마다 나뉘어 있어서 동시에 처음 만들 일이 드물므로 미리 만들지 않는다.
+     */
+    @Scheduled(cron = "${cafekiosk.statistics.daily-summary.prepare-cron:0 50 23 * * *}")
+    @Transactional
+    public void prepareNextDay() {
+        LocalDate nextDay = LocalDate.now().plusDays(1);
+        for (OrderStatus orderStatus : OrderStatus.values()) {
+            dailySalesSummaryRepository.insertIfAbsent(nextDay, orderStatus.name());
+        }
+    }
+
+    /**
+     * 기간 내 집계를 지우고 orders 테이블에서 다시 만든다. ( 백필 )
+     * - 다시 만드는 동안 커밋되는 주문은 누락되거나 중복될 수 있으므로, 주문이 적은 시간에 실행하고 reconcile 로 확인한다.
+     */
+    @Transactional
+    public void rebuild(LocalDate fromDate, LocalDate toDate) {
+        LocalDateTime startDateTime = fromDate.atStartOfDay();
+        LocalDateTime endDateTime = toDate.plusDays(1).atStartOfDay();
+
+        dailySalesSummaryRepository.deleteAllBySalesDateBetween(fromDate, toDate);
+        dailyProductSalesSummaryRepository.deleteAllBySalesDateBetween(fromDate, toDate);
+        dailySalesSummaryRepository.insertAggregatedFromOrders(startDateTime, endDateTime);
+        dailyProductSalesSummaryRepository.insertAggregatedFromOrders(startDateTime, endDateTime);
+    }
+
+    /**
+     * 해당 일자의 집계를 orders 테이블과 비교하고, 어긋난 주문 상태가 있으면 그 일자의 집계를 다시 만든다.
+     * - 주문 수 / 매출 합계와 상품별 판매 수량을 모두 비교한다.
+     *
+     * @return 집계가 어긋나 있던 주문 상태
+     */
+    @Transactional
+    public Set<OrderStatus> reconcile(LocalDate salesDate) {
+        LocalDateTime startDateTime = salesDate.atStartOfDay();
+        LocalDateTime endDateTime = salesDate.plusDays(1).atStartOfDay();
+
+        Map<OrderStatus, OrderSalesByStatus> actualSales = new EnumMap<>(OrderStatus.class);
+        orderRepository.findSalesByStatus(startDateTime, endDateTime)
+                .forEach(sales -> actualSales.put(sales.getOrderStatus(), sales));
+
+        Map<OrderStatus, Map<String, Long>> actualQuantities = new EnumMap<>(OrderStatus.class);
+        orderRepository.findProductSalesByStatus(startDateTime, endDateTime)
+                .forEach(sales -> actualQuantities.computeIfAbsent(sales.getOrderStatus(), status -> new HashMap<>())
+                        .put(sales.getProductNumber(), sales.getQuantity()));
+
+        Map<OrderStatus, DailySalesSummary> summaries = new EnumMap<>(OrderStatus.class);
+        dailySalesSummaryRepository.findAllByIdSalesDate(salesDate)
+                .forEach(summary -> summaries.put(summary.getId().getOrderStatus(), summary));
+
+        Map<OrderStatus, Map<String, Long>> summaryQuantities = new EnumMap<>(OrderStatus.class);
+        dailyProductSalesSummaryRepository.findAllByIdSalesDate(salesDate)
+                .forEach(summary -> summaryQuantities.computeIfAbsent(summary.getId().getOrderStatus(), status -> new HashMap<>())
+                        .put(summary.getId().getProductNumber(), summary.getQuantity()));
+
+        Set<OrderStatus> mismatchedStatuses = EnumSet.noneOf(OrderStatus.class);
+        for (OrderStatus orderStatus : OrderStatus.values()) {
+            OrderSalesByStatus actual = actualSales.get(orderStatus);
+            DailySalesSummary summary = summaries.get(orderStatus);
+
+            long actualOrderCount = actual == null ? 0 : actual.getOrderCount();
+            long actualTotalPrice = actual == null ? 0 : actual.getTotalPrice();
+            long summaryOrderCount = summary == null ? 0 : summary.getOrderCount();
+            long summaryTotalPrice = summary == null ? 0 : summary.getTotalPrice();
+
+            if (actualOrderCount != summaryOrderCount || actualTotalPrice != summaryTotalPrice
+                    || !sameQuantities(actualQuantities.getOrDefault(orderStatus, Map.of()), summaryQuantities.getOrDefault(orderStatus, Map.of()))) {
+                mismatchedStatuses.add(orderStatus);
+            }
+        }
+
+        if (!mismatchedStatuses.isEmpty()) {
+            rebuild(salesDate, salesDate);
+        }
+        return mismatchedStatuses;
+    }
+
+    // 상품별 판매 수량이 같은지 ( 수량이 0 인 집계 row 는 없는 것과 같다. )
+    private boolean sameQuantities(Map<String, Long> actualQuantities, Map<String, Long> summaryQuantities) {
+        Set<String> productNumbers = new HashSet<>(actualQuantities.keySet());
+        productNumbers.addAll(summaryQuantities.keySet());
+        return productNumbers.stream()
+                .allMatch(productNumber -> actualQuantities.getOrDefault(productNumber, 0L).equals(summaryQuantities.getOrDefault(productNumber, 0L)));
+    }
+
+    private void collect(Consumer<DailySalesDelta> collector) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            DailySalesDelta delta = new DailySalesDelta();
+            collector.accept(delta);
+            transactionTemplate.executeWithoutResult(status -> apply(delta));
+            return;
+        }
+
+        DailySalesDelta delta = (DailySalesDelta) TransactionSynchronizationManager.getResource(DailySalesDelta.class);
+        if (delta == null) {
+            DailySalesDelta newDelta = new DailySalesDelta();
+            TransactionSynchronizationManager.bindResource(DailySalesDelta.class, newDelta);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    apply(newDelta);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DailySalesDelta.class);
+                }
+            });
+            delta = newDelta;
+        }
+        collector.accept(delta);
+    }
+
+    /**
+     * 집계 row 별로 MERGE 한 번씩만 한다. ( 집계 row 가 있는지 미리 조회하지 않고, 없으면 같은 트랜잭션에서 만든다. )
+     * - 커밋 직전에 갱신하므로, 주문이 몰리는 오늘 / INIT row 의 lock 은 커밋할 때까지만 잡는다.
+     */
+    private void apply(DailySalesDelta delta) {
+        for (Map.Entry<DailySalesSummaryId, Long> entry : delta.getOrderCounts().entrySet()) {
+            DailySalesSummaryId id = entry.getKey();
+            long orderCount = entry.getValue();
+            long totalPrice = delta.getTotalPrices().get(id);
+            if (orderCount != 0 || totalPrice != 0) {
+                dailySalesSummaryRepository.upsertSales(id.getSalesDate(), id.getOrderStatus().name(), orderCount, totalPrice);
+            }
+        }
+
+        for (Map.Entry<DailyProductSalesSummaryId, Long> entry : delta.getProductQuantities().entrySet()) {
+            DailyProductSalesSummaryId id = entry.getKey();
+            if (entry.getValue() != 0) {
+                dailyProductSalesSummaryRepository.upsertQuantity(id.getSalesDate(), id.getOrderStatus().name(), id.getProductNumber(), entry.getValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 주문 목록 페이지 커서 ( 이전 페이지 마지막 주문의 등록 시간과 id )
+ * - 클라이언트에는 내용을 알 필요 없는 문자열(Base64)로 내려주고, 다음 페이지를 요청할 때 그대로 돌려받는다.
+ */
+@Getter
+class OrderCursor {
+
+    private static final String DELIMITER = "_";
+
+    private final LocalDateTime registeredDateTime;
+    private final Long orderId;
+
+    OrderCursor(LocalDateTime registeredDateTime, Long orderId) {
+        this.registeredDateTime = registeredDateTime;
+        this.orderId = orderId;
+    }
+
+    static OrderCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] values = decoded.split(DELIMITER, 2);
+            return new OrderCursor(LocalDateTime.parse(values[0]), Long.parseLong(values[1]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("잘못된 페이지 커서입니다.");
+        }
+    }
+
+    String encode() {
+        String value = registeredDateTime + DELIMITER + orderId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,189 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.domain.order.OrderIdempotencyRecordRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 별 주문 응답 저장소
+ * - 키오스크가 같은 주문을 재시도(같은 Idempotency-Key)하면, 주문을 다시 만들지 않고 처음 만든 주문의 응답을 그대로 돌려준다.
+ * - 키별 응답은 크기 제한(maximum-size)과 TTL 이 있는 메모리 캐시에 둔다. 같은 키의 요청이 동시에 들어오면 먼저 들어온 요청만 주문을 만들고, 나머지는 그 결과를 기다린다.
+ * - 같은 키로 다른 상품 목록을 보내면 거절한다.
+ * - 주문 생성에 실패한 키는 기록하지 않는다. ( 다시 시도할 수 있다. )
+ * - persistent 를 켜면 응답을 order_idempotency_record 테이블에도 저장해서, 재시작 이후나 다른 서버로 들어온 재시도도 알아본다.
+ *
+ * 참고) DB 기록은 주문보다 먼저 같은 트랜잭션에서 키를 insert 해서 잡는다. ( 서버 여러 대가 같은 키로 동시에 주문을 만들지 않는다. )
+ */
+@Component
+public class OrderIdempotencyStore {
+
+    private final OrderIdempotencyRecordRepository orderIdempotencyRecordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration timeToLive;
+    private final boolean persistent;
+
+    private final Cache<String, IdempotentOrder> orders;
+
+    public OrderIdempotencyStore(OrderIdempotencyRecordRepository orderIdempotencyRecordRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 ObjectMapper objectMapper,
+                                 @Value("${cafekiosk.order.idempotency.maximum-size:100000}") long maximumSize,
+                                 @Value("${cafekiosk.order.idempotency.time-to-live:24h}") Duration timeToLive,
+                                 @Value("${cafekiosk.order.idempotency.persistent:false}") boolean persistent) {
+        this.orderIdempotencyRecordRepository = orderIdempotencyRecordRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.timeToLive = timeToLive;
+        this.persistent = persistent;
+        this.orders = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .build();
+    }
+
+    /**
+     * 처음 보는 키면 createOrder 로 주문을 만들고, 이미 처리한(또는 처리 중인) 키면 그 주문의 응답을 돌려준다.
+     */
+    public OrderResponse createOrderOnce(String idempotencyKey, OrderCreateServiceRequest request, Supplier<OrderResponse> createOrder) {
+        String requestFingerprint = fingerprintOf(request);
+        IdempotentOrder order = new IdempotentOrder(requestFingerprint);
+        IdempotentOrder previousOrder = orders.asMap().putIfAbsent(idempotencyKey, order);
+        if (previousOrder != null) {
+            return previousOrder.awaitResponse(requestFingerprint);
+        }
+
+        try {
+            OrderResponse response = findPersistedResponse(idempotencyKey, requestFingerprint)
+                    .orElseGet(() -> createAndPersist(idempotencyKey, requestFingerprint, createOrder));
+            order.response.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            orders.asMap().remove(idempotencyKey, order);
+            order.response.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cafekiosk.order.idempotency.purge-interval-millis:600000}")
+    public void purgeExpiredRecords() {
+        if (!persistent) {
+            return;
+        }
+        LocalDateTime threshold = LocalDateTime.now().minus(timeToLive);
+        transactionTemplate.executeWithoutResult(status -> orderIdempotencyRecordRepository.deleteAllRegisteredBefore(threshold));
+    }
+
+    public void invalidateAll() {
+        orders.invalidateAll();
+    }
+
+    private Optional<OrderResponse> findPersistedResponse(String idempotencyKey, String requestFingerprint) {
+        if (!persistent) {
+            return Optional.empty();
+        }
+
+        LocalDateTime threshold = LocalDateTime.now().minus(timeToLive);
+        return orderIdempotencyRecordRepository.findById(idempotencyKey)
+                .filter(record -> !record.isExpired(threshold))
+                .map(record -> {
+                    validateSameRequest(record.getRequestFingerprint(), requestFingerprint);
+                    return readResponse(record.getResponseBody());
+                });
+    }
+
+    /**
+     * persistent 이면 키를 먼저 기록하고(insert), 같은 트랜잭션에서 주문을 만든 뒤 응답을 채운다.
+     * - 키와 주문이 함께 커밋/롤백되므로, 주문은 커밋됐는데 키가 없는 상태가 생기지 않는다.
+     * - 다른 서버가 같은 키를 먼저 기록했으면 insert 가 실패하고(그 트랜잭션이 끝날 때까지 기다릴 수 있다.), 주문은 만들지 않는다.
+     *   그 서버의 주문이 커밋되어 있으면 그 응답을 돌려주고, 아직 처리 중이면 예외를 던진다. ( 클라이언트가 다시 시도하면 저장된 응답을 받는다. )
+     */
+    private OrderResponse createAndPersist(String idempotencyKey, String requestFingerprint, Supplier<OrderResponse> createOrder) {
+        if (!persistent) {
+            return createOrder.get();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            return transactionTemplate.execute(status -> {
+                orderIdempotencyRecordRepository.deleteExpired(idempotencyKey, now.minus(timeToLive)); // 만료된 같은 키의 기록
+                orderIdempotencyRecordRepository.insertKey(idempotencyKey, requestFingerprint, now);
+                OrderResponse response = createOrder.get();
+                orderIdempotencyRecordRepository.updateResponseBody(idempotencyKey, writeResponse(response));
+                return response;
+            });
+        } catch (DataAccessException e) {
+            return findPersistedResponse(idempotencyKey, requestFingerprint)
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    private String fingerprintOf(OrderCreateServiceRequest request) {
+        return Hashing.sha256()
+                .hashString(String.join(",", request.getProductNumbers()), StandardCharsets.UTF_8)
+                .toString();
+    }
+
+    private static void validateSameRequest(String expectedFingerprint, String requestFingerprint) {
+        if (!expectedFingerprint.equals(requestFingerprint)) {
+            throw new IllegalArgumentException("같은 Idempotency-Key 로 다른 주문 요청이 들어왔습니다.");
+        }
+    }
+
+    private String writeResponse(OrderResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("주문 응답을 직렬화할 수 없습니다.", e);
+        }
+    }
+
+    private OrderResponse readResponse(String responseBody) {
+        try {
+            return objectMapper.readValue(responseBody, OrderResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("저장된 주문 응답을 읽을 수 없습니다.", e);
+        }
+    }
+
+    private static class IdempotentOrder {
+
+        private final String requestFingerprint;
+        private final CompletableFuture<OrderResponse> response = new CompletableFuture<>();
+
+        private IdempotentOrder(String requestFingerprint) {
+            this.requestFingerprint = requestFingerprint;
+        }
+
+        // 먼저 들어온 요청이 주문을 만드는 중이면 끝날 때까지 기다린다. ( 실패했으면 같은 예외를 던진다. )
+        private OrderResponse awaitResponse(String requestFingerprint) {
+            validateSameRequest(this.requestFingerprint, requestFingerprint);
+            try {
+                return response.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+}
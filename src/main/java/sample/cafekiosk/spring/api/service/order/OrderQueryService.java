@@ -0,0 +1,95 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sample.cafekiosk.spring.api.service.order.response.OrderPageResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderKey;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 주문 조회 ( 주문 등록/변경은 OrderService )
+ * - 응답에 필요한 주문 상품 / 상품은 fetch join 으로 함께 조회한다. ( 주문 하나에 쿼리 한 번 )
+ */
+@Transactional(readOnly = true)
+@Service
+@RequiredArgsConstructor
+public class OrderQueryService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final OrderRepository orderRepository;
+
+    public OrderResponse getOrder(Long orderId) {
+        return orderRepository.findWithProductsById(orderId)
+                .map(OrderResponse::of)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 주문입니다."));
+    }
+
+    /**
+     * 기간(fromDate ~ toDate, 양 끝 포함) 의 주문을 최신순으로 size 건씩 조회한다. ( orderStatus 가 null 이면 모든 상태 )
+     * - 페이지마다 쿼리 두 번: 커서 다음의 주문 id / 등록 시간을 keyset 으로 찾고, 그 주문들을 주문 상품 / 상품과 함께 한 번에 조회한다.
+     *   ( 컬렉션 fetch join 에 limit 을 걸면 DB 가 아닌 메모리에서 페이징되므로 id 조회를 분리한다. )
+     */
+    public OrderPageResponse getOrders(OrderStatus orderStatus, LocalDate fromDate, LocalDate toDate, String cursor, int size) {
+        if (fromDate.isAfter(toDate)) {
+            throw new IllegalArgumentException("조회 시작일은 종료일보다 늦을 수 없습니다.");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException(String.format("페이지 크기는 1 이상 %d 이하여야 합니다.", MAX_PAGE_SIZE));
+        }
+
+        LocalDateTime startDateTime = fromDate.atStartOfDay();
+        LocalDateTime endDateTime = toDate.plusDays(1).atStartOfDay();
+        OrderCursor after = cursor == null ? new OrderCursor(endDateTime, Long.MAX_VALUE) : OrderCursor.decode(cursor);
+
+        List<OrderKey> orderKeys = findOrderKeys(orderStatus, startDateTime, endDateTime, after, size + 1); // 다음 페이지가 있는지 알기 위해 한 건 더 조회
+        boolean hasNext = orderKeys.size() > size;
+        List<OrderKey> pageOrderKeys = hasNext ? orderKeys.subList(0, size) : orderKeys;
+
+        List<Order> orders = findOrdersWithProducts(pageOrderKeys.stream().map(OrderKey::getId).toList());
+        OrderKey lastOrderKey = pageOrderKeys.isEmpty() ? null : pageOrderKeys.get(pageOrderKeys.size() - 1);
+
+        return OrderPageResponse.builder()
+                .orders(orders.stream().map(OrderResponse::of).toList())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? new OrderCursor(lastOrderKey.getRegisteredDateTime(), lastOrderKey.getId()).encode() : null)
+                .build();
+    }
+
+    private List<OrderKey> findOrderKeys(OrderStatus orderStatus, LocalDateTime startDateTime, LocalDateTime endDateTime,
+                                         OrderCursor after, int limit) {
+        if (orderStatus == null) {
+            return orderRepository.findKeysBy(startDateTime, endDateTime,
+                    after.getRegisteredDateTime(), after.getOrderId(), Limit.of(limit));
+        }
+        return orderRepository.findKeysBy(orderStatus, startDateTime, endDateTime,
+                after.getRegisteredDateTime(), after.getOrderId(), Limit.of(limit));
+    }
+
+    // id 조회 순서(최신순)대로 정렬해서 반환한다. ( 두 쿼리 사이에 삭제된 주문은 빠진다. )
+    private List<Order> findOrdersWithProducts(List<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Order> ordersById = orderRepository.findAllWithProductsByIdIn(orderIds).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+        return orderIds.stream()
+                .map(ordersById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
@@ -1,23 +1,32 @@
 package sample.cafekiosk.spring.api.service.order;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import sample.cafekiosk.spring.api.controller.order.request.OrderCreateRequest;
 import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderBatchResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderBatchResultResponse;
 import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.product.ProductCatalogCache;
+import sample.cafekiosk.spring.api.service.stock.StockDeductor;
 import sample.cafekiosk.spring.domain.order.Order;
 import sample.cafekiosk.spring.domain.order.OrderRepository;
 import sample.cafekiosk.spring.domain.product.Product;
-import sample.cafekiosk.spring.domain.product.ProductRepository;
 import sample.cafekiosk.spring.domain.product.ProductType;
-import sample.cafekiosk.spring.domain.stock.Stock;
-import sample.cafekiosk.spring.domain.stock.StockRepository;
 
 import java.time.LocalDateTime;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,14 +34,17 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class OrderService {
 
-    private final ProductRepository productRepository;
+    private static final int MAX_PLAN_ATTEMPTS = 3; // 일괄 주문에서 재고 차감이 실패했을 때 남은 재고를 다시 조회해서 나누는 최대 횟수
+
+    private final ProductCatalogCache productCatalogCache;
     private final OrderRepository orderRepository;
-    private final StockRepository stockRepository;
+    private final StockDeductor stockDeductor;
+    private final TransactionTemplate transactionTemplate;
 
     /**
-     * TODO :: 재고 감소 -> 동시성 고민
-     * - optimistic lock / pessimistic lock / ...
+     * 재고 차감은 StockDeductor 에 위임한다. ( 동시성 제어 방식은 cafekiosk.stock.deduction-strategy 로 선택 )
      */
+    @Timed(value = "cafekiosk.order.create", description = "주문 생성 시간 ( 상품 조회 + 재고 차감 + 주문 저장 )", histogram = true)
     public OrderResponse createOrder(OrderCreateServiceRequest request, LocalDateTime registeredDateTime) {
         List<String> productNumbers = request.getProductNumbers();
         List<Product> products = findProductsBy(productNumbers);
@@ -45,46 +57,113 @@ public class OrderService {
         return OrderResponse.of(savedOrder);
     }
 
-    private void deductStockQuantities(List<Product> products) {
-        // 재고 차감 대상이 되는 상품을 필터링
-        List<String> stockProductNumbers = extractStockProductNumbers(products);
-
-        // 재고 정보 조회
-        Map<String, Stock> stockMap = createStockMapBy(stockProductNumbers);
+    /**
+     * 여러 주문을 한 번에 등록한다. ( 키오스크에 쌓여있던 주문을 한꺼번에 전송하는 경우 )
+     * - 전체 주문의 상품을 한 번에 조회하고, 재고는 모든 주문의 차감량을 상품별로 합산해서 한 번에 차감한다.
+     * - 주문은 요청 순서대로, 남은 재고 안에서 처리할 수 있는 것만 등록하고 나머지는 실패로 응답한다.
+     * - 남은 재고는 조회만 하고 잡아두지 않으므로, 그 사이 다른 주문이 재고를 차감하면 일괄 차감이 실패할 수 있다.
+     *   이 경우 트랜잭션을 롤백하고 남은 재고를 다시 조회해서, 최대 MAX_PLAN_ATTEMPTS 번까지 다시 나눈다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // 시도마다 별도의 트랜잭션으로 차감 / 저장한다.
+    public OrderBatchResponse createOrders(List<OrderCreateServiceRequest> requests, LocalDateTime registeredDateTime) {
+        // 1) 전체 주문의 상품을 한 번에 조회
+        List<String> allProductNumbers = requests.stream()
+                .flatMap(request -> request.getProductNumbers().stream())
+                .distinct()
+                .toList();
+        Map<String, Product> productMap = createProductMapBy(allProductNumbers);
+        List<String> allStockProductNumbers = extractStockProductNumbers(productMap.values()).stream()
+                .sorted()
+                .toList();
+
+        for (int attempt = 1; ; attempt++) {
+            // 2) 남은 재고 안에서 요청 순서대로 주문 가능 여부 판단
+            OrderBatchPlan plan = planOrders(requests, registeredDateTime, productMap,
+                    stockDeductor.findAvailableQuantities(allStockProductNumbers));
+
+            // 3) 상품별로 합산한 수량을 한 번에 차감하고, 주문을 일괄 저장
+            try {
+                List<Order> savedOrders = transactionTemplate.execute(status -> {
+                    stockDeductor.deduct(plan.totalDeductionQuantities);
+                    return orderRepository.saveAll(plan.orders);
+                });
+                stockDeductor.countInsufficientStockRejections(plan.insufficientStockCount);
+                return plan.toResponse(savedOrders);
+            } catch (IllegalArgumentException e) { // 판단한 뒤에 다른 주문이 재고를 차감했다.
+                if (attempt >= MAX_PLAN_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
 
-        // 상품별 카운팅
-        Map<String, Long> productCountingMap = createCountingMapBy(stockProductNumbers);
+    private OrderBatchPlan planOrders(List<OrderCreateServiceRequest> requests, LocalDateTime registeredDateTime,
+                                      Map<String, Product> productMap, Map<String, Integer> availableStockQuantities) {
+        Map<String, Integer> availableQuantities = new HashMap<>(availableStockQuantities);
+        OrderBatchPlan plan = new OrderBatchPlan(requests.size());
 
-        // 재고 차감 시도
-        HashSet<String> distinctStockProductNumbers = new HashSet<>(stockProductNumbers);
-        for (String stockProductNumber : distinctStockProductNumbers) {
-            Stock stock = stockMap.get(stockProductNumber);
-            int quantity = productCountingMap.get(stockProductNumber).intValue();
+        for (int index = 0; index < requests.size(); index++) {
+            List<String> productNumbers = requests.get(index).getProductNumbers();
+            if (!productMap.keySet().containsAll(productNumbers)) {
+                plan.results[index] = OrderBatchResultResponse.failure(index, "존재하지 않는 상품이 포함되어 있습니다.");
+                continue;
+            }
 
-            if (stock.isQuantityLessThan(quantity)) {
-                throw new IllegalArgumentException("재고가 부족한 상품이 있습니다.");
+            List<Product> products = mapToProducts(productNumbers, productMap);
+            Map<String, Integer> deductionQuantities = createStockCountingMapBy(products);
+            if (!hasEnoughQuantities(availableQuantities, deductionQuantities)) {
+                plan.results[index] = OrderBatchResultResponse.failure(index, "재고가 부족한 상품이 있습니다.");
+                plan.insufficientStockCount++;
+                continue;
             }
-            stock.deductQuantity(quantity);
+
+            deductionQuantities.forEach((productNumber, quantity) -> {
+                availableQuantities.merge(productNumber, -quantity, Integer::sum);
+                plan.totalDeductionQuantities.merge(productNumber, quantity, Integer::sum);
+            });
+            plan.orders.add(Order.create(products, registeredDateTime));
+            plan.orderIndexes.add(index);
         }
+        return plan;
     }
 
-    private List<Product> findProductsBy(List<String> productNumbers) {
-        List<Product> products = productRepository.findAllByProductNumberIn(productNumbers);
+    private boolean hasEnoughQuantities(Map<String, Integer> availableQuantities, Map<String, Integer> deductionQuantities) {
+        return deductionQuantities.entrySet().stream()
+                .allMatch(entry -> availableQuantities.getOrDefault(entry.getKey(), 0) >= entry.getValue());
+    }
+
+    private void deductStockQuantities(List<Product> products) {
+        // 재고 차감 대상이 되는 상품을 필터링하면서 상품별 카운팅
+        Map<String, Integer> productCountingMap = createStockCountingMapBy(products);
+
+        // 재고 차감 시도
+        stockDeductor.deduct(productCountingMap);
+    }
 
+    private List<Product> findProductsBy(List<String> productNumbers) {
         // [ 중복되는 상품번호 리스트로 주문을 생성할 수 있다. ]
         // 1) 사용자가 주문한 상품을 조회해서, 상품 번호를 기반으로 (상품을 찾을 수 있도록) map 생성
-        Map<String, Product> productMap = products.stream()
-                .collect(Collectors.toMap(product -> product.getProductNumber(), p -> p));
+        Map<String, Product> productMap = createProductMapBy(productNumbers);
 
         // 2) 사용자가 주문한 상품 번호를 순회하면서, map 에서 해당 상품 엔티티 조회
+        return mapToProducts(productNumbers, productMap);
+    }
+
+    private Map<String, Product> createProductMapBy(List<String> productNumbers) {
+        List<Product> products = productCatalogCache.getProductsByProductNumbers(productNumbers); // 상품 카탈로그 캐시 ( 캐시에 없는 상품만 DB 조회 )
+        return products.stream()
+                .collect(Collectors.toMap(product -> product.getProductNumber(), p -> p));
+    }
+
+    // 참고) 아래 메서드들은 JMH 벤치마크(src/jmh)에서 호출할 수 있도록 package-private 으로 둔다.
+    List<Product> mapToProducts(List<String> productNumbers, Map<String, Product> productMap) {
         List<Product> duplicateProducts = productNumbers.stream()
                 .map(productNumber -> productMap.get(productNumber))
                 .collect(Collectors.toList());
-
         return duplicateProducts;
     }
 
-    private List<String> extractStockProductNumbers(List<Product> products) {
+    List<String> extractStockProductNumbers(Collection<Product> products) {
         List<String> stockProductNumbers = products.stream()
                 .filter(product -> ProductType.containsStockType(product.getType()))
                 .map(product -> product.getProductNumber())
@@ -92,16 +171,53 @@ public class OrderService {
         return stockProductNumbers;
     }
 
-    private Map<String, Stock> createStockMapBy(List<String> stockProductNumbers) {
-        List<Stock> stocks = stockRepository.findAllByProductNumberIn(stockProductNumbers);
-        Map<String, Stock> stockMap = stocks.stream()
-                .collect(Collectors.toMap(stock -> stock.getProductNumber(), s -> s));
-        return stockMap;
+    /**
+     * 재고 차감 대상 상품만 상품번호별로 센다.
+     * - 재고 상품번호를 배열에 모아 한 번 정렬하고, 연속된 같은 번호의 개수를 센다. ( 상품마다 map 을 갱신하지 않고, 상품번호별로 한 번만 넣는다. )
+     * - 상품번호 순서대로 넣어서(LinkedHashMap), 재고 row lock 을 항상 같은 순서로 잡도록 한다. ( 데드락 방지 )
+     */
+    Map<String, Integer> createStockCountingMapBy(Collection<Product> products) {
+        String[] stockProductNumbers = new String[products.size()];
+        int stockProductCount = 0;
+        for (Product product : products) {
+            if (ProductType.containsStockType(product.getType())) {
+                stockProductNumbers[stockProductCount++] = product.getProductNumber();
+            }
+        }
+        Arrays.sort(stockProductNumbers, 0, stockProductCount);
+
+        Map<String, Integer> productCountingMap = new LinkedHashMap<>();
+        int runStart = 0;
+        for (int i = 1; i <= stockProductCount; i++) {
+            if (i == stockProductCount || !stockProductNumbers[i].equals(stockProductNumbers[runStart])) {
+                productCountingMap.put(stockProductNumbers[runStart], i - runStart);
+                runStart = i;
+            }
+        }
+        return productCountingMap;
     }
 
-    private Map<String, Long> createCountingMapBy(List<String> stockProductNumbers) {
-        Map<String, Long> productCountingMap = stockProductNumbers.stream()
-                .collect(Collectors.groupingBy(p -> p, Collectors.counting()));
-        return productCountingMap;
+    /**
+     * 일괄 주문 중 등록할 주문과 차감할 재고, 요청별 결과 ( 등록할 주문의 결과는 저장한 뒤에 채운다. )
+     */
+    private static class OrderBatchPlan {
+
+        private final Map<String, Integer> totalDeductionQuantities = new TreeMap<>();
+        private final List<Order> orders = new ArrayList<>();
+        private final List<Integer> orderIndexes = new ArrayList<>();
+        private final OrderBatchResultResponse[] results;
+        private int insufficientStockCount;
+
+        OrderBatchPlan(int requestCount) {
+            this.results = new OrderBatchResultResponse[requestCount];
+        }
+
+        OrderBatchResponse toResponse(List<Order> savedOrders) {
+            for (int i = 0; i < savedOrders.size(); i++) {
+                int index = orderIndexes.get(i);
+                results[index] = OrderBatchResultResponse.success(index, OrderResponse.of(savedOrders.get(i)));
+            }
+            return OrderBatchResponse.of(Arrays.asList(results));
+        }
     }
 }
@@ -2,39 +2,28 @@ package sample.cafekiosk.spring.api.service.order;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import sample.cafekiosk.spring.api.service.mail.MailService;
-import sample.cafekiosk.spring.domain.order.Order;
-import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.api.service.mail.MailDispatcher;
+import sample.cafekiosk.spring.api.service.order.response.SalesTimeSeriesResponse;
 import sample.cafekiosk.spring.domain.order.OrderStatus;
 
 import java.time.LocalDate;
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
 public class OrderStatisticsService {
 
-    private final OrderRepository orderRepository;
-    private final MailService mailService;
+    private static final String STATISTICS_MAIL_SENDER = "no-reply@cafekiosk.com";
 
-    public boolean sendOrderStatisticsMail(LocalDate orderDate, String email) {
-        // 해당 일자에 결제완료된 주문들을 가져와서
-        List<Order> orders = orderRepository.findOrdersBy(
-                orderDate.atStartOfDay(),
-                orderDate.plusDays(1).atStartOfDay(),
-                OrderStatus.PAYMENT_COMPLETED);
-
-        // 총 매출 합계를 계산하고
-        int totalAmount = orders.stream()
-                .mapToInt(Order::getTotalPrice)
-                .sum();
+    private final DailySalesSummaryService dailySalesSummaryService;
+    private final MailDispatcher mailDispatcher;
+    private final SalesTimeSeriesIndex salesTimeSeriesIndex;
 
-        // 메일 전송 ( 발신자, 수신자, 제목, 내용 )
-        boolean result = mailService.sendMail(
-                "no-reply@cafekiosk.com",
-                email,
-                String.format("[매출통계] %s", orderDate),
-                String.format("총 매출 합계는 %s원 입니다.", totalAmount));
+    /**
+     * 매출 통계 메일을 발송 대기열에 넣고, 발송이 끝날 때까지 기다린다.
+     */
+    public boolean sendOrderStatisticsMail(LocalDate orderDate, String email) {
+        boolean result = sendOrderStatisticsMailAsync(orderDate, email).join();
 
         if (!result) {
             throw new IllegalArgumentException("매출 통계 메일 전송에 실패했습니다.");
@@ -43,6 +32,36 @@ public class OrderStatisticsService {
         return true;
     }
 
+    /**
+     * 매출 통계 메일을 발송 대기열에 넣고 바로 반환한다. ( 메일 서버가 느려도 호출한 스레드가 기다리지 않는다. )
+     */
+    public CompletableFuture<Boolean> sendOrderStatisticsMailAsync(LocalDate orderDate, String email) {
+        // 해당 일자에 결제완료된 주문들의 총 매출 합계를 가져오고 ( 주문이 생성/변경될 때마다 갱신해둔 일자별 매출 집계에서 읽는다. )
+        long totalAmount = dailySalesSummaryService.getTotalPrice(orderDate, OrderStatus.PAYMENT_COMPLETED);
+
+        // 메일 전송 ( 발신자, 수신자, 제목, 내용 )
+        return mailDispatcher.dispatch(
+                STATISTICS_MAIL_SENDER,
+                email,
+                createStatisticsMailSubject(orderDate),
+                createStatisticsMailContent(totalAmount));
+    }
+
+    /**
+     * 기간 내 매출 추이 ( 메모리의 시간별 매출 인덱스에서 읽는다. )
+     */
+    public SalesTimeSeriesResponse getSalesTimeSeries(LocalDate fromDate, LocalDate toDate, SalesGranularity granularity, OrderStatus orderStatus) {
+        return salesTimeSeriesIndex.query(fromDate, toDate, granularity, orderStatus);
+    }
+
+    private String createStatisticsMailSubject(LocalDate orderDate) {
+        return String.format("[매출통계] %s", orderDate);
+    }
+
+    private String createStatisticsMailContent(long totalAmount) {
+        return String.format("총 매출 합계는 %s원 입니다.", totalAmount);
+    }
+
 }
 
 // 참고) 메일 전송하는 로직에는 트랜잭션을 붙이지 않는게 좋다.
@@ -0,0 +1,11 @@
+package sample.cafekiosk.spring.api.service.order;
+
+/**
+ * 상태를 바꾸려고 조회한 뒤, 다른 요청이 먼저 주문 상태를 바꾼 경우 ( 다시 요청하면 바뀐 상태 기준으로 처리된다. )
+ */
+public class OrderStatusConflictException extends IllegalStateException {
+
+    public OrderStatusConflictException(String message) {
+        super(message);
+    }
+}
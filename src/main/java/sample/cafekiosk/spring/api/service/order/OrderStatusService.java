@@ -0,0 +1,119 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import com.google.common.collect.Lists;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sample.cafekiosk.spring.api.service.order.request.OrderStatusChangeServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderStatusChangeFailureResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderStatusChangeResponse;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.order.OrderStatusChangedEvent;
+import sample.cafekiosk.spring.domain.order.OrderStatusSnapshot;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductNumber;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 여러 주문의 상태를 한 번에 바꾼다. ( ex> 정산 파일이 들어오면 주문생성 -> 결제완료 )
+ * - 주문마다 엔티티를 불러와서 flush 하지 않고, 필요한 값만 조회해서 메모리에서 상태 전이를 검증한 뒤 이전 상태별로 UPDATE 한다.
+ * - 바꿀 수 없는 주문(존재하지 않음, 허용되지 않는 전이)은 실패로 응답하고 나머지 주문만 바꾼다.
+ * - 매출 집계 / 시계열 인덱스에 반영되도록, UPDATE 이후 주문마다 OrderStatusChangedEvent 를 발행한다. ( 집계 row 별 반영은 커밋 직전에 한 번씩 )
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class OrderStatusService {
+
+    private static final int CHUNK_SIZE = 1000; // IN 절에 넣는 id 수
+
+    private final OrderRepository orderRepository;
+    private final OrderProductRepository orderProductRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public OrderStatusChangeResponse changeOrderStatuses(OrderStatusChangeServiceRequest request, LocalDateTime modifiedDateTime) {
+        OrderStatus afterStatus = request.getOrderStatus();
+        List<Long> orderIds = request.getOrderIds().stream()
+                .distinct()
+                .toList();
+
+        // 1) 상태 변경에 필요한 값만 조회
+        Map<Long, OrderStatusSnapshot> snapshots = new HashMap<>();
+        for (List<Long> chunk : Lists.partition(orderIds, CHUNK_SIZE)) {
+            orderRepository.findStatusSnapshotsByIdIn(chunk).forEach(snapshot -> snapshots.put(snapshot.getId(), snapshot));
+        }
+
+        // 2) 메모리에서 상태 전이 검증, 바꿀 주문은 이전 상태별로 모은다.
+        Map<OrderStatus, List<OrderStatusSnapshot>> targetsByBeforeStatus = new EnumMap<>(OrderStatus.class);
+        List<OrderStatusChangeFailureResponse> failures = new ArrayList<>();
+        int unchangedCount = 0;
+
+        for (Long orderId : orderIds) {
+            OrderStatusSnapshot snapshot = snapshots.get(orderId);
+            if (snapshot == null) {
+                failures.add(OrderStatusChangeFailureResponse.of(orderId, "존재하지 않는 주문입니다."));
+                continue;
+            }
+            OrderStatus beforeStatus = snapshot.getOrderStatus();
+            if (beforeStatus == afterStatus) {
+                unchangedCount++;
+                continue;
+            }
+            if (!beforeStatus.canChangeTo(afterStatus)) {
+                failures.add(OrderStatusChangeFailureResponse.of(orderId,
+                        String.format("%s 주문은 %s 상태로 바꿀 수 없습니다.", beforeStatus.getText(), afterStatus.getText())));
+                continue;
+            }
+            targetsByBeforeStatus.computeIfAbsent(beforeStatus, status -> new ArrayList<>()).add(snapshot);
+        }
+
+        // 3) 이전 상태별로 UPDATE ( 조회 이후 다른 요청이 상태를 바꿨으면 전체를 롤백하고 다시 요청하도록 한다. )
+        List<OrderStatusSnapshot> changedOrders = new ArrayList<>();
+        targetsByBeforeStatus.forEach((beforeStatus, targets) -> {
+            for (List<OrderStatusSnapshot> chunk : Lists.partition(targets, CHUNK_SIZE)) {
+                List<Long> chunkIds = chunk.stream().map(OrderStatusSnapshot::getId).toList();
+                int updatedCount = orderRepository.updateOrderStatus(chunkIds, beforeStatus, afterStatus, modifiedDateTime);
+                if (updatedCount != chunkIds.size()) {
+                    throw new OrderStatusConflictException("다른 요청에서 주문 상태가 바뀌었습니다. 다시 시도해주세요.");
+                }
+            }
+            changedOrders.addAll(targets);
+        });
+
+        // 4) 매출 집계 반영
+        publishStatusChangedEvents(changedOrders, afterStatus);
+
+        return OrderStatusChangeResponse.builder()
+                .orderStatus(afterStatus)
+                .requestedCount(orderIds.size())
+                .changedCount(changedOrders.size())
+                .unchangedCount(unchangedCount)
+                .failures(failures)
+                .build();
+    }
+
+    private void publishStatusChangedEvents(List<OrderStatusSnapshot> changedOrders, OrderStatus afterStatus) {
+        Map<Long, List<String>> productNumbersByOrderId = new HashMap<>();
+        List<Long> changedOrderIds = changedOrders.stream().map(OrderStatusSnapshot::getId).toList();
+        for (List<Long> chunk : Lists.partition(changedOrderIds, CHUNK_SIZE)) {
+            for (OrderProductNumber orderProductNumber : orderProductRepository.findProductNumbersByOrderIdIn(chunk)) {
+                productNumbersByOrderId.computeIfAbsent(orderProductNumber.getOrderId(), orderId -> new ArrayList<>())
+                        .add(orderProductNumber.getProductNumber());
+            }
+        }
+
+        for (OrderStatusSnapshot order : changedOrders) {
+            eventPublisher.publishEvent(new OrderStatusChangedEvent(order.getId(), order.getRegisteredDateTime(),
+                    order.getOrderStatus(), afterStatus, order.getTotalPrice(),
+                    productNumbersByOrderId.getOrDefault(order.getId(), List.of())));
+        }
+    }
+}
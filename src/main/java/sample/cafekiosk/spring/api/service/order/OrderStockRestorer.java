@@ -0,0 +1,75 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sample.cafekiosk.spring.api.service.stock.StockDeductor;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.order.OrderStatusChangedEvent;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 주문이 취소되거나 결제에 실패하면, 주문할 때 차감한 재고를 되돌린다.
+ * - 복원 수량은 주문 상품(OrderProduct) 의 상품번호로 계산한다. ( 재고 정보가 없는 상품은 복원할 재고가 없으므로 무시된다. )
+ * - 한 트랜잭션에서 취소된 주문들의 복원 수량을 상품번호별로 합산해두었다가, 커밋 직전에 한 번에 반영한다. ( 일괄 상태 변경도 상품마다 UPDATE 한 번 )
+ * - 취소와 같은 트랜잭션에서 반영하므로, 취소가 롤백되면 복원도 함께 롤백된다.
+ *
+ * 참고) 주문취소 / 결제실패 는 더 이상 상태를 바꿀 수 없으므로(OrderStatus), 한 주문의 재고가 두 번 복원되지 않는다.
+ */
+@RequiredArgsConstructor
+@Component
+public class OrderStockRestorer {
+
+    private static final Set<OrderStatus> RESTORING_STATUSES = EnumSet.of(OrderStatus.CANCELED, OrderStatus.PAYMENT_FAILED);
+
+    private final StockDeductor stockDeductor;
+
+    @EventListener
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (!RESTORING_STATUSES.contains(event.getAfterStatus()) || RESTORING_STATUSES.contains(event.getBeforeStatus())) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            Map<String, Integer> restoreQuantities = new TreeMap<>();
+            addRestoreQuantities(restoreQuantities, event);
+            stockDeductor.restore(restoreQuantities); // StockDeductor 가 트랜잭션을 연다.
+            return;
+        }
+        addRestoreQuantities(transactionRestoreQuantities(), event);
+    }
+
+    // 현재 트랜잭션에 모아둔 복원 수량 ( 처음 호출될 때 만들고, 커밋 직전에 반영한다. )
+    private Map<String, Integer> transactionRestoreQuantities() {
+        @SuppressWarnings("unchecked")
+        Map<String, Integer> restoreQuantities = (Map<String, Integer>) TransactionSynchronizationManager.getResource(OrderStockRestorer.class);
+        if (restoreQuantities != null) {
+            return restoreQuantities;
+        }
+
+        Map<String, Integer> newRestoreQuantities = new TreeMap<>(); // 상품번호 순 ( 재고 row lock 순서 )
+        TransactionSynchronizationManager.bindResource(OrderStockRestorer.class, newRestoreQuantities);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                stockDeductor.restore(newRestoreQuantities);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(OrderStockRestorer.class);
+            }
+        });
+        return newRestoreQuantities;
+    }
+
+    private void addRestoreQuantities(Map<String, Integer> restoreQuantities, OrderStatusChangedEvent event) {
+        event.getProductNumbers().forEach(productNumber -> restoreQuantities.merge(productNumber, 1, Integer::sum));
+    }
+}
@@ -0,0 +1,18 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 매출 시계열의 구간 단위 ( 주 단위는 조회 시작일부터 7일씩 묶는다. )
+ */
+@Getter
+@RequiredArgsConstructor
+public enum SalesGranularity {
+    HOUR("시간", 1),
+    DAY("일", 24),
+    WEEK("주", 24 * 7);
+
+    private final String text;
+    private final int hours;
+}
@@ -0,0 +1,189 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import sample.cafekiosk.spring.api.service.order.response.SalesTimeSeriesPointResponse;
+import sample.cafekiosk.spring.api.service.order.response.SalesTimeSeriesResponse;
+import sample.cafekiosk.spring.domain.order.OrderCreatedEvent;
+import sample.cafekiosk.spring.domain.order.OrderHourlySales;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.order.OrderStatusChangedEvent;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 시간 / 주문 상태별 주문 수와 매출 합계를 메모리에 쌓아두는 매출 시계열 인덱스
+ * - 하루치 값은 [시간 x 주문 상태] 크기의 long 배열 두 개(주문 수, 매출)에 담고, 일자별 배열은 보관 일수(retention-days) 크기의 링에 둔다.
+ *   ( 링의 칸은 epochDay % 보관 일수 로 정해지고, 새 날짜가 들어오면 가장 오래된 날짜를 덮어쓴다. )
+ * - 주문이 생성되거나 상태가 바뀌면 커밋 이후에 반영한다. ( 롤백된 주문은 들어오지 않는다. )
+ * - 기동 시에 보관 기간의 주문을 시간 단위로 집계해서 다시 채운다.
+ * - 몇 주치 조회도 orders 테이블을 읽지 않고 (일수 x 24) 번의 배열 읽기로 끝난다.
+ *
+ * 참고) 서버마다 자신이 처리한 주문만 반영된다. 여러 서버로 운영하면 rebuild 주기를 두거나 daily_sales_summary 를 사용한다.
+ * 참고) rebuild 하는 동안 커밋되는 주문은 중복 반영될 수 있다.
+ */
+@Component
+public class SalesTimeSeriesIndex {
+
+    private static final int HOURS_PER_DAY = 24;
+    private static final int ORDER_STATUS_COUNT = OrderStatus.values().length;
+
+    private final OrderRepository orderRepository;
+    private final int retentionDays;
+    private final AtomicReferenceArray<DailySeries> ring;
+
+    public SalesTimeSeriesIndex(OrderRepository orderRepository,
+                                @Value("${cafekiosk.statistics.sales-index.retention-days:400}") int retentionDays) {
+        this.orderRepository = orderRepository;
+        this.retentionDays = retentionDays;
+        this.ring = new AtomicReferenceArray<>(retentionDays);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderCreated(OrderCreatedEvent event) {
+        record(event.getRegisteredDateTime(), event.getOrderStatus(), 1, event.getTotalPrice());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        record(event.getRegisteredDateTime(), event.getBeforeStatus(), -1, -event.getTotalPrice());
+        record(event.getRegisteredDateTime(), event.getAfterStatus(), 1, event.getTotalPrice());
+    }
+
+    /**
+     * 인덱스를 비우고, 보관 기간의 주문을 orders 테이블에서 시간 단위로 집계해서 다시 채운다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        clear();
+
+        LocalDate today = LocalDate.now();
+        LocalDate oldestDate = today.minusDays(retentionDays - 1);
+        for (OrderHourlySales sales : orderRepository.findHourlySales(oldestDate.atStartOfDay(), today.plusDays(1).atStartOfDay())) {
+            add(sales.getSalesDate(), sales.getSalesHour(), sales.getOrderStatus(), sales.getOrderCount(), sales.getTotalPrice());
+        }
+    }
+
+    public void clear() {
+        for (int slot = 0; slot < ring.length(); slot++) {
+            ring.set(slot, null);
+        }
+    }
+
+    /**
+     * 기간(fromDate ~ toDate, 양 끝 포함) 의 주문 상태별 매출을 구간 단위로 묶어서 반환한다.
+     */
+    public SalesTimeSeriesResponse query(LocalDate fromDate, LocalDate toDate, SalesGranularity granularity, OrderStatus orderStatus) {
+        if (fromDate.isAfter(toDate)) {
+            throw new IllegalArgumentException("조회 시작일은 종료일보다 늦을 수 없습니다.");
+        }
+        if (fromDate.isBefore(LocalDate.now().minusDays(retentionDays - 1)) || toDate.toEpochDay() - fromDate.toEpochDay() >= retentionDays) {
+            throw new IllegalArgumentException(String.format("매출 시계열은 최근 %d일까지만 조회할 수 있습니다.", retentionDays));
+        }
+
+        int dayCount = (int) (toDate.toEpochDay() - fromDate.toEpochDay()) + 1;
+        int hoursPerPoint = granularity.getHours();
+        int pointCount = (dayCount * HOURS_PER_DAY + hoursPerPoint - 1) / hoursPerPoint;
+        long[] orderCounts = new long[pointCount];
+        long[] totalPrices = new long[pointCount];
+
+        for (int day = 0; day < dayCount; day++) {
+            DailySeries series = ring.get(slotOf(fromDate.toEpochDay() + day));
+            if (series == null || series.epochDay != fromDate.toEpochDay() + day) {
+                continue;
+            }
+            for (int hour = 0; hour < HOURS_PER_DAY; hour++) {
+                int point = (day * HOURS_PER_DAY + hour) / hoursPerPoint;
+                int index = indexOf(hour, orderStatus);
+                orderCounts[point] += series.orderCounts.get(index);
+                totalPrices[point] += series.totalPrices.get(index);
+            }
+        }
+
+        List<SalesTimeSeriesPointResponse> points = new ArrayList<>(pointCount);
+        long totalOrderCount = 0;
+        long totalPrice = 0;
+        for (int point = 0; point < pointCount; point++) {
+            points.add(SalesTimeSeriesPointResponse.builder()
+                    .startDateTime(fromDate.atStartOfDay().plusHours((long) point * hoursPerPoint))
+                    .orderCount(orderCounts[point])
+                    .totalPrice(totalPrices[point])
+                    .build());
+            totalOrderCount += orderCounts[point];
+            totalPrice += totalPrices[point];
+        }
+
+        return SalesTimeSeriesResponse.builder()
+                .fromDate(fromDate)
+                .toDate(toDate)
+                .granularity(granularity)
+                .orderStatus(orderStatus)
+                .totalOrderCount(totalOrderCount)
+                .totalPrice(totalPrice)
+                .points(points)
+                .build();
+    }
+
+    void record(LocalDateTime registeredDateTime, OrderStatus orderStatus, long orderCount, long totalPrice) {
+        if (registeredDateTime == null) {
+            return;
+        }
+        add(registeredDateTime.toLocalDate(), registeredDateTime.getHour(), orderStatus, orderCount, totalPrice);
+    }
+
+    private void add(LocalDate salesDate, int hour, OrderStatus orderStatus, long orderCount, long totalPrice) {
+        DailySeries series = seriesForWrite(salesDate.toEpochDay());
+        if (series == null) {
+            return;
+        }
+        int index = indexOf(hour, orderStatus);
+        series.orderCounts.addAndGet(index, orderCount);
+        series.totalPrices.addAndGet(index, totalPrice);
+    }
+
+    // 링의 칸이 더 오래된 날짜이면 새 날짜로 바꾼다. 더 최근 날짜가 차지하고 있으면(보관 기간이 지난 주문) null
+    private DailySeries seriesForWrite(long epochDay) {
+        int slot = slotOf(epochDay);
+        while (true) {
+            DailySeries series = ring.get(slot);
+            if (series != null && series.epochDay == epochDay) {
+                return series;
+            }
+            if (series != null && series.epochDay > epochDay) {
+                return null;
+            }
+            DailySeries newSeries = new DailySeries(epochDay);
+            if (ring.compareAndSet(slot, series, newSeries)) {
+                return newSeries;
+            }
+        }
+    }
+
+    private int slotOf(long epochDay) {
+        return (int) Math.floorMod(epochDay, (long) retentionDays);
+    }
+
+    private static int indexOf(int hour, OrderStatus orderStatus) {
+        return hour * ORDER_STATUS_COUNT + orderStatus.ordinal();
+    }
+
+    private static class DailySeries {
+
+        private final long epochDay;
+        private final AtomicLongArray orderCounts = new AtomicLongArray(HOURS_PER_DAY * ORDER_STATUS_COUNT);
+        private final AtomicLongArray totalPrices = new AtomicLongArray(HOURS_PER_DAY * ORDER_STATUS_COUNT);
+
+        private DailySeries(long epochDay) {
+            this.epochDay = epochDay;
+        }
+    }
+}
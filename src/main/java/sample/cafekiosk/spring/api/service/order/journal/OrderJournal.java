@@ -0,0 +1,334 @@
+package sample.cafekiosk.spring.api.service.order.journal;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+import sample.cafekiosk.spring.domain.order.OrderCreatedEvent;
+import sample.cafekiosk.spring.domain.order.OrderStatusChangedEvent;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 커밋된 주문 이벤트(생성 / 상태 변경)를 추가 전용(append-only) 파일에 기록하는 주문 저널 ( cafekiosk.order.journal.enabled=true 일 때만 사용 )
+ * - segment 파일(segment-size)을 메모리 매핑해두고 record 를 이어서 쓴다. ( 쓰기는 메모리 복사, 디스크 반영(force)은 force-interval 마다 )
+ * - record 는 길이(4) | sequence(8) | 본문(OrderJournalRecord) | CRC32C(4) 로 기록한다. 길이를 마지막에 쓰고, 다시 읽을 때 길이가 0 이거나 CRC 가 맞지 않으면 거기까지만 읽는다.
+ * - segment 가 가득 차면 다음 sequence 를 이름으로 하는 새 segment 를 만든다. segment 는 지우지 않는다. ( 감사 로그, replay )
+ * - 끝나지 않은 주문(처리완료 / 주문취소 / 결제실패 전)의 마지막 record 를 메모리에 두고, snapshot-interval 마다 snapshot 파일로 남긴다.
+ *   기동 시에는 마지막 snapshot 을 읽고, 그 이후의 record 만 replay 한다. ( snapshot 이전 segment 는 읽지 않는다. )
+ *
+ * 참고) 주문의 원본은 여전히 orders / order_product 테이블이다. ( 재고 차감, 매출 집계가 같은 트랜잭션에서 테이블을 사용한다. )
+ *      저널은 커밋 이후에 기록되므로, 커밋 직후 비정상 종료되면 마지막 이벤트가 빠질 수 있다.
+ * 참고) force 전에 OS 가 비정상 종료되면 그 사이의 record 는 남지 않는다. ( 프로세스만 종료된 경우에는 페이지 캐시에 남아있다. )
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "cafekiosk.order.journal.enabled", havingValue = "true")
+public class OrderJournal {
+
+    private static final int FRAME_HEADER_SIZE = 4 + 8; // 길이 + sequence
+    private static final int FRAME_OVERHEAD = FRAME_HEADER_SIZE + 4; // + CRC
+    private static final int SNAPSHOT_MAGIC = 0x4F4A534E;
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+
+    private final Path directory;
+    private final int segmentSize;
+
+    private final ReentrantLock lock = new ReentrantLock(); // 쓰기는 한 번에 하나씩 ( 가상 스레드 모드에서도 pinning 되지 않도록 synchronized 대신 사용 )
+    private final Map<Long, OrderJournalRecord> openOrders = new ConcurrentHashMap<>(); // 끝나지 않은 주문 id -> 마지막 record
+    private FileChannel channel;
+    private volatile MappedByteBuffer buffer;
+    private volatile long lastSequence;
+    private volatile long lastSnapshotSequence;
+
+    public OrderJournal(@Value("${cafekiosk.order.journal.directory:./data/order-journal}") Path directory,
+                        @Value("${cafekiosk.order.journal.segment-size:64MB}") DataSize segmentSize) {
+        this.directory = directory;
+        this.segmentSize = Math.toIntExact(segmentSize.toBytes());
+    }
+
+    /**
+     * 마지막 snapshot 과 그 이후의 record 로 끝나지 않은 주문을 다시 만들고, 마지막 segment 의 끝에서 이어서 쓸 준비를 한다.
+     */
+    @PostConstruct
+    public void open() throws IOException {
+        Files.createDirectories(directory);
+        openOrders.clear();
+        long snapshotSequence = loadLatestSnapshot();
+        lastSequence = snapshotSequence;
+        lastSnapshotSequence = snapshotSequence;
+
+        List<Path> segments = list(SEGMENT_SUFFIX);
+        int lastSegmentEnd = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            if (i + 1 < segments.size() && firstSequenceOf(segments.get(i + 1)) <= snapshotSequence + 1) {
+                continue; // snapshot 에 이미 반영된 segment
+            }
+            lastSegmentEnd = readSegment(segments.get(i), record -> {
+                if (record.getSequence() > lastSequence) {
+                    apply(record);
+                    lastSequence = record.getSequence();
+                }
+            });
+        }
+
+        if (segments.isEmpty()) {
+            mapSegment(segmentPath(lastSequence + 1));
+            return;
+        }
+        mapSegment(segments.get(segments.size() - 1));
+        buffer.position(lastSegmentEnd);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        snapshot(); // 다음 기동 시 replay 할 record 를 줄인다.
+        lock.lock();
+        try {
+            buffer.force();
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderCreated(OrderCreatedEvent event) {
+        append(OrderJournalRecord.of(event));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        append(OrderJournalRecord.of(event));
+    }
+
+    /**
+     * record 를 저널 끝에 기록하고, 부여한 sequence 를 반환한다.
+     */
+    public long append(OrderJournalRecord record) {
+        int frameSize = FRAME_OVERHEAD + record.payloadSize();
+        if (frameSize > segmentSize) {
+            throw new IllegalArgumentException("저널 segment 보다 큰 record 는 기록할 수 없습니다.");
+        }
+
+        lock.lock();
+        try {
+            long sequence = lastSequence + 1;
+            if (buffer.remaining() < frameSize) {
+                rollSegment(sequence);
+            }
+            writeFrame(buffer, sequence, record);
+            lastSequence = sequence;
+            apply(record.withSequence(sequence));
+            return sequence;
+        } catch (IOException e) {
+            throw new IllegalStateException("주문 저널에 기록할 수 없습니다.", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * fromSequence 부터 저널의 record 를 순서대로 읽는다. ( 기록 중인 segment 도 읽을 수 있다. )
+     */
+    public void replay(long fromSequence, Consumer<OrderJournalRecord> consumer) {
+        try {
+            List<Path> segments = list(SEGMENT_SUFFIX);
+            for (int i = 0; i < segments.size(); i++) {
+                if (i + 1 < segments.size() && firstSequenceOf(segments.get(i + 1)) <= fromSequence) {
+                    continue;
+                }
+                readSegment(segments.get(i), record -> {
+                    if (record.getSequence() >= fromSequence) {
+                        consumer.accept(record);
+                    }
+                });
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("주문 저널을 읽을 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 끝나지 않은 주문을 snapshot 파일로 남긴다. ( 임시 파일에 쓴 뒤 이름을 바꾸고, 이전 snapshot 은 지운다. )
+     */
+    @Scheduled(fixedDelayString = "${cafekiosk.order.journal.snapshot-interval-millis:60000}")
+    public void snapshot() throws IOException {
+        long sequence;
+        List<OrderJournalRecord> records;
+        lock.lock();
+        try {
+            sequence = lastSequence;
+            if (sequence == lastSnapshotSequence) {
+                return;
+            }
+            buffer.force(); // snapshot 이 저널보다 앞서지 않도록
+            records = new ArrayList<>(openOrders.values());
+        } finally {
+            lock.unlock();
+        }
+
+        int size = 4 + 8 + 4 + records.stream().mapToInt(record -> FRAME_OVERHEAD + record.payloadSize()).sum();
+        ByteBuffer snapshot = ByteBuffer.allocate(size);
+        snapshot.putInt(SNAPSHOT_MAGIC);
+        snapshot.putLong(sequence);
+        snapshot.putInt(records.size());
+        records.forEach(record -> writeFrame(snapshot, record.getSequence(), record));
+
+        Path snapshotPath = directory.resolve(fileName(sequence, SNAPSHOT_SUFFIX));
+        Path temporaryPath = directory.resolve(snapshotPath.getFileName() + ".tmp");
+        Files.write(temporaryPath, snapshot.array());
+        Files.move(temporaryPath, snapshotPath, StandardCopyOption.ATOMIC_MOVE);
+        lastSnapshotSequence = sequence;
+
+        for (Path previous : list(SNAPSHOT_SUFFIX)) {
+            if (!previous.equals(snapshotPath)) {
+                Files.deleteIfExists(previous);
+            }
+        }
+    }
+
+    /**
+     * 기록한 record 를 디스크에 반영한다. ( 메모리 매핑된 페이지를 flush )
+     */
+    @Scheduled(fixedDelayString = "${cafekiosk.order.journal.force-interval-millis:1000}")
+    public void force() {
+        buffer.force();
+    }
+
+    public Map<Long, OrderJournalRecord> getOpenOrders() {
+        return Collections.unmodifiableMap(openOrders);
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    private void apply(OrderJournalRecord record) {
+        if (record.getOrderStatus().isTerminal()) {
+            openOrders.remove(record.getOrderId());
+            return;
+        }
+        openOrders.put(record.getOrderId(), record);
+    }
+
+    private long loadLatestSnapshot() throws IOException {
+        List<Path> snapshots = list(SNAPSHOT_SUFFIX);
+        if (snapshots.isEmpty()) {
+            return 0;
+        }
+
+        Path latest = snapshots.get(snapshots.size() - 1);
+        ByteBuffer snapshot = ByteBuffer.wrap(Files.readAllBytes(latest));
+        if (snapshot.remaining() < 4 + 8 + 4 || snapshot.getInt() != SNAPSHOT_MAGIC) {
+            log.warn("주문 저널 snapshot 을 읽을 수 없어서 처음부터 replay 합니다. ( {} )", latest);
+            return 0;
+        }
+        long sequence = snapshot.getLong();
+        int count = snapshot.getInt();
+        List<OrderJournalRecord> records = new ArrayList<>(count);
+        readFrames(snapshot, records::add);
+        if (records.size() != count) {
+            log.warn("주문 저널 snapshot 이 손상되어서 처음부터 replay 합니다. ( {} )", latest);
+            return 0;
+        }
+
+        records.forEach(record -> openOrders.put(record.getOrderId(), record));
+        return sequence;
+    }
+
+    private void rollSegment(long firstSequence) throws IOException {
+        buffer.force();
+        channel.close();
+        mapSegment(segmentPath(firstSequence));
+    }
+
+    private void mapSegment(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    }
+
+    private int readSegment(Path path, Consumer<OrderJournalRecord> consumer) throws IOException {
+        try (FileChannel segment = FileChannel.open(path, StandardOpenOption.READ)) {
+            return readFrames(segment.map(FileChannel.MapMode.READ_ONLY, 0, segment.size()), consumer);
+        }
+    }
+
+    private List<Path> list(String suffix) throws IOException {
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.filter(path -> path.getFileName().toString().endsWith(suffix))
+                    .sorted() // 이름이 0 으로 채운 sequence 이므로 이름 순 = sequence 순
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(long firstSequence) {
+        return directory.resolve(fileName(firstSequence, SEGMENT_SUFFIX));
+    }
+
+    private static String fileName(long sequence, String suffix) {
+        return String.format("%020d%s", sequence, suffix);
+    }
+
+    private static long firstSequenceOf(Path segment) {
+        String fileName = segment.getFileName().toString();
+        return Long.parseLong(fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static void writeFrame(ByteBuffer target, long sequence, OrderJournalRecord record) {
+        int start = target.position();
+        target.position(start + 4);
+        target.putLong(sequence);
+        record.writePayload(target);
+        int payloadSize = target.position() - start - FRAME_HEADER_SIZE;
+        target.putInt(crcOf(target, start + 4, 8 + payloadSize));
+        target.putInt(start, payloadSize); // 길이를 마지막에 쓴다. ( 길이가 보이면 record 전체가 기록된 것 )
+    }
+
+    // 읽은 위치(이어서 쓸 위치)를 반환한다. 길이가 0 이거나(끝) CRC 가 맞지 않으면(기록되다 만 record) 거기서 멈춘다.
+    private static int readFrames(ByteBuffer source, Consumer<OrderJournalRecord> consumer) {
+        int position = source.position();
+        while (source.limit() - position >= FRAME_OVERHEAD) {
+            int payloadSize = source.getInt(position);
+            if (payloadSize <= 0 || payloadSize > source.limit() - position - FRAME_OVERHEAD) {
+                break;
+            }
+            if (source.getInt(position + FRAME_HEADER_SIZE + payloadSize) != crcOf(source, position + 4, 8 + payloadSize)) {
+                break;
+            }
+            long sequence = source.getLong(position + 4);
+            consumer.accept(OrderJournalRecord.readPayload(sequence, source.slice(position + FRAME_HEADER_SIZE, payloadSize)));
+            position += FRAME_OVERHEAD + payloadSize;
+        }
+        source.position(position);
+        return position;
+    }
+
+    private static int crcOf(ByteBuffer buffer, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,128 @@
+package sample.cafekiosk.spring.api.service.order.journal;
+
+import lombok.Builder;
+import lombok.Getter;
+import sample.cafekiosk.spring.domain.order.OrderCreatedEvent;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.order.OrderStatusChangedEvent;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 주문 저널의 record 한 건과 바이너리 인코딩
+ * - type(1) | orderId(8) | registeredDateTime 초(8) + 나노초(4) | 변경 전 상태(1) | 상태(1) | totalPrice(4) | 상품 수(2) | 상품번호 (길이(1) + UTF-8) ...
+ * - 주문 상태는 OrderStatus 의 ordinal 로 저장한다. ( 변경 전 상태가 없으면 -1 )
+ *   저널 파일을 다시 읽어야 하므로, OrderStatus 의 순서를 바꾸거나 중간에 추가하면 안 된다.
+ * - sequence 는 저널의 framing 에 담기고, 읽을 때 채워진다. ( 기록하기 전에는 0 )
+ */
+@Getter
+public class OrderJournalRecord {
+
+    private static final OrderStatus[] ORDER_STATUSES = OrderStatus.values();
+    private static final OrderJournalRecordType[] TYPES = OrderJournalRecordType.values();
+
+    private final long sequence;
+    private final OrderJournalRecordType type;
+    private final long orderId;
+    private final LocalDateTime registeredDateTime;
+    private final OrderStatus beforeStatus; // CREATED 이면 null
+    private final OrderStatus orderStatus;
+    private final int totalPrice;
+    private final List<String> productNumbers;
+
+    @Builder
+    private OrderJournalRecord(long sequence, OrderJournalRecordType type, long orderId, LocalDateTime registeredDateTime,
+                               OrderStatus beforeStatus, OrderStatus orderStatus, int totalPrice, List<String> productNumbers) {
+        this.sequence = sequence;
+        this.type = type;
+        this.orderId = orderId;
+        this.registeredDateTime = registeredDateTime;
+        this.beforeStatus = beforeStatus;
+        this.orderStatus = orderStatus;
+        this.totalPrice = totalPrice;
+        this.productNumbers = productNumbers;
+    }
+
+    public static OrderJournalRecord of(OrderCreatedEvent event) {
+        return OrderJournalRecord.builder()
+                .type(OrderJournalRecordType.CREATED)
+                .orderId(event.getOrderId())
+                .registeredDateTime(event.getRegisteredDateTime())
+                .orderStatus(event.getOrderStatus())
+                .totalPrice(event.getTotalPrice())
+                .productNumbers(event.getProductNumbers())
+                .build();
+    }
+
+    public static OrderJournalRecord of(OrderStatusChangedEvent event) {
+        return OrderJournalRecord.builder()
+                .type(OrderJournalRecordType.STATUS_CHANGED)
+                .orderId(event.getOrderId())
+                .registeredDateTime(event.getRegisteredDateTime())
+                .beforeStatus(event.getBeforeStatus())
+                .orderStatus(event.getAfterStatus())
+                .totalPrice(event.getTotalPrice())
+                .productNumbers(event.getProductNumbers())
+                .build();
+    }
+
+    public OrderJournalRecord withSequence(long sequence) {
+        return new OrderJournalRecord(sequence, type, orderId, registeredDateTime, beforeStatus, orderStatus, totalPrice, productNumbers);
+    }
+
+    public int payloadSize() {
+        int size = 1 + 8 + 8 + 4 + 1 + 1 + 4 + 2;
+        for (String productNumber : productNumbers) {
+            size += 1 + productNumber.getBytes(StandardCharsets.UTF_8).length;
+        }
+        return size;
+    }
+
+    public void writePayload(ByteBuffer buffer) {
+        buffer.put((byte) type.ordinal());
+        buffer.putLong(orderId);
+        buffer.putLong(registeredDateTime.toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(registeredDateTime.getNano());
+        buffer.put((byte) (beforeStatus == null ? -1 : beforeStatus.ordinal()));
+        buffer.put((byte) orderStatus.ordinal());
+        buffer.putInt(totalPrice);
+        buffer.putShort((short) productNumbers.size());
+        for (String productNumber : productNumbers) {
+            byte[] bytes = productNumber.getBytes(StandardCharsets.UTF_8);
+            buffer.put((byte) bytes.length);
+            buffer.put(bytes);
+        }
+    }
+
+    public static OrderJournalRecord readPayload(long sequence, ByteBuffer buffer) {
+        OrderJournalRecordType type = TYPES[buffer.get()];
+        long orderId = buffer.getLong();
+        LocalDateTime registeredDateTime = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+        byte beforeStatus = buffer.get();
+        OrderStatus orderStatus = ORDER_STATUSES[buffer.get()];
+        int totalPrice = buffer.getInt();
+        int productCount = Short.toUnsignedInt(buffer.getShort());
+        List<String> productNumbers = new ArrayList<>(productCount);
+        for (int i = 0; i < productCount; i++) {
+            byte[] bytes = new byte[Byte.toUnsignedInt(buffer.get())];
+            buffer.get(bytes);
+            productNumbers.add(new String(bytes, StandardCharsets.UTF_8));
+        }
+
+        return OrderJournalRecord.builder()
+                .sequence(sequence)
+                .type(type)
+                .orderId(orderId)
+                .registeredDateTime(registeredDateTime)
+                .beforeStatus(beforeStatus < 0 ? null : ORDER_STATUSES[beforeStatus])
+                .orderStatus(orderStatus)
+                .totalPrice(totalPrice)
+                .productNumbers(productNumbers)
+                .build();
+    }
+}
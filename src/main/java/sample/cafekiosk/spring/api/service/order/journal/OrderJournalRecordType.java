@@ -0,0 +1,10 @@
+package sample.cafekiosk.spring.api.service.order.journal;
+
+/**
+ * 주문 저널에 기록되는 이벤트 종류 ( 주문취소 / 결제실패 는 STATUS_CHANGED 의 변경 후 상태로 구분한다. )
+ * - 저널 파일에는 ordinal 로 저장되므로, 순서를 바꾸거나 중간에 추가하면 안 된다. ( 뒤에만 추가 )
+ */
+public enum OrderJournalRecordType {
+    CREATED,
+    STATUS_CHANGED
+}
@@ -0,0 +1,107 @@
+package sample.cafekiosk.spring.api.service.order.outbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sample.cafekiosk.spring.domain.order.OrderCreatedEvent;
+import sample.cafekiosk.spring.domain.order.OrderEventType;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.order.OrderStatusChangedEvent;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 주문 이벤트(생성 / 상태 변경)를 outbox 테이블(order_event)에 기록한다.
+ * - 주문을 저장하는 트랜잭션에서 기록하므로, 주문이 커밋되면 이벤트도 남고 롤백되면 함께 사라진다.
+ *   메일 같은 부수 효과는 주문 트랜잭션에서 실행하지 않고, 커밋된 이벤트를 OrderEventRelay 가 트랜잭션 밖에서 전달한다.
+ * - 한 트랜잭션의 이벤트를 모아두었다가, 커밋 직전에 한 번의 JDBC 배치 INSERT 로 기록한다. ( 일괄 주문 / 일괄 상태 변경도 배치 한 번 )
+ * - relay 가 꺼져 있으면(cafekiosk.order.outbox.relay.enabled) 전달할 곳이 없으므로 기록하지 않는다.
+ */
+@Component
+public class OrderEventOutbox {
+
+    private static final String INSERT_SQL = "insert into order_event " +
+            "(order_id, event_type, before_status, order_status, total_price, registered_date_time, product_numbers, " +
+            "attempts, available_date_time, created_date_time) " +
+            "values (?, ?, ?, ?, ?, ?, ?, 0, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    public OrderEventOutbox(JdbcTemplate jdbcTemplate,
+                            @Value("${cafekiosk.order.outbox.relay.enabled:false}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    @EventListener
+    public void onOrderCreated(OrderCreatedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        append(row(event.getOrderId(), OrderEventType.CREATED, null, event.getOrderStatus(), event.getTotalPrice(),
+                event.getRegisteredDateTime(), event.getProductNumbers()));
+    }
+
+    @EventListener
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        append(row(event.getOrderId(), OrderEventType.STATUS_CHANGED, event.getBeforeStatus(), event.getAfterStatus(), event.getTotalPrice(),
+                event.getRegisteredDateTime(), event.getProductNumbers()));
+    }
+
+    private void append(Object[] row) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            jdbcTemplate.update(INSERT_SQL, row);
+            return;
+        }
+        transactionRows().add(row);
+    }
+
+    // 현재 트랜잭션에 모아둔 outbox row ( 처음 호출될 때 만들고, 커밋 직전에 기록한다. )
+    private List<Object[]> transactionRows() {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = (List<Object[]>) TransactionSynchronizationManager.getResource(OrderEventOutbox.class);
+        if (rows != null) {
+            return rows;
+        }
+
+        List<Object[]> newRows = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(OrderEventOutbox.class, newRows);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, newRows);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(OrderEventOutbox.class);
+            }
+        });
+        return newRows;
+    }
+
+    private Object[] row(Long orderId, OrderEventType eventType, OrderStatus beforeStatus, OrderStatus orderStatus, int totalPrice,
+                         LocalDateTime registeredDateTime, List<String> productNumbers) {
+        LocalDateTime now = LocalDateTime.now();
+        return new Object[]{
+                orderId,
+                eventType.name(),
+                beforeStatus == null ? null : beforeStatus.name(),
+                orderStatus.name(),
+                totalPrice,
+                registeredDateTime,
+                String.join(",", productNumbers),
+                now, // 바로 전달할 수 있다.
+                now
+        };
+    }
+}
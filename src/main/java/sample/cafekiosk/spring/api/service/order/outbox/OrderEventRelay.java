@@ -0,0 +1,170 @@
+package sample.cafekiosk.spring.api.service.order.outbox;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.domain.order.OrderEvent;
+import sample.cafekiosk.spring.domain.order.OrderEventRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * outbox(order_event)에 커밋된 주문 이벤트를 애플리케이션 안의 리스너에 전달한다. ( @EventListener 로 OrderEvent 를 받는다. )
+ * - relay 스레드(thread-count 개)가 전달할 이벤트를 batch-size 만큼 가져오고(claim), 트랜잭션 밖에서 id 순으로 전달한 뒤, 전달한 이벤트에 발행 시간을 기록한다.
+ *   가져온 이벤트가 batch-size 보다 적으면 poll-interval 만큼 쉬었다가 다시 가져온다.
+ * - 가져올 때는 select ... for update skip locked 로 다른 relay(다른 서버)가 가져가는 중인 row 를 건너뛰고, lease 동안 다시 가져가지 않도록 미뤄둔다.
+ *   전달하다 서버가 죽거나 리스너가 예외를 던지면, lease 가 지난 뒤 다시 전달한다. ( max-attempts 번까지, 이후에는 order_event 에 남겨두고 전달하지 않는다. )
+ * - 리스너는 같은 이벤트를 두 번 이상 받을 수 있으므로(at-least-once), 필요하면 OrderEvent.id 로 중복을 걸러낸다.
+ * - relay 가 여러 개면 주문별 이벤트 순서는 보장하지 않는다.
+ * - 전달한 이벤트는 retention 이 지나면 지운다.
+ *
+ * 참고) 아직 OrderEvent 를 받는 리스너가 없어서 relay 는 기본으로 꺼져 있다. ( cafekiosk.order.outbox.relay.enabled )
+ *   꺼져 있으면 OrderEventOutbox 도 이벤트를 기록하지 않는다. ( 리스너를 추가할 때 켠다. )
+ *   주방 대기열 / 매출 시계열 / 주문 저널처럼 서버마다 메모리에 갖는 상태는 relay 로 옮기지 않는다. ( 이벤트 하나를 relay 하나만 가져가므로 다른 서버에는 전달되지 않는다. )
+ */
+@Slf4j
+@Component
+public class OrderEventRelay {
+
+    private final OrderEventRepository orderEventRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int threadCount;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Duration retention;
+
+    private ExecutorService relayThreads;
+    private volatile boolean running;
+
+    public OrderEventRelay(OrderEventRepository orderEventRepository,
+                           ApplicationEventPublisher applicationEventPublisher,
+                           TransactionTemplate transactionTemplate,
+                           @Value("${cafekiosk.order.outbox.relay.enabled:false}") boolean enabled,
+                           @Value("${cafekiosk.order.outbox.relay.thread-count:1}") int threadCount,
+                           @Value("${cafekiosk.order.outbox.relay.batch-size:500}") int batchSize,
+                           @Value("${cafekiosk.order.outbox.relay.poll-interval:100ms}") Duration pollInterval,
+                           @Value("${cafekiosk.order.outbox.relay.lease:30s}") Duration lease,
+                           @Value("${cafekiosk.order.outbox.relay.max-attempts:5}") int maxAttempts,
+                           @Value("${cafekiosk.order.outbox.retention:7d}") Duration retention) {
+        this.orderEventRepository = orderEventRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.threadCount = threadCount;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.lease = lease;
+        this.maxAttempts = maxAttempts;
+        this.retention = retention;
+    }
+
+    /**
+     * 리스너 빈이 모두 준비된 뒤에 relay 스레드를 시작한다. ( thread-count 가 0 이면 relay() 를 직접 호출한다. )
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || threadCount == 0) {
+            return;
+        }
+        running = true;
+        relayThreads = Executors.newFixedThreadPool(threadCount, new CustomizableThreadFactory("order-event-relay-"));
+        for (int i = 0; i < threadCount; i++) {
+            relayThreads.execute(this::run);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (relayThreads == null) {
+            return;
+        }
+        running = false;
+        relayThreads.shutdown();
+        if (!relayThreads.awaitTermination(30, TimeUnit.SECONDS)) {
+            relayThreads.shutdownNow();
+        }
+    }
+
+    /**
+     * 전달할 이벤트를 한 배치 가져와서 리스너에 전달하고, 가져온 이벤트 수를 반환한다.
+     */
+    public int relay() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderEvent> events = transactionTemplate.execute(status -> {
+            List<OrderEvent> claimedEvents = orderEventRepository.findAllForClaim(now, maxAttempts, Limit.of(batchSize));
+            if (!claimedEvents.isEmpty()) {
+                orderEventRepository.claim(claimedEvents.stream().map(OrderEvent::getId).toList(), now.plus(lease));
+            }
+            return claimedEvents;
+        });
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> publishedIds = new ArrayList<>(events.size());
+        for (OrderEvent event : events) {
+            try {
+                applicationEventPublisher.publishEvent(event);
+                publishedIds.add(event.getId());
+            } catch (RuntimeException e) {
+                int attempt = event.getAttempts() + 1; // event 에는 가져오기 전의 시도 횟수가 들어있다.
+                if (attempt >= maxAttempts) {
+                    log.error("주문 이벤트 전달 실패, 더 이상 전달하지 않습니다. ( id={}, {}/{} )", event.getId(), attempt, maxAttempts, e);
+                    continue;
+                }
+                log.warn("주문 이벤트 전달 실패 ( id={}, {}/{} ) : {}", event.getId(), attempt, maxAttempts, e.getMessage());
+            }
+        }
+
+        if (!publishedIds.isEmpty()) {
+            LocalDateTime publishedDateTime = LocalDateTime.now();
+            transactionTemplate.executeWithoutResult(status -> orderEventRepository.markPublished(publishedIds, publishedDateTime));
+        }
+        return events.size();
+    }
+
+    @Scheduled(fixedDelayString = "${cafekiosk.order.outbox.purge-interval-millis:600000}")
+    public void purgePublishedEvents() {
+        LocalDateTime threshold = LocalDateTime.now().minus(retention);
+        transactionTemplate.executeWithoutResult(status -> orderEventRepository.deleteAllPublishedBefore(threshold));
+    }
+
+    private void run() {
+        while (running) {
+            int relayedCount;
+            try {
+                relayedCount = relay();
+            } catch (RuntimeException e) {
+                log.error("주문 이벤트 relay 실패", e);
+                relayedCount = 0;
+            }
+
+            if (relayedCount < batchSize) { // 밀린 이벤트가 없으면 쉬었다가 다시 가져온다.
+                try {
+                    Thread.sleep(pollInterval.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
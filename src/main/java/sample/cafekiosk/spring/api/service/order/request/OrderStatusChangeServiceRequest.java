@@ -0,0 +1,22 @@
+package sample.cafekiosk.spring.api.service.order.request;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+public class OrderStatusChangeServiceRequest {
+
+    private List<Long> orderIds;
+    private OrderStatus orderStatus;
+
+    @Builder
+    public OrderStatusChangeServiceRequest(List<Long> orderIds, OrderStatus orderStatus) {
+        this.orderIds = orderIds;
+        this.orderStatus = orderStatus;
+    }
+}
@@ -0,0 +1,37 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class OrderBatchResponse {
+
+    private int requestedCount;
+    private int succeededCount;
+    private int failedCount;
+
+    private List<OrderBatchResultResponse> results;
+
+    @Builder
+    private OrderBatchResponse(int requestedCount, int succeededCount, int failedCount, List<OrderBatchResultResponse> results) {
+        this.requestedCount = requestedCount;
+        this.succeededCount = succeededCount;
+        this.failedCount = failedCount;
+        this.results = results;
+    }
+
+    public static OrderBatchResponse of(List<OrderBatchResultResponse> results) {
+        int succeededCount = (int) results.stream()
+                .filter(OrderBatchResultResponse::isSuccess)
+                .count();
+
+        return OrderBatchResponse.builder()
+                .requestedCount(results.size())
+                .succeededCount(succeededCount)
+                .failedCount(results.size() - succeededCount)
+                .results(results)
+                .build();
+    }
+}
@@ -0,0 +1,40 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 일괄 주문에서 주문 한 건의 처리 결과
+ */
+@Getter
+public class OrderBatchResultResponse {
+
+    private int index; // 요청 목록에서의 순서 (0부터)
+    private boolean success;
+    private String message; // 실패 사유
+    private OrderResponse order; // 성공한 경우 생성된 주문
+
+    @Builder
+    private OrderBatchResultResponse(int index, boolean success, String message, OrderResponse order) {
+        this.index = index;
+        this.success = success;
+        this.message = message;
+        this.order = order;
+    }
+
+    public static OrderBatchResultResponse success(int index, OrderResponse order) {
+        return OrderBatchResultResponse.builder()
+                .index(index)
+                .success(true)
+                .order(order)
+                .build();
+    }
+
+    public static OrderBatchResultResponse failure(int index, String message) {
+        return OrderBatchResultResponse.builder()
+                .index(index)
+                .success(false)
+                .message(message)
+                .build();
+    }
+}
@@ -0,0 +1,21 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class OrderPageResponse {
+
+    private List<OrderResponse> orders; // 최신순
+    private boolean hasNext;
+    private String nextCursor; // 다음 페이지를 조회할 때 cursor 로 보낸다. ( 마지막 페이지면 null )
+
+    @Builder
+    private OrderPageResponse(List<OrderResponse> orders, boolean hasNext, String nextCursor) {
+        this.orders = orders;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+}
@@ -1,26 +1,32 @@
 package sample.cafekiosk.spring.api.service.order.response;
 
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
 import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Getter
+@NoArgsConstructor(access = AccessLevel.PRIVATE) // 저장해둔 응답(JSON)을 다시 읽을 때 사용 ( OrderIdempotencyStore )
 public class OrderResponse {
 
     private Long id;
+    private OrderStatus orderStatus;
     private int totalPrice;
     private LocalDateTime registeredDateTime;
 
     private List<ProductResponse> products;
 
     @Builder
-    private OrderResponse(Long id, int totalPrice, LocalDateTime registeredDateTime, List<ProductResponse> products) {
+    private OrderResponse(Long id, OrderStatus orderStatus, int totalPrice, LocalDateTime registeredDateTime, List<ProductResponse> products) {
         this.id = id;
+        this.orderStatus = orderStatus;
         this.totalPrice = totalPrice;
         this.registeredDateTime = registeredDateTime;
         this.products = products;
@@ -29,6 +35,7 @@ public class OrderResponse {
     public static OrderResponse of(Order order) {
         return OrderResponse.builder()
                 .id(order.getId())
+                .orderStatus(order.getOrderStatus())
                 .totalPrice(order.getTotalPrice())
                 .registeredDateTime(order.getRegisteredDateTime())
                 .products(order.getOrderProducts().stream()
@@ -0,0 +1,27 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 일괄 상태 변경에서 바꾸지 못한 주문과 사유
+ */
+@Getter
+public class OrderStatusChangeFailureResponse {
+
+    private Long orderId;
+    private String message;
+
+    @Builder
+    private OrderStatusChangeFailureResponse(Long orderId, String message) {
+        this.orderId = orderId;
+        this.message = message;
+    }
+
+    public static OrderStatusChangeFailureResponse of(Long orderId, String message) {
+        return OrderStatusChangeFailureResponse.builder()
+                .orderId(orderId)
+                .message(message)
+                .build();
+    }
+}
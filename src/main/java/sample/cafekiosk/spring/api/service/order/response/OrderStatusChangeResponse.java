@@ -0,0 +1,30 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+import java.util.List;
+
+@Getter
+public class OrderStatusChangeResponse {
+
+    private OrderStatus orderStatus; // 바꾼 상태
+    private int requestedCount;
+    private int changedCount;
+    private int unchangedCount; // 이미 바꾸려는 상태인 주문 ( 같은 요청을 다시 보낸 경우 )
+    private int failedCount;
+
+    private List<OrderStatusChangeFailureResponse> failures;
+
+    @Builder
+    private OrderStatusChangeResponse(OrderStatus orderStatus, int requestedCount, int changedCount, int unchangedCount,
+                                      List<OrderStatusChangeFailureResponse> failures) {
+        this.orderStatus = orderStatus;
+        this.requestedCount = requestedCount;
+        this.changedCount = changedCount;
+        this.unchangedCount = unchangedCount;
+        this.failedCount = failures.size();
+        this.failures = failures;
+    }
+}
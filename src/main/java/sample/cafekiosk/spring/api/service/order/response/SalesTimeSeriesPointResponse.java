@@ -0,0 +1,21 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+public class SalesTimeSeriesPointResponse {
+
+    private LocalDateTime startDateTime; // 구간 시작 시각
+    private long orderCount;
+    private long totalPrice;
+
+    @Builder
+    private SalesTimeSeriesPointResponse(LocalDateTime startDateTime, long orderCount, long totalPrice) {
+        this.startDateTime = startDateTime;
+        this.orderCount = orderCount;
+        this.totalPrice = totalPrice;
+    }
+}
@@ -0,0 +1,34 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import sample.cafekiosk.spring.api.service.order.SalesGranularity;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+public class SalesTimeSeriesResponse {
+
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private SalesGranularity granularity;
+    private OrderStatus orderStatus;
+    private long totalOrderCount;
+    private long totalPrice;
+
+    private List<SalesTimeSeriesPointResponse> points; // 주문이 없는 구간도 0 으로 포함한다.
+
+    @Builder
+    private SalesTimeSeriesResponse(LocalDate fromDate, LocalDate toDate, SalesGranularity granularity, OrderStatus orderStatus,
+                                    long totalOrderCount, long totalPrice, List<SalesTimeSeriesPointResponse> points) {
+        this.fromDate = fromDate;
+        this.toDate = toDate;
+        this.granularity = granularity;
+        this.orderStatus = orderStatus;
+        this.totalOrderCount = totalOrderCount;
+        this.totalPrice = totalPrice;
+        this.points = points;
+    }
+}
@@ -0,0 +1,143 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductChangedEvent;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 상품 카탈로그 캐시 ( read-through )
+ * - 상품번호별 / 판매상태별로 상품을 캐싱해서, 키오스크 메뉴 조회와 주문 시 상품 조회가 DB 를 거치지 않도록 한다.
+ * - 상품이 등록되거나 판매상태가 바뀌면 (커밋 이후) 해당 상품과 판매상태별 목록을 무효화한다.
+ * - 무효화되는 도중에 DB 에서 읽고 있던 값은 변경 이전의 값일 수 있으므로 캐싱하지 않는다. ( 버전으로 확인 )
+ * - DB 를 직접 변경한 경우를 대비해서 일정 시간(expire-after-write)이 지나면 다시 읽어온다.
+ *
+ * - 적중률 / 크기 / 제거 수는 cache.* 메트릭(cache=product.catalog.*)으로 노출한다.
+ *
+ * 참고) 캐싱된 Product 는 준영속(detached) 상태이다. 읽기 용도(주문 생성, 응답 변환)로만 사용하고 변경하지 않는다.
+ */
+@Component
+public class ProductCatalogCache implements MeterBinder {
+
+    private final ProductRepository productRepository;
+
+    private final Cache<String, Product> productsByNumber;
+    private final Cache<ProductSellingStatus, List<Product>> productsBySellingStatus;
+
+    private final AtomicLong version = new AtomicLong(); // 상품이 바뀔 때마다 증가
+
+    public ProductCatalogCache(ProductRepository productRepository,
+                               @Value("${cafekiosk.product.catalog-cache.maximum-size:10000}") long maximumSize,
+                               @Value("${cafekiosk.product.catalog-cache.expire-after-write:10m}") Duration expireAfterWrite,
+                               ObjectProvider<Ticker> ticker) { // 만료 시각 계산에 사용 ( 빈이 없으면 시스템 시간 )
+        this.productRepository = productRepository;
+        this.productsByNumber = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .ticker(ticker.getIfAvailable(Ticker::systemTicker))
+                .recordStats()
+                .build();
+        this.productsBySellingStatus = CacheBuilder.newBuilder()
+                .expireAfterWrite(expireAfterWrite)
+                .ticker(ticker.getIfAvailable(Ticker::systemTicker))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 판매상태별 상품 목록 ( id 순 )
+     */
+    public List<Product> getProductsBySellingStatuses(List<ProductSellingStatus> sellingStatuses) {
+        List<Product> products = new ArrayList<>();
+        for (ProductSellingStatus sellingStatus : sellingStatuses) {
+            products.addAll(getProductsBySellingStatus(sellingStatus));
+        }
+        products.sort(Comparator.comparing(Product::getId));
+        return products;
+    }
+
+    private List<Product> getProductsBySellingStatus(ProductSellingStatus sellingStatus) {
+        List<Product> cachedProducts = productsBySellingStatus.getIfPresent(sellingStatus);
+        if (cachedProducts != null) {
+            return cachedProducts;
+        }
+
+        long versionBeforeLoad = version.get();
+        List<Product> loadedProducts = List.copyOf(productRepository.findAllBySellingStatusIn(List.of(sellingStatus)));
+        productsBySellingStatus.put(sellingStatus, loadedProducts);
+        if (version.get() != versionBeforeLoad) { // 조회하는 도중에 상품이 바뀌었다면 캐싱하지 않는다.
+            productsBySellingStatus.invalidate(sellingStatus);
+        }
+        return loadedProducts;
+    }
+
+    /**
+     * 상품번호로 상품 조회 ( 캐시에 없는 상품만 한 번에 조회해서 캐싱한다. 존재하지 않는 상품번호는 결과에 포함되지 않는다. )
+     */
+    public List<Product> getProductsByProductNumbers(List<String> productNumbers) {
+        Map<String, Product> cachedProducts = productsByNumber.getAllPresent(productNumbers);
+
+        List<String> missingProductNumbers = productNumbers.stream()
+                .filter(productNumber -> !cachedProducts.containsKey(productNumber))
+                .distinct()
+                .toList();
+
+        List<Product> products = new ArrayList<>(cachedProducts.values());
+        if (!missingProductNumbers.isEmpty()) {
+            long versionBeforeLoad = version.get();
+            List<Product> loadedProducts = productRepository.findAllByProductNumberIn(missingProductNumbers);
+            loadedProducts.forEach(product -> productsByNumber.put(product.getProductNumber(), product));
+            if (version.get() != versionBeforeLoad) { // 조회하는 도중에 상품이 바뀌었다면 캐싱하지 않는다.
+                productsByNumber.invalidateAll(missingProductNumbers);
+            }
+            products.addAll(loadedProducts);
+        }
+        return products;
+    }
+
+    /**
+     * 버전을 먼저 올린 뒤에 무효화한다.
+     * - 무효화보다 먼저 캐싱된 값은 여기서 지워지고, 무효화 이후에 캐싱된 값은 조회한 쪽에서 버전이 바뀐 것을 보고 지운다.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE) // 이 캐시로 만드는 판매 상품 목록 응답(SellingMenuSnapshotService)보다 먼저 무효화한다.
+    @TransactionalEventListener(fallbackExecution = true) // 커밋 이후에 무효화 ( 트랜잭션 밖에서 발행된 경우에는 바로 무효화 )
+    public void onProductChanged(ProductChangedEvent event) {
+        version.incrementAndGet();
+        productsByNumber.invalidate(event.getProductNumber());
+        productsBySellingStatus.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        GuavaCacheMetrics.monitor(registry, productsByNumber, "product.catalog.by-number");
+        GuavaCacheMetrics.monitor(registry, productsBySellingStatus, "product.catalog.by-selling-status");
+    }
+
+    public CacheStats getProductNumberCacheStats() {
+        return productsByNumber.stats();
+    }
+
+    public CacheStats getSellingStatusCacheStats() {
+        return productsBySellingStatus.stats();
+    }
+}
@@ -0,0 +1,42 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import sample.cafekiosk.spring.domain.product.ProductNumberSequence;
+import sample.cafekiosk.spring.domain.product.ProductNumberSequenceRepository;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+
+/**
+ * product_number_sequence 테이블에서 상품번호 범위를 가져간다.
+ * - 상품 등록 트랜잭션과 별개로(REQUIRES_NEW) 바로 커밋해서, 시퀀스 row 의 락을 짧게 잡는다.
+ * - 시퀀스 row 가 없으면 현재 가장 큰 상품번호 다음 값부터 시작한다. ( 없을 때만 넣고, 넣은 row 를 다시 select ... for update 로 읽는다. )
+ *   여러 서버가 동시에 처음 만들려고 하면 한쪽은 키 중복 예외(DataIntegrityViolationException)로 실패하므로, 호출하는 쪽에서 다시 시도한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductNumberBlockLeaser {
+
+    static final String SEQUENCE_NAME = "product_number";
+
+    private final ProductNumberSequenceRepository productNumberSequenceRepository;
+    private final ProductRepository productRepository;
+
+    /**
+     * @return 가져간 범위의 시작 값 ( [시작 값, 시작 값 + blockSize) 범위를 사용할 수 있다. )
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long leaseBlock(int blockSize) {
+        ProductNumberSequence sequence = productNumberSequenceRepository.findForUpdateBySequenceName(SEQUENCE_NAME)
+                .orElseGet(this::createSequence);
+
+        return sequence.lease(blockSize);
+    }
+
+    private ProductNumberSequence createSequence() {
+        productNumberSequenceRepository.insertIfAbsent(SEQUENCE_NAME, productRepository.findMaxProductNumberValue() + 1);
+        return productNumberSequenceRepository.findForUpdateBySequenceName(SEQUENCE_NAME)
+                .orElseThrow(() -> new IllegalStateException("상품번호 시퀀스를 만들지 못했습니다."));
+    }
+}
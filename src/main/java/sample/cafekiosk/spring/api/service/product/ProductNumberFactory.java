@@ -1,26 +1,90 @@
 package sample.cafekiosk.spring.api.service.product;
 
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
-import sample.cafekiosk.spring.domain.product.ProductRepository;
 
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 상품번호 발급
+ * - DB 시퀀스(product_number_sequence)에서 block-size 만큼의 범위를 한 번에 가져오고, 그 범위 안에서는 AtomicLong 으로 발급한다.
+ *   ( 범위를 다 쓴 경우에만 DB 를 거치므로, 동시에 등록해도 번호가 겹치지 않고 대부분의 발급은 락 없이 끝난다. )
+ * - 최소 min-width 자리로 0 을 채운다. ( 9 -> 009, 1000 -> 1000 )
+ *
+ * 참고) 서버가 재시작되면 가져갔지만 쓰지 않은 범위의 번호는 건너뛴다. ( 번호가 연속적이지 않을 수 있다. )
+ * 참고) 범위를 가져올 때는 상품 등록 트랜잭션과 별도의 커넥션을 사용하므로, 커넥션 풀에 여유가 있어야 한다.
+ */
 @Component
-@RequiredArgsConstructor
 public class ProductNumberFactory {
 
-    private final ProductRepository productRepository;
+    private static final ProductNumberBlock EMPTY_BLOCK = new ProductNumberBlock(0, 0);
+
+    private final ProductNumberBlockLeaser productNumberBlockLeaser;
+    private final int blockSize;
+    private final String productNumberFormat;
+
+    private final ReentrantLock leaseLock = new ReentrantLock(); // synchronized 는 DB 를 기다리는 동안 가상 스레드를 캐리어 스레드에 고정(pinning)시킨다.
+    private volatile ProductNumberBlock currentBlock = EMPTY_BLOCK;
+
+    public ProductNumberFactory(ProductNumberBlockLeaser productNumberBlockLeaser,
+                                @Value("${cafekiosk.product.number.block-size:100}") int blockSize,
+                                @Value("${cafekiosk.product.number.min-width:3}") int minWidth) {
+        this.productNumberBlockLeaser = productNumberBlockLeaser;
+        this.blockSize = blockSize;
+        this.productNumberFormat = "%0" + minWidth + "d";
+    }
 
-    // productNumber 부여 ( DB 에서 마지막 저장된 Product 의 상품 번호를 읽어와서 +1 )
     public String createNextProductNumber() {
-        String latestProductNumber = productRepository.findLatestProductNumber();
-        if (latestProductNumber == null) {
-            return "001";
+        while (true) {
+            ProductNumberBlock block = currentBlock;
+            long value = block.next();
+            if (value >= 0) {
+                return String.format(productNumberFormat, value);
+            }
+            leaseNextBlock(block);
+        }
+    }
+
+    private void leaseNextBlock(ProductNumberBlock exhaustedBlock) {
+        leaseLock.lock();
+        try {
+            if (currentBlock != exhaustedBlock) { // 다른 스레드가 이미 새 범위를 가져왔다.
+                return;
+            }
+
+            long startValue;
+            try {
+                startValue = productNumberBlockLeaser.leaseBlock(blockSize);
+            } catch (DataIntegrityViolationException e) { // 다른 서버가 동시에 시퀀스 row 를 처음 만들었다.
+                startValue = productNumberBlockLeaser.leaseBlock(blockSize);
+            }
+            currentBlock = new ProductNumberBlock(startValue, startValue + blockSize);
+        } finally {
+            leaseLock.unlock();
         }
+    }
+
+    /**
+     * [next, end) 범위의 상품번호
+     */
+    private static class ProductNumberBlock {
 
-        int latestProductNumberInt = Integer.parseInt(latestProductNumber);
-        int nextProductNumberInt = latestProductNumberInt + 1;
+        private final AtomicLong next;
+        private final long end;
 
-        // 9 -> 009 , 10 -> 010
-        return String.format("%03d", nextProductNumberInt);
+        ProductNumberBlock(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+
+        /**
+         * 다음 값을 반환한다. 범위를 다 쓴 경우 -1
+         */
+        long next() {
+            long value = next.getAndIncrement();
+            return value < end ? value : -1;
+        }
     }
 }
@@ -1,11 +1,13 @@
 package sample.cafekiosk.spring.api.service.product;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import sample.cafekiosk.spring.api.service.product.request.ProductCreateServiceRequest;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
 import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductChangedEvent;
 import sample.cafekiosk.spring.domain.product.ProductRepository;
 import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
 
@@ -32,6 +34,8 @@ public class ProductService {
 
     private final ProductRepository productRepository;
     private final ProductNumberFactory productNumberFactory;
+    private final ProductCatalogCache productCatalogCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ProductResponse createProduct(ProductCreateServiceRequest request) {
@@ -39,12 +43,25 @@ public class ProductService {
 
         Product product = request.toEntity(nextProductNumber);
         Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(savedProduct.getProductNumber())); // 상품 카탈로그 캐시 무효화
 
         return ProductResponse.of(savedProduct);
     }
 
+    @Transactional
+    public ProductResponse changeSellingStatus(String productNumber, ProductSellingStatus sellingStatus) {
+        Product product = productRepository.findByProductNumber(productNumber)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 상품입니다."));
+
+        product.changeSellingStatus(sellingStatus);
+        eventPublisher.publishEvent(new ProductChangedEvent(productNumber));
+
+        return ProductResponse.of(product);
+    }
+
+    // 키오스크 메뉴 조회 - DB 가 아닌 상품 카탈로그 캐시에서 조회한다.
     public List<ProductResponse> getSellingProducts() {
-        List<Product> products = productRepository.findAllBySellingStatusIn(ProductSellingStatus.forDisplay());
+        List<Product> products = productCatalogCache.getProductsBySellingStatuses(ProductSellingStatus.forDisplay());
 
         return products.stream()
                 .map(product -> ProductResponse.of(product))
@@ -0,0 +1,84 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+import sample.cafekiosk.spring.api.ApiResponse;
+import sample.cafekiosk.spring.api.service.product.response.SellingMenuSnapshot;
+import sample.cafekiosk.spring.domain.product.ProductChangedEvent;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 판매 상품 목록 응답을 미리 직렬화해두고, 상품이 바뀔 때만 다시 만든다.
+ * - 수많은 키오스크가 같은 메뉴를 폴링하므로, 요청마다 ApiResponse 를 JSON 으로 직렬화하지 않고 만들어둔 byte[] 를 그대로 내려준다.
+ * - 상품 카탈로그 캐시와 같은 주기(expire-after-write)로 만료시켜서, DB 를 직접 변경한 경우에도 결국에는 반영되도록 한다.
+ */
+@Service
+public class SellingMenuSnapshotService {
+
+    private final ProductService productService;
+    private final ObjectMapper objectMapper;
+    private final Duration timeToLive;
+
+    private final AtomicLong version = new AtomicLong(); // 상품이 바뀔 때마다 증가
+    private final ReentrantLock rebuildLock = new ReentrantLock(); // 잠근 채로 상품을 조회하므로 synchronized 대신 사용 ( 가상 스레드 모드 )
+    private volatile SellingMenuSnapshot snapshot;
+
+    public SellingMenuSnapshotService(ProductService productService, ObjectMapper objectMapper,
+                                      @Value("${cafekiosk.product.catalog-cache.expire-after-write:10m}") Duration timeToLive) {
+        this.productService = productService;
+        this.objectMapper = objectMapper;
+        this.timeToLive = timeToLive;
+    }
+
+    public SellingMenuSnapshot getSnapshot() {
+        SellingMenuSnapshot current = snapshot;
+        if (current != null && !current.isExpired(Instant.now())) {
+            return current;
+        }
+
+        rebuildLock.lock();
+        try {
+            current = snapshot;
+            if (current != null && !current.isExpired(Instant.now())) {
+                return current;
+            }
+
+            long versionBeforeBuild = version.get();
+            SellingMenuSnapshot rebuilt = build();
+            if (version.get() == versionBeforeBuild) { // 만드는 도중에 상품이 바뀌었다면 캐싱하지 않는다.
+                snapshot = rebuilt;
+            }
+            return rebuilt;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        invalidate();
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+        snapshot = null;
+    }
+
+    private SellingMenuSnapshot build() {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(ApiResponse.ok(productService.getSellingProducts()));
+            String eTag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+            return new SellingMenuSnapshot(body, eTag, Instant.now().plus(timeToLive));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("판매 상품 목록을 직렬화할 수 없습니다.", e);
+        }
+    }
+}
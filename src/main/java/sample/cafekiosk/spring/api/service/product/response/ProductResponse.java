@@ -1,12 +1,15 @@
 package sample.cafekiosk.spring.api.service.product.response;
 
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import sample.cafekiosk.spring.domain.product.Product;
 import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
 import sample.cafekiosk.spring.domain.product.ProductType;
 
 @Getter
+@NoArgsConstructor(access = AccessLevel.PRIVATE) // Jackson 역직렬화용 ( 저장된 OrderResponse 에 포함됨 )
 public class ProductResponse {
     private Long id;
     private String productNumber;
@@ -0,0 +1,44 @@
+package sample.cafekiosk.spring.api.service.product.response;
+
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * JSON 으로 직렬화해둔 판매 상품 목록 ( GET /api/v1/products/selling 응답 본문 )
+ * - eTag : 본문(byte)의 해시값. 메뉴가 바뀌지 않았으면 다시 만들어도 같은 값이다.
+ */
+@Getter
+public class SellingMenuSnapshot {
+
+    private final byte[] body;
+    private final String eTag;
+    private final Instant expiresAt;
+
+    public SellingMenuSnapshot(byte[] body, String eTag, Instant expiresAt) {
+        this.body = body;
+        this.eTag = eTag;
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+
+    /**
+     * If-None-Match 헤더 값에 현재 eTag 가 포함되어 있는지 확인한다. ( 여러 개가 콤마로 올 수 있다. )
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || trimmed.equals(eTag) || trimmed.equals("W/" + eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
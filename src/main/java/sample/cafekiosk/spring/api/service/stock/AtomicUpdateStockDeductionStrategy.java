@@ -0,0 +1,46 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 조건부 UPDATE 한 번으로 재고를 차감한다.
+ * - update stock set quantity = quantity - ? where product_number = ? and quantity >= ?
+ * - 조회 후 차감(read-modify-write)을 하지 않으므로 lost update 가 생기지 않고, 차감된 row 가 0 건이면 재고 부족으로 판단한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AtomicUpdateStockDeductionStrategy implements StockDeductionStrategy {
+
+    private final StockRepository stockRepository;
+    private final StockRestoreBatchUpdater stockRestoreBatchUpdater;
+
+    @Override
+    public StockDeductionType getType() {
+        return StockDeductionType.ATOMIC_UPDATE;
+    }
+
+    @Override
+    public void deduct(Map<String, Integer> deductionQuantities) {
+        for (Map.Entry<String, Integer> entry : deductionQuantities.entrySet()) {
+            int updatedCount = stockRepository.deductQuantity(entry.getKey(), entry.getValue());
+            if (updatedCount == 0) {
+                throw new IllegalArgumentException("재고가 부족한 상품이 있습니다.");
+            }
+        }
+    }
+
+    @Override
+    public void restore(Map<String, Integer> restoreQuantities) {
+        stockRestoreBatchUpdater.restore(restoreQuantities);
+    }
+
+    @Override
+    public Map<String, Integer> findAvailableQuantities(List<String> productNumbers) {
+        return stockRepository.findQuantityMapForUpdate(productNumbers);
+    }
+}
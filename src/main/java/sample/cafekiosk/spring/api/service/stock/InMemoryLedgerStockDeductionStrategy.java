@@ -0,0 +1,101 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 메모리 재고 원장(StockLedger)에서 차감하고, DB 반영은 원장의 주기적인 flush 에 맡긴다.
+ * - 한 번 원장에 올라간 상품은 주문할 때 stock 테이블을 읽거나 쓰지 않는다.
+ * - 주문 트랜잭션이 커밋되면 차감을 확정하고, 롤백되면 예약한 수량을 원장에 되돌린다.
+ * - 원장은 서버(프로세스)마다 따로 있으므로, 서버 한 대로 운영한다고 설정한 경우(cafekiosk.stock.ledger.single-instance)에만 사용할 수 있다.
+ *   설정하지 않고 이 전략을 기본 전략으로 지정하면 기동할 때 실패한다.
+ */
+@Component
+public class InMemoryLedgerStockDeductionStrategy implements StockDeductionStrategy {
+
+    private final StockLedger stockLedger;
+    private final boolean singleInstance;
+
+    public InMemoryLedgerStockDeductionStrategy(StockLedger stockLedger,
+                                                @Value("${cafekiosk.stock.deduction-strategy:ATOMIC_UPDATE}") StockDeductionType defaultType,
+                                                @Value("${cafekiosk.stock.ledger.single-instance:false}") boolean singleInstance) {
+        this.stockLedger = stockLedger;
+        this.singleInstance = singleInstance;
+        if (defaultType == StockDeductionType.IN_MEMORY_LEDGER) {
+            validateSingleInstance();
+        }
+    }
+
+    @Override
+    public StockDeductionType getType() {
+        return StockDeductionType.IN_MEMORY_LEDGER;
+    }
+
+    @Override
+    public void deduct(Map<String, Integer> deductionQuantities) {
+        validateSingleInstance();
+        stockLedger.load(deductionQuantities.keySet());
+
+        Map<String, Integer> reservedQuantities = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> entry : deductionQuantities.entrySet()) {
+            if (!stockLedger.tryReserve(entry.getKey(), entry.getValue())) {
+                stockLedger.release(reservedQuantities);
+                throw new IllegalArgumentException("재고가 부족한 상품이 있습니다.");
+            }
+            reservedQuantities.put(entry.getKey(), entry.getValue());
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            stockLedger.confirm(reservedQuantities);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    stockLedger.confirm(reservedQuantities);
+                    return;
+                }
+                stockLedger.release(reservedQuantities);
+            }
+        });
+    }
+
+    /**
+     * 취소가 커밋된 뒤에 원장에 되돌린다. ( DB 에는 다음 flush 때 반영 )
+     */
+    @Override
+    public void restore(Map<String, Integer> restoreQuantities) {
+        validateSingleInstance();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            stockLedger.restock(restoreQuantities);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                stockLedger.restock(restoreQuantities);
+            }
+        });
+    }
+
+    @Override
+    public Map<String, Integer> findAvailableQuantities(List<String> productNumbers) {
+        stockLedger.load(productNumbers);
+        return stockLedger.getAvailableQuantities(productNumbers);
+    }
+
+    private void validateSingleInstance() {
+        if (!singleInstance) {
+            throw new IllegalStateException("IN_MEMORY_LEDGER 재고 차감은 서버 한 대로 운영할 때만 사용할 수 있습니다. ( cafekiosk.stock.ledger.single-instance )");
+        }
+    }
+}
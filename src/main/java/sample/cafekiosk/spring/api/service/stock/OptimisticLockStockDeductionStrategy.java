@@ -0,0 +1,92 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Stock 의 @Version 을 조건으로 차감하고, 다른 트랜잭션이 먼저 차감해서 버전이 바뀌었으면 다시 읽어서 재시도한다.
+ * - 버전 충돌을 OptimisticLockException 으로 받으면 트랜잭션 전체가 rollback-only 가 되기 때문에,
+ *   "update ... where id = ? and version = ?" 의 결과 건수로 충돌을 판단해서 같은 트랜잭션 안에서 재시도한다.
+ * - 충돌하면 락 없이 다시 읽고(refresh) 재시도한다. 재시도는 max-attempts 번까지만 하고, 넘으면 예외를 던진다.
+ *
+ * 참고) 주문 트랜잭션이 READ COMMITTED 여야 한다. ( H2 / PostgreSQL 의 기본값 )
+ *   REPEATABLE READ(MySQL InnoDB 의 기본값)에서는 다시 읽어도 트랜잭션 시작 시점의 스냅샷(같은 버전)을 읽으므로, 재시도가 모두 실패한다.
+ *   이때는 커넥션의 격리 수준을 READ COMMITTED 로 바꾸거나, 다른 차감 전략(ATOMIC_UPDATE / PESSIMISTIC_LOCK)을 사용한다.
+ * 참고) version 이 null 인 재고(JPA 밖에서 넣은 row)는 "version = ?" 조건에 걸리지 않으므로, stock.version 은 not null default 0 으로 둔다. ( V4 )
+ */
+@Component
+public class OptimisticLockStockDeductionStrategy implements StockDeductionStrategy {
+
+    private final StockRepository stockRepository;
+    private final EntityManager entityManager;
+    private final StockRestoreBatchUpdater stockRestoreBatchUpdater;
+    private final int maxAttempts;
+
+    public OptimisticLockStockDeductionStrategy(StockRepository stockRepository,
+                                                EntityManager entityManager,
+                                                StockRestoreBatchUpdater stockRestoreBatchUpdater,
+                                                @Value("${cafekiosk.stock.optimistic-lock.max-attempts:30}") int maxAttempts) {
+        this.stockRepository = stockRepository;
+        this.entityManager = entityManager;
+        this.stockRestoreBatchUpdater = stockRestoreBatchUpdater;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Override
+    public StockDeductionType getType() {
+        return StockDeductionType.OPTIMISTIC_LOCK;
+    }
+
+    @Override
+    public void deduct(Map<String, Integer> deductionQuantities) {
+        Map<String, Stock> stockMap = stockRepository.findAllByProductNumberIn(new ArrayList<>(deductionQuantities.keySet()))
+                .stream()
+                .collect(Collectors.toMap(Stock::getProductNumber, Function.identity()));
+
+        for (Map.Entry<String, Integer> entry : deductionQuantities.entrySet()) {
+            Stock stock = stockMap.get(entry.getKey());
+            if (stock == null) {
+                throw new IllegalArgumentException("재고가 부족한 상품이 있습니다.");
+            }
+            deductWithRetry(stock, entry.getValue());
+        }
+    }
+
+    private void deductWithRetry(Stock stock, int quantity) {
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            if (stock.isQuantityLessThan(quantity)) {
+                throw new IllegalArgumentException("재고가 부족한 상품이 있습니다.");
+            }
+
+            int updatedCount = stockRepository.updateQuantityIfVersionMatches(
+                    stock.getId(), stock.getQuantity() - quantity, stock.getVersion());
+            if (updatedCount == 1) {
+                return;
+            }
+
+            // 다른 트랜잭션이 먼저 차감했다. -> 최신 수량/버전을 다시 읽어서 재시도
+            entityManager.refresh(stock);
+        }
+
+        throw new IllegalStateException("재고 차감 충돌이 반복되어 주문을 처리할 수 없습니다.");
+    }
+
+    @Override
+    public void restore(Map<String, Integer> restoreQuantities) {
+        stockRestoreBatchUpdater.restore(restoreQuantities); // version 을 올리므로, 복원 전에 읽어간 차감 트랜잭션은 충돌로 보고 다시 읽는다.
+    }
+
+    @Override
+    public Map<String, Integer> findAvailableQuantities(List<String> productNumbers) {
+        return stockRepository.findQuantityMapForUpdate(productNumbers);
+    }
+}
@@ -0,0 +1,56 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * select ... for update 로 재고 row 에 락을 건 뒤, 변경감지로 차감한다.
+ * - 같은 상품을 사려는 다른 트랜잭션은 커밋/롤백될 때 까지 대기한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PessimisticLockStockDeductionStrategy implements StockDeductionStrategy {
+
+    private final StockRepository stockRepository;
+    private final StockRestoreBatchUpdater stockRestoreBatchUpdater;
+
+    @Override
+    public StockDeductionType getType() {
+        return StockDeductionType.PESSIMISTIC_LOCK;
+    }
+
+    @Override
+    public void deduct(Map<String, Integer> deductionQuantities) {
+        Map<String, Stock> stockMap = stockRepository.findAllForUpdateByProductNumberIn(new ArrayList<>(deductionQuantities.keySet()))
+                .stream()
+                .collect(Collectors.toMap(Stock::getProductNumber, Function.identity()));
+
+        for (Map.Entry<String, Integer> entry : deductionQuantities.entrySet()) {
+            Stock stock = stockMap.get(entry.getKey());
+            int quantity = entry.getValue();
+
+            if (stock == null || stock.isQuantityLessThan(quantity)) {
+                throw new IllegalArgumentException("재고가 부족한 상품이 있습니다.");
+            }
+            stock.deductQuantity(quantity);
+        }
+    }
+
+    @Override
+    public void restore(Map<String, Integer> restoreQuantities) {
+        stockRestoreBatchUpdater.restore(restoreQuantities);
+    }
+
+    @Override
+    public Map<String, Integer> findAvailableQuantities(List<String> productNumbers) {
+        return stockRepository.findQuantityMapForUpdate(productNumbers);
+    }
+}
@@ -0,0 +1,28 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 재고 차감 전략
+ * - deductionQuantities : 상품번호별 차감 수량 ( 상품번호 순으로 정렬된 Map 을 넘겨서, 여러 상품의 row lock 을 항상 같은 순서로 잡도록 한다. -> 데드락 방지 )
+ * - 재고가 부족하면 IllegalArgumentException 을 던지고, 호출한 쪽의 트랜잭션이 롤백되면서 앞서 차감한 재고도 함께 원복된다.
+ */
+public interface StockDeductionStrategy {
+
+    StockDeductionType getType();
+
+    void deduct(Map<String, Integer> deductionQuantities);
+
+    /**
+     * 취소된 주문에서 차감했던 수량을 되돌린다. ( 재고 정보가 없는 상품은 무시한다. )
+     * - 호출한 쪽의 트랜잭션이 롤백되면 복원도 함께 취소된다.
+     */
+    void restore(Map<String, Integer> restoreQuantities);
+
+    /**
+     * 상품번호별로 지금 주문할 수 있는 재고 수량을 조회한다. ( 재고 정보가 없는 상품은 포함되지 않는다. )
+     * - 같은 트랜잭션 안에서 조회한 수량 이내로 deduct 하면 성공하도록, DB 를 사용하는 전략은 재고 row 에 락을 건다.
+     */
+    Map<String, Integer> findAvailableQuantities(List<String> productNumbers);
+}
@@ -0,0 +1,15 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum StockDeductionType {
+    ATOMIC_UPDATE("조건부 UPDATE"),
+    PESSIMISTIC_LOCK("비관적 락"),
+    OPTIMISTIC_LOCK("낙관적 락 + 재시도"),
+    IN_MEMORY_LEDGER("메모리 재고 원장 + DB 지연 반영");
+
+    private final String text;
+}
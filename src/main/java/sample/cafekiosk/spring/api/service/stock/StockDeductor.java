@@ -0,0 +1,86 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 설정된 전략(cafekiosk.stock.deduction-strategy)으로 재고를 차감한다.
+ * - 차감 시간은 cafekiosk.stock.deduct, 재고 부족으로 거절된 주문 수는 cafekiosk.stock.insufficient 메트릭으로 남긴다.
+ */
+@Transactional
+@Component
+public class StockDeductor {
+
+    private final Map<StockDeductionType, StockDeductionStrategy> strategies = new EnumMap<>(StockDeductionType.class);
+    private final StockDeductionType defaultType;
+    private final MeterRegistry meterRegistry;
+
+    public StockDeductor(List<StockDeductionStrategy> strategies,
+                         @Value("${cafekiosk.stock.deduction-strategy:ATOMIC_UPDATE}") StockDeductionType defaultType,
+                         MeterRegistry meterRegistry) {
+        strategies.forEach(strategy -> this.strategies.put(strategy.getType(), strategy));
+        this.defaultType = defaultType;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Timed(value = "cafekiosk.stock.deduct", description = "재고 차감 시간", histogram = true) // 내부 호출(this.deduct)은 AOP 를 거치지 않으므로 양쪽에 둔다.
+    public void deduct(Map<String, Integer> deductionQuantities) {
+        deduct(defaultType, deductionQuantities);
+    }
+
+    @Timed(value = "cafekiosk.stock.deduct", description = "재고 차감 시간", histogram = true)
+    public void deduct(StockDeductionType type, Map<String, Integer> deductionQuantities) {
+        if (deductionQuantities.isEmpty()) {
+            return;
+        }
+        try {
+            strategies.get(type).deduct(deductionQuantities);
+        } catch (IllegalArgumentException e) { // 재고 부족
+            insufficientStockCounter(type, "single").increment();
+            throw e;
+        }
+    }
+
+    /**
+     * 일괄 주문에서 남은 재고가 모자라 실패로 응답한 주문 수를 센다. ( 일괄 주문은 차감 전에 미리 걸러내므로 deduct 에서 예외가 나지 않는다. )
+     */
+    public void countInsufficientStockRejections(int rejectedOrderCount) {
+        if (rejectedOrderCount > 0) {
+            insufficientStockCounter(defaultType, "batch").increment(rejectedOrderCount);
+        }
+    }
+
+    public void restore(Map<String, Integer> restoreQuantities) {
+        restore(defaultType, restoreQuantities);
+    }
+
+    public void restore(StockDeductionType type, Map<String, Integer> restoreQuantities) {
+        if (restoreQuantities.isEmpty()) {
+            return;
+        }
+        strategies.get(type).restore(restoreQuantities);
+    }
+
+    public Map<String, Integer> findAvailableQuantities(List<String> productNumbers) {
+        if (productNumbers.isEmpty()) {
+            return Map.of();
+        }
+        return strategies.get(defaultType).findAvailableQuantities(productNumbers);
+    }
+
+    private Counter insufficientStockCounter(StockDeductionType type, String orderType) {
+        return Counter.builder("cafekiosk.stock.insufficient")
+                .description("재고 부족으로 거절된 주문 수")
+                .tag("strategy", type.name())
+                .tag("order.type", orderType)
+                .register(meterRegistry);
+    }
+}
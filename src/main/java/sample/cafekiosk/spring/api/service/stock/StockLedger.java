@@ -0,0 +1,159 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 상품번호별 재고를 메모리에서 관리하는 재고 원장 ( IN_MEMORY_LEDGER 전략에서 사용 )
+ * - 상품번호마다 AtomicInteger 하나를 두고 CAS 로 차감한다. ( 상품별로 경합이 분리되고, 락을 잡지 않는다. )
+ * - 확정된 차감량은 상품별로 누적해두었다가, 주기적으로 한 번의 배치 UPDATE 로 stock 테이블에 반영한다. ( write-behind )
+ * - 원장에 없는 상품은 처음 사용할 때 DB 에서 읽어온다. 따라서 재시작하면 마지막으로 반영된 DB 값으로 다시 만들어진다.
+ *
+ * 참고) 원장이 DB 보다 앞서 있으므로, 반영 주기 사이에 서버가 비정상 종료되면 그 사이의 차감분은 DB 에 남지 않는다. (정상 종료 시에는 반영 후 종료)
+ * 참고) 원장에 올라간 이후 DB 의 재고를 직접 변경한 경우(입고 등)에는 원장에 반영되지 않는다.
+ * 참고) 원장은 서버(프로세스)마다 따로 있다. 서버 여러 대가 각자 DB 에서 읽은 같은 재고를 차감하므로, 여러 대로 운영하면 재고보다 많이 팔린다.
+ *   그래서 cafekiosk.stock.ledger.single-instance 를 켠 경우에만 IN_MEMORY_LEDGER 전략을 사용할 수 있다. ( 여러 대로 운영하면 DB 에서 차감하는 전략을 사용한다. )
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockLedger {
+
+    private static final String FLUSH_SQL =
+            "update stock set quantity = quantity - ?, version = version + 1 where product_number = ?";
+
+    private final StockRepository stockRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<String, AtomicInteger> availableQuantities = new ConcurrentHashMap<>(); // 주문 가능한 수량
+    private final Map<String, AtomicInteger> pendingDeductions = new ConcurrentHashMap<>(); // 확정되었지만 아직 DB 에 반영되지 않은 차감량
+
+    /**
+     * 원장에 없는 상품의 재고를 DB 에서 읽어온다.
+     */
+    public void load(Collection<String> productNumbers) {
+        List<String> missingProductNumbers = productNumbers.stream()
+                .filter(productNumber -> !availableQuantities.containsKey(productNumber))
+                .toList();
+        if (missingProductNumbers.isEmpty()) {
+            return;
+        }
+
+        for (Stock stock : stockRepository.findAllByProductNumberIn(missingProductNumbers)) {
+            availableQuantities.putIfAbsent(stock.getProductNumber(), new AtomicInteger(stock.getQuantity()));
+        }
+    }
+
+    /**
+     * 재고가 충분하면 차감(예약)하고 true 를 반환한다.
+     */
+    public boolean tryReserve(String productNumber, int quantity) {
+        AtomicInteger available = availableQuantities.get(productNumber);
+        if (available == null) {
+            return false;
+        }
+
+        while (true) {
+            int current = available.get();
+            if (current < quantity) {
+                return false;
+            }
+            if (available.compareAndSet(current, current - quantity)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 예약한 수량을 되돌린다. ( 주문 트랜잭션이 롤백된 경우 )
+     */
+    public void release(Map<String, Integer> quantities) {
+        quantities.forEach((productNumber, quantity) -> availableQuantities.get(productNumber).addAndGet(quantity));
+    }
+
+    /**
+     * 예약한 수량을 확정한다. ( 주문 트랜잭션이 커밋된 경우 -> 다음 flush 때 DB 에 반영 )
+     */
+    public void confirm(Map<String, Integer> quantities) {
+        quantities.forEach((productNumber, quantity) ->
+                pendingDeductions.computeIfAbsent(productNumber, key -> new AtomicInteger()).addAndGet(quantity));
+    }
+
+    /**
+     * 취소된 주문의 수량을 되돌린다. ( 다음 flush 때 DB 에도 더해진다. 재고 정보가 없는 상품은 무시한다. )
+     */
+    public void restock(Map<String, Integer> quantities) {
+        load(quantities.keySet());
+        quantities.forEach((productNumber, quantity) -> {
+            AtomicInteger available = availableQuantities.get(productNumber);
+            if (available == null) {
+                return;
+            }
+            available.addAndGet(quantity);
+            pendingDeductions.computeIfAbsent(productNumber, key -> new AtomicInteger()).addAndGet(-quantity); // 음수 차감량 = 복원
+        });
+    }
+
+    public int getAvailableQuantity(String productNumber) {
+        AtomicInteger available = availableQuantities.get(productNumber);
+        return available == null ? 0 : available.get();
+    }
+
+    public Map<String, Integer> getAvailableQuantities(Collection<String> productNumbers) {
+        Map<String, Integer> quantities = new HashMap<>();
+        for (String productNumber : productNumbers) {
+            AtomicInteger available = availableQuantities.get(productNumber);
+            if (available != null) {
+                quantities.put(productNumber, available.get());
+            }
+        }
+        return quantities;
+    }
+
+    /**
+     * 상품별로 누적된 차감량을 한 번의 배치 UPDATE 로 stock 테이블에 반영한다.
+     */
+    @Scheduled(fixedDelayString = "${cafekiosk.stock.ledger.flush-interval-millis:1000}")
+    public void flush() {
+        List<Object[]> batchArgs = new ArrayList<>();
+        pendingDeductions.forEach((productNumber, pending) -> {
+            int deduction = pending.getAndSet(0);
+            if (deduction != 0) {
+                batchArgs.add(new Object[]{deduction, productNumber});
+            }
+        });
+        if (batchArgs.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, batchArgs));
+        } catch (DataAccessException e) {
+            // 반영에 실패한 차감량은 다시 쌓아두고 다음 flush 때 반영한다.
+            batchArgs.forEach(args -> pendingDeductions.get((String) args[1]).addAndGet((Integer) args[0]));
+            log.warn("재고 원장 DB 반영 실패", e);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,36 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 취소된 주문의 재고를 되돌린다. ( DB 를 사용하는 재고 차감 전략에서 사용 )
+ * - 상품번호별로 합산한 복원 수량을 한 번의 JDBC 배치 UPDATE 로 더한다. ( 취소 주문 수와 관계없이 상품마다 한 번 )
+ * - quantity = quantity + ? 로 DB 에서 더하므로, 같은 재고 row 를 차감하는 주문과 동시에 실행되어도 row lock 을 기다렸다가 최신 값에 더해진다. ( lost update 없음 )
+ * - 상품번호 순으로 반영해서 재고 차감과 같은 순서로 row lock 을 잡는다. 낙관적 락 전략이 충돌을 감지하도록 version 도 올린다.
+ */
+@Component
+@RequiredArgsConstructor
+public class StockRestoreBatchUpdater {
+
+    private static final String RESTORE_SQL =
+            "update stock set quantity = quantity + ?, version = version + 1 where product_number = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void restore(Map<String, Integer> restoreQuantities) {
+        List<Object[]> batchArgs = new TreeMap<>(restoreQuantities).entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .map(entry -> new Object[]{entry.getValue(), entry.getKey()})
+                .toList();
+        if (batchArgs.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(RESTORE_SQL, batchArgs);
+    }
+}
@@ -5,23 +5,32 @@ import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.AfterDomainEventPublication;
+import org.springframework.data.domain.DomainEvents;
 import sample.cafekiosk.spring.domain.BaseEntity;
 import sample.cafekiosk.spring.domain.orderproduct.OrderProduct;
 import sample.cafekiosk.spring.domain.product.Product;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Getter
 @Entity
-@Table(name = "orders") // 참고) 테이블 명으로 order 는 불가능하다. ( order 는 sql 문에서 예약어이다. )
+@Table(name = "orders", indexes = { // 참고) 테이블 명으로 order 는 불가능하다. ( order 는 sql 문에서 예약어이다. )
+        // 상태 + 기간 조회(findOrdersBy, sumTotalPriceBy): 상태(=)를 앞에, 기간(범위)을 뒤에 둔다. total_price 까지 포함해서 합계는 인덱스만 읽는다.
+        @Index(name = "idx_orders_status_registered_date_time", columnList = "order_status, registered_date_time, total_price"),
+        // 기간 내 상태별 집계(findSalesByStatus, findHourlySales): 기간만으로 찾고, 상태 / 금액은 인덱스에서 읽는다.
+        @Index(name = "idx_orders_registered_date_time", columnList = "registered_date_time, order_status, total_price")
+})
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Order extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq_generator")
+    @SequenceGenerator(name = "orders_seq_generator", sequenceName = "orders_seq", allocationSize = 50) // 참고) IDENTITY 는 insert 를 해야 id 를 알 수 있어서, 한 건씩 바로 insert 되고 JDBC 배치가 꺼진다.
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -34,6 +43,10 @@ public class Order extends BaseEntity {
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL) // CascadeType.ALL : OrderProduct 라는 애는 Order 가 생성되거나 삭제되거나 변경되거나 할 때 항상 같이 작업이 일어나도록 설정
     private List<OrderProduct> orderProducts = new ArrayList<>();
 
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private List<Object> domainEvents = new ArrayList<>(); // OrderRepository.save 시점에 발행할 이벤트 ( 매출 집계 등 )
+
     @Builder
     public Order(List<Product> products, OrderStatus orderStatus, LocalDateTime registeredDateTime) {
         this.orderStatus = orderStatus;
@@ -42,6 +55,7 @@ public class Order extends BaseEntity {
         this.orderProducts = products.stream()
                 .map(product -> new OrderProduct(this, product))
                 .collect(Collectors.toList());
+        this.domainEvents.add(new OrderCreatedEvent(null, registeredDateTime, orderStatus, totalPrice, extractProductNumbers(products)));
     }
 
     public static Order create(List<Product> products, LocalDateTime registeredDateTime) {
@@ -52,6 +66,56 @@ public class Order extends BaseEntity {
                 .build();
     }
 
+    /**
+     * 주문 상태를 바꾼다. ( 바꿀 수 있는 상태는 OrderStatus 에 정의되어 있다. 같은 상태로 바꾸면 아무것도 하지 않는다. )
+     * - 상태 변경 이벤트(OrderStatusChangedEvent)는 등록만 하고, OrderRepository.save(order) 를 호출할 때 발행된다.
+     *   변경 감지로 UPDATE 만 되고 save 를 호출하지 않으면 매출 집계 / 주방 대기열 / outbox 에 반영되지 않는다.
+     * - 이벤트에 넣을 상품번호를 주문 상품의 상품에서 읽으므로, 주문 상품과 상품을 fetch join 으로 함께 불러온 주문에 사용한다. ( 아니면 주문 상품마다 상품을 조회한다. )
+     * - 여러 주문을 한 번에 바꿀 때는 엔티티를 불러오지 않는 OrderStatusService.changeOrderStatuses 를 사용한다.
+     */
+    public void changeOrderStatus(OrderStatus orderStatus) {
+        if (this.orderStatus == orderStatus) {
+            return;
+        }
+        if (!this.orderStatus.canChangeTo(orderStatus)) {
+            throw new IllegalStateException(String.format("%s 주문은 %s 상태로 바꿀 수 없습니다.", this.orderStatus.getText(), orderStatus.getText()));
+        }
+
+        OrderStatus beforeStatus = this.orderStatus;
+        this.orderStatus = orderStatus;
+        this.domainEvents.add(new OrderStatusChangedEvent(id, registeredDateTime, beforeStatus, orderStatus, totalPrice,
+                extractProductNumbers(orderProducts.stream().map(OrderProduct::getProduct).toList())));
+    }
+
+    @DomainEvents
+    Collection<Object> domainEvents() {
+        return domainEvents.stream()
+                .map(this::withOrderId)
+                .toList();
+    }
+
+    // 저장하기 전에는 id 가 없으므로, save 이후(발행 시점)에 채운다. ( 저장하기 전에 바꾼 상태도 생성 / 상태 변경 이벤트 순서대로 발행된다. )
+    private Object withOrderId(Object event) {
+        if (event instanceof OrderCreatedEvent created && created.getOrderId() == null) {
+            return created.withOrderId(id);
+        }
+        if (event instanceof OrderStatusChangedEvent changed && changed.getOrderId() == null) {
+            return changed.withOrderId(id);
+        }
+        return event;
+    }
+
+    @AfterDomainEventPublication
+    void clearDomainEvents() {
+        domainEvents.clear();
+    }
+
+    private List<String> extractProductNumbers(List<Product> products) {
+        return products.stream()
+                .map(Product::getProductNumber)
+                .toList();
+    }
+
     private int calculateTotalPrice(List<Product> products) {
         return products.stream().mapToInt(Product::getPrice).sum();
     }
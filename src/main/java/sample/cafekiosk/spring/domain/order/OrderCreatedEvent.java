@@ -0,0 +1,32 @@
+package sample.cafekiosk.spring.domain.order;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 주문이 저장될 때 발행된다. ( Order 가 도메인 이벤트로 등록하고, OrderRepository.save 시점에 발행된다. )
+ * - 주문 id 는 저장할 때 정해지므로, 발행할 때 채운다. ( withOrderId )
+ */
+@Getter
+public class OrderCreatedEvent {
+
+    private final Long orderId;
+    private final LocalDateTime registeredDateTime;
+    private final OrderStatus orderStatus;
+    private final int totalPrice;
+    private final List<String> productNumbers; // 주문 상품 ( 같은 상품을 여러 개 주문하면 그 수만큼 들어있다. )
+
+    public OrderCreatedEvent(Long orderId, LocalDateTime registeredDateTime, OrderStatus orderStatus, int totalPrice, List<String> productNumbers) {
+        this.orderId = orderId;
+        this.registeredDateTime = registeredDateTime;
+        this.orderStatus = orderStatus;
+        this.totalPrice = totalPrice;
+        this.productNumbers = productNumbers;
+    }
+
+    public OrderCreatedEvent withOrderId(Long orderId) {
+        return new OrderCreatedEvent(orderId, registeredDateTime, orderStatus, totalPrice, productNumbers);
+    }
+}
@@ -0,0 +1,71 @@
+package sample.cafekiosk.spring.domain.order;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 주문 이벤트 outbox 의 row ( 주문 생성 / 상태 변경 한 건 )
+ * - 주문과 같은 트랜잭션에서 기록되고(OrderEventOutbox), OrderEventRelay 가 커밋된 row 를 꺼내서 리스너에 그대로 전달한다. ( @EventListener OrderEvent )
+ * - 아직 전달하지 않은 이벤트는 publishedDateTime 이 null 이다. availableDateTime 이 지나야 relay 가 가져간다. ( 전달 중이거나 전달에 실패한 이벤트는 뒤로 미뤄진다. )
+ */
+@Getter
+@Entity
+@Table(name = "order_event", indexes = @Index(name = "idx_order_event_published_date_time", columnList = "published_date_time, id")) // 전달하지 않은 이벤트를 id 순으로 조회
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OrderEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY) // JDBC 배치로만 insert 하므로(OrderEventOutbox), IDENTITY 여도 배치가 꺼지지 않는다.
+    private Long id;
+
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    private OrderEventType eventType;
+
+    @Enumerated(EnumType.STRING)
+    private OrderStatus beforeStatus; // CREATED 이면 null
+
+    @Enumerated(EnumType.STRING)
+    private OrderStatus orderStatus;
+
+    private int totalPrice;
+
+    private LocalDateTime registeredDateTime; // 주문 등록 시간
+
+    @Getter(AccessLevel.NONE)
+    @Column(length = 4000)
+    private String productNumbers; // 주문 상품번호를 쉼표로 이어 붙인 값
+
+    private int attempts; // relay 가 가져간 횟수
+
+    private LocalDateTime availableDateTime;
+
+    private LocalDateTime publishedDateTime;
+
+    private LocalDateTime createdDateTime;
+
+    public List<String> getProductNumbers() {
+        if (productNumbers == null || productNumbers.isEmpty()) {
+            return List.of();
+        }
+        return List.of(productNumbers.split(","));
+    }
+
+    public boolean isPublished() {
+        return publishedDateTime != null;
+    }
+}
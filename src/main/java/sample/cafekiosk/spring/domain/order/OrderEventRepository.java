@@ -0,0 +1,48 @@
+package sample.cafekiosk.spring.domain.order;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OrderEventRepository extends JpaRepository<OrderEvent, Long> {
+
+    /**
+     * 전달할 이벤트를 id 순으로 limit 건 조회하고 row lock 을 잡는다. ( select ... for update skip locked )
+     * - lock timeout -2 ( LockOptions.SKIP_LOCKED ) : 다른 relay 가 잡고 있는 row 는 기다리지 않고 건너뛴다.
+     *   DB(Dialect)가 skip locked 를 지원하지 않으면 for update 로 조회한다. ( 먼저 잡은 relay 가 커밋할 때까지 기다린다. )
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    @Query("select e from OrderEvent e " +
+            "where e.publishedDateTime is null and e.availableDateTime <= :now and e.attempts < :maxAttempts " +
+            "order by e.id")
+    List<OrderEvent> findAllForClaim(LocalDateTime now, int maxAttempts, Limit limit);
+
+    /**
+     * 가져간 이벤트를 availableDateTime 까지 다른 relay 가 가져가지 않도록 미뤄두고, 시도 횟수를 올린다.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update OrderEvent e set e.attempts = e.attempts + 1, e.availableDateTime = :availableDateTime " +
+            "where e.id in :ids")
+    int claim(Collection<Long> ids, LocalDateTime availableDateTime);
+
+    @Modifying
+    @Query("update OrderEvent e set e.publishedDateTime = :publishedDateTime where e.id in :ids")
+    int markPublished(Collection<Long> ids, LocalDateTime publishedDateTime);
+
+    @Modifying
+    @Query("delete from OrderEvent e where e.publishedDateTime < :threshold")
+    int deleteAllPublishedBefore(LocalDateTime threshold);
+
+    long countByPublishedDateTimeIsNull();
+}
@@ -0,0 +1,16 @@
+package sample.cafekiosk.spring.domain.order;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * outbox(order_event)에 기록되는 주문 이벤트 종류 ( 주문취소 / 결제실패 는 STATUS_CHANGED 의 변경 후 상태로 구분한다. )
+ */
+@Getter
+@RequiredArgsConstructor
+public enum OrderEventType {
+    CREATED("주문생성"),
+    STATUS_CHANGED("주문상태변경");
+
+    private final String text;
+}
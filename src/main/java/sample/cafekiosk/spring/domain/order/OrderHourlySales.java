@@ -0,0 +1,19 @@
+package sample.cafekiosk.spring.domain.order;
+
+import java.time.LocalDate;
+
+/**
+ * 일자 / 시간 / 주문 상태별 주문 수와 매출 합계 ( OrderRepository.findHourlySales 조회 결과 )
+ */
+public interface OrderHourlySales {
+
+    LocalDate getSalesDate();
+
+    Integer getSalesHour();
+
+    OrderStatus getOrderStatus();
+
+    Long getOrderCount();
+
+    Long getTotalPrice();
+}
@@ -0,0 +1,47 @@
+package sample.cafekiosk.spring.domain.order;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency-Key 로 처리한 주문 요청의 응답 기록 ( 서버 재시작, 여러 서버 간에도 같은 키의 재시도를 알아보기 위해 저장한다. )
+ */
+@Getter
+@Entity
+@Table(name = "order_idempotency_record", indexes = @Index(name = "idx_order_idempotency_record_registered_date_time", columnList = "registered_date_time")) // 만료 기록 삭제
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OrderIdempotencyRecord {
+
+    @Id
+    private String idempotencyKey;
+
+    private String requestFingerprint; // 같은 키로 다른 요청이 들어왔는지 확인하기 위한 요청 본문 해시
+
+    @Lob
+    @Column(nullable = false)
+    private String responseBody; // OrderResponse ( JSON )
+
+    private LocalDateTime registeredDateTime;
+
+    @Builder
+    public OrderIdempotencyRecord(String idempotencyKey, String requestFingerprint, String responseBody, LocalDateTime registeredDateTime) {
+        this.idempotencyKey = idempotencyKey;
+        this.requestFingerprint = requestFingerprint;
+        this.responseBody = responseBody;
+        this.registeredDateTime = registeredDateTime;
+    }
+
+    public boolean isExpired(LocalDateTime threshold) {
+        return registeredDateTime.isBefore(threshold);
+    }
+}
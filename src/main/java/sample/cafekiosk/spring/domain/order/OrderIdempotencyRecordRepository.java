@@ -0,0 +1,34 @@
+package sample.cafekiosk.spring.domain.order;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface OrderIdempotencyRecordRepository extends JpaRepository<OrderIdempotencyRecord, String> {
+
+    @Modifying
+    @Query("delete from OrderIdempotencyRecord r where r.registeredDateTime < :threshold")
+    int deleteAllRegisteredBefore(@Param("threshold") LocalDateTime threshold);
+
+    @Modifying
+    @Query("delete from OrderIdempotencyRecord r where r.idempotencyKey = :idempotencyKey and r.registeredDateTime < :threshold")
+    int deleteExpired(@Param("idempotencyKey") String idempotencyKey, @Param("threshold") LocalDateTime threshold);
+
+    /**
+     * 키를 바로 insert 해서 잡는다. ( save 는 id 가 있는 엔티티를 merge 하므로 이미 있는 기록을 덮어쓴다. )
+     * - 같은 키가 이미 있으면 예외가 발생한다. 다른 트랜잭션이 insert 하고 아직 커밋하지 않았으면, DB 에 따라 그 트랜잭션이 끝날 때까지 기다린다.
+     * - 응답은 주문을 만든 뒤 같은 트랜잭션에서 채운다. ( updateResponseBody )
+     */
+    @Modifying
+    @Query(value = "insert into order_idempotency_record (idempotency_key, request_fingerprint, response_body, registered_date_time) " +
+            "values (:idempotencyKey, :requestFingerprint, '', :registeredDateTime)", nativeQuery = true)
+    int insertKey(@Param("idempotencyKey") String idempotencyKey, @Param("requestFingerprint") String requestFingerprint,
+                  @Param("registeredDateTime") LocalDateTime registeredDateTime);
+
+    @Modifying
+    @Query("update OrderIdempotencyRecord r set r.responseBody = :responseBody where r.idempotencyKey = :idempotencyKey")
+    int updateResponseBody(@Param("idempotencyKey") String idempotencyKey, @Param("responseBody") String responseBody);
+}
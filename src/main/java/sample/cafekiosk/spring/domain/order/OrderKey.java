@@ -0,0 +1,13 @@
+package sample.cafekiosk.spring.domain.order;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 id 와 등록 시간 ( OrderRepository.findKeysBy 조회 결과, keyset 페이징의 커서 )
+ */
+public interface OrderKey {
+
+    Long getId();
+
+    LocalDateTime getRegisteredDateTime();
+}
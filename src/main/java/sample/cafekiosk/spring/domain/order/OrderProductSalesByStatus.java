@@ -0,0 +1,13 @@
+package sample.cafekiosk.spring.domain.order;
+
+/**
+ * 주문 상태 / 상품별 판매 수량 ( OrderRepository.findProductSalesByStatus 조회 결과 )
+ */
+public interface OrderProductSalesByStatus {
+
+    OrderStatus getOrderStatus();
+
+    String getProductNumber();
+
+    Long getQuantity();
+}
@@ -1,17 +1,109 @@
 package sample.cafekiosk.spring.domain.order;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
+    /**
+     * 주문 상품과 상품까지 한 번의 쿼리로 조회한다. ( OrderResponse 를 만들 때 주문 상품 / 상품마다 지연 로딩 쿼리가 나가지 않도록 )
+     */
+    @Query("select o from Order o " +
+            "left join fetch o.orderProducts op " +
+            "left join fetch op.product " +
+            "where o.id = :id")
+    Optional<Order> findWithProductsById(Long id);
+
+    @Query("select distinct o from Order o " +
+            "left join fetch o.orderProducts op " +
+            "left join fetch op.product " +
+            "where o.id in :ids")
+    List<Order> findAllWithProductsByIdIn(List<Long> ids);
+
+    @Query("select distinct o from Order o " +
+            "left join fetch o.orderProducts op " +
+            "left join fetch op.product " +
+            "where o.orderStatus = :orderStatus")
+    List<Order> findAllWithProductsByOrderStatus(OrderStatus orderStatus);
+
+    /**
+     * 기간 내 주문 id / 등록 시간을 최신순(registeredDateTime, id 내림차순)으로, 커서(cursorDateTime, cursorId) 다음부터 limit 건 조회한다. ( keyset 페이징 )
+     * - OFFSET 과 달리 앞 페이지의 row 를 건너뛰며 읽지 않으므로, 오래된 주문 페이지도 첫 페이지와 같은 비용으로 조회한다.
+     * - 첫 페이지는 cursorDateTime = endDateTime, cursorId = Long.MAX_VALUE 로 조회한다.
+     * - 다음 페이지의 커서는 이 조회 결과로 만든다. ( 주문을 다시 조회하는 사이에 삭제되어도 커서는 만들 수 있다. )
+     */
+    @Query("select o.id as id, o.registeredDateTime as registeredDateTime from Order o " +
+            "where o.registeredDateTime >= :startDateTime and o.registeredDateTime < :endDateTime " +
+            "and (o.registeredDateTime < :cursorDateTime or (o.registeredDateTime = :cursorDateTime and o.id < :cursorId)) " +
+            "order by o.registeredDateTime desc, o.id desc")
+    List<OrderKey> findKeysBy(LocalDateTime startDateTime, LocalDateTime endDateTime,
+                              LocalDateTime cursorDateTime, Long cursorId, Limit limit);
+
+    @Query("select o.id as id, o.registeredDateTime as registeredDateTime from Order o " +
+            "where o.orderStatus = :orderStatus " +
+            "and o.registeredDateTime >= :startDateTime and o.registeredDateTime < :endDateTime " +
+            "and (o.registeredDateTime < :cursorDateTime or (o.registeredDateTime = :cursorDateTime and o.id < :cursorId)) " +
+            "order by o.registeredDateTime desc, o.id desc")
+    List<OrderKey> findKeysBy(OrderStatus orderStatus, LocalDateTime startDateTime, LocalDateTime endDateTime,
+                              LocalDateTime cursorDateTime, Long cursorId, Limit limit);
+
     @Query("select o from Order o " +
             "where o.registeredDateTime >= :startDateTime and o.registeredDateTime < :endDateTime " +
             "and o.orderStatus = :orderStatus")
     List<Order> findOrdersBy(LocalDateTime startDateTime, LocalDateTime endDateTime, OrderStatus orderStatus);
 
+    /**
+     * 기간 내 주문 상태별 총 매출 합계 ( 엔티티를 불러오지 않고 DB 에서 합산한다. 주문이 없으면 0 )
+     */
+    @Query("select coalesce(sum(o.totalPrice), 0L) from Order o " +
+            "where o.registeredDateTime >= :startDateTime and o.registeredDateTime < :endDateTime " +
+            "and o.orderStatus = :orderStatus")
+    long sumTotalPriceBy(LocalDateTime startDateTime, LocalDateTime endDateTime, OrderStatus orderStatus);
+
+    @Query("select o.orderStatus as orderStatus, count(o) as orderCount, coalesce(sum(o.totalPrice), 0L) as totalPrice " +
+            "from Order o " +
+            "where o.registeredDateTime >= :startDateTime and o.registeredDateTime < :endDateTime " +
+            "group by o.orderStatus")
+    List<OrderSalesByStatus> findSalesByStatus(LocalDateTime startDateTime, LocalDateTime endDateTime);
+
+    @Query("select o.orderStatus as orderStatus, p.productNumber as productNumber, count(op) as quantity " +
+            "from Order o " +
+            "join o.orderProducts op " +
+            "join op.product p " +
+            "where o.registeredDateTime >= :startDateTime and o.registeredDateTime < :endDateTime " +
+            "group by o.orderStatus, p.productNumber")
+    List<OrderProductSalesByStatus> findProductSalesByStatus(LocalDateTime startDateTime, LocalDateTime endDateTime);
+
+    @Query("select extract(date from o.registeredDateTime) as salesDate, extract(hour from o.registeredDateTime) as salesHour, " +
+            "o.orderStatus as orderStatus, count(o) as orderCount, coalesce(sum(o.totalPrice), 0L) as totalPrice " +
+            "from Order o " +
+            "where o.registeredDateTime >= :startDateTime and o.registeredDateTime < :endDateTime " +
+            "group by extract(date from o.registeredDateTime), extract(hour from o.registeredDateTime), o.orderStatus")
+    List<OrderHourlySales> findHourlySales(LocalDateTime startDateTime, LocalDateTime endDateTime);
+
+    /**
+     * 상태 변경 검증에 필요한 값만 조회한다. ( 주문 상품을 불러오지 않는다. )
+     */
+    @Query("select o.id as id, o.orderStatus as orderStatus, o.registeredDateTime as registeredDateTime, o.totalPrice as totalPrice " +
+            "from Order o " +
+            "where o.id in :ids")
+    List<OrderStatusSnapshot> findStatusSnapshotsByIdIn(Collection<Long> ids);
+
+    /**
+     * 주문 상태를 한 번의 UPDATE 로 바꾼다. ( 엔티티를 불러오지 않으므로 modifiedDateTime 도 직접 넣는다. )
+     * - beforeStatus 조건으로, 조회 이후 다른 요청이 상태를 바꾼 주문은 바뀌지 않는다. ( 반환값이 요청한 건수보다 작아진다. )
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Order o set o.orderStatus = :afterStatus, o.modifiedDateTime = :modifiedDateTime " +
+            "where o.id in :ids and o.orderStatus = :beforeStatus")
+    int updateOrderStatus(Collection<Long> ids, OrderStatus beforeStatus, OrderStatus afterStatus, LocalDateTime modifiedDateTime);
+
 }
@@ -0,0 +1,13 @@
+package sample.cafekiosk.spring.domain.order;
+
+/**
+ * 주문 상태별 주문 수 / 매출 합계 ( OrderRepository.findSalesByStatus 조회 결과 )
+ */
+public interface OrderSalesByStatus {
+
+    OrderStatus getOrderStatus();
+
+    Long getOrderCount();
+
+    Long getTotalPrice();
+}
@@ -3,6 +3,11 @@ package sample.cafekiosk.spring.domain.order;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 @Getter
 @RequiredArgsConstructor
 public enum OrderStatus {
@@ -14,4 +19,31 @@ public enum OrderStatus {
     COMPLETED("처리완료");
 
     private final String text;
+
+    /**
+     * 주문 상태별로 바꿀 수 있는 다음 상태
+     * - 주문생성 -> 결제완료 / 결제실패 / 주문취소
+     * - 결제완료 -> 주문접수 / 주문취소
+     * - 주문접수 -> 처리완료 / 주문취소
+     * - 주문취소, 결제실패, 처리완료 는 더 이상 바꿀 수 없다.
+     */
+    private static final Map<OrderStatus, Set<OrderStatus>> NEXT_STATUSES = new EnumMap<>(OrderStatus.class);
+
+    static {
+        NEXT_STATUSES.put(INIT, EnumSet.of(PAYMENT_COMPLETED, PAYMENT_FAILED, CANCELED));
+        NEXT_STATUSES.put(PAYMENT_COMPLETED, EnumSet.of(RECEIVED, CANCELED));
+        NEXT_STATUSES.put(RECEIVED, EnumSet.of(COMPLETED, CANCELED));
+        NEXT_STATUSES.put(CANCELED, EnumSet.noneOf(OrderStatus.class));
+        NEXT_STATUSES.put(PAYMENT_FAILED, EnumSet.noneOf(OrderStatus.class));
+        NEXT_STATUSES.put(COMPLETED, EnumSet.noneOf(OrderStatus.class));
+    }
+
+    public boolean canChangeTo(OrderStatus nextStatus) {
+        return NEXT_STATUSES.get(this).contains(nextStatus);
+    }
+
+    // 더 이상 바꿀 수 없는 상태인지
+    public boolean isTerminal() {
+        return NEXT_STATUSES.get(this).isEmpty();
+    }
 }
@@ -0,0 +1,36 @@
+package sample.cafekiosk.spring.domain.order;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 주문 상태가 변경될 때 발행된다. ( 변경된 주문을 OrderRepository.save 하는 시점에 발행된다. )
+ * - 일괄 상태 변경(OrderStatusService)은 엔티티를 불러오지 않으므로, UPDATE 이후에 주문마다 직접 발행한다.
+ * - 저장하기 전에 상태를 바꾼 주문은 id 가 없으므로, 발행할 때 채운다. ( withOrderId )
+ */
+@Getter
+public class OrderStatusChangedEvent {
+
+    private final Long orderId;
+    private final LocalDateTime registeredDateTime;
+    private final OrderStatus beforeStatus;
+    private final OrderStatus afterStatus;
+    private final int totalPrice;
+    private final List<String> productNumbers;
+
+    public OrderStatusChangedEvent(Long orderId, LocalDateTime registeredDateTime, OrderStatus beforeStatus, OrderStatus afterStatus,
+                                   int totalPrice, List<String> productNumbers) {
+        this.orderId = orderId;
+        this.registeredDateTime = registeredDateTime;
+        this.beforeStatus = beforeStatus;
+        this.afterStatus = afterStatus;
+        this.totalPrice = totalPrice;
+        this.productNumbers = productNumbers;
+    }
+
+    public OrderStatusChangedEvent withOrderId(Long orderId) {
+        return new OrderStatusChangedEvent(orderId, registeredDateTime, beforeStatus, afterStatus, totalPrice, productNumbers);
+    }
+}
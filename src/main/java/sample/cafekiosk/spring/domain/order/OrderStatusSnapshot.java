@@ -0,0 +1,17 @@
+package sample.cafekiosk.spring.domain.order;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 상태 변경 검증에 필요한 주문 값 ( OrderRepository.findStatusSnapshotsByIdIn 조회 결과 )
+ */
+public interface OrderStatusSnapshot {
+
+    Long getId();
+
+    OrderStatus getOrderStatus();
+
+    LocalDateTime getRegisteredDateTime();
+
+    Integer getTotalPrice();
+}
@@ -0,0 +1,11 @@
+package sample.cafekiosk.spring.domain.orderproduct;
+
+/**
+ * 주문별 주문 상품의 상품번호 ( OrderProductRepository.findProductNumbersByOrderIdIn 조회 결과 )
+ */
+public interface OrderProductNumber {
+
+    Long getOrderId();
+
+    String getProductNumber();
+}
@@ -1,6 +1,19 @@
 package sample.cafekiosk.spring.domain.orderproduct;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface OrderProductRepository extends JpaRepository<OrderProduct, Long> {
+
+    /**
+     * 주문들의 주문 상품 번호 ( 같은 상품을 여러 개 주문했으면 그 수만큼 나온다. )
+     */
+    @Query("select op.order.id as orderId, p.productNumber as productNumber " +
+            "from OrderProduct op " +
+            "join op.product p " +
+            "where op.order.id in :orderIds")
+    List<OrderProductNumber> findProductNumbersByOrderIdIn(Collection<Long> orderIds);
 }
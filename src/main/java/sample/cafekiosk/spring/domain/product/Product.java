@@ -5,14 +5,24 @@ import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import sample.cafekiosk.spring.domain.BaseEntity;
 
 @Entity
 @Getter
+@Table(
+        uniqueConstraints = @UniqueConstraint(name = "uk_product_product_number", columnNames = "product_number"), // 상품번호로 조회(findAllByProductNumberIn)
+        indexes = @Index(name = "idx_product_selling_status", columnList = "selling_status") // 판매상태별 목록 조회
+)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product") // 2차 캐시 ( 주문마다 읽히고 변경은 드물다. 변경은 커밋 시점에 캐시에도 반영된다. )
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Product extends BaseEntity {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq_generator")
+    @SequenceGenerator(name = "product_seq_generator", sequenceName = "product_seq", allocationSize = 50)
     private Long id;
 
     private String productNumber; // 001, 002, ...
@@ -34,6 +44,10 @@ public class Product extends BaseEntity {
         this.name = name;
         this.price = price;
     }
+
+    public void changeSellingStatus(ProductSellingStatus sellingStatus) {
+        this.sellingStatus = sellingStatus;
+    }
 }
 
 // 참고)
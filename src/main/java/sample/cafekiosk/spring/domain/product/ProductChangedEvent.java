@@ -0,0 +1,14 @@
+package sample.cafekiosk.spring.domain.product;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 상품이 등록되거나 판매상태가 바뀌었을 때 발행되는 이벤트 ( 상품 카탈로그 캐시 무효화 등에 사용 )
+ */
+@Getter
+@RequiredArgsConstructor
+public class ProductChangedEvent {
+
+    private final String productNumber;
+}
@@ -0,0 +1,36 @@
+package sample.cafekiosk.spring.domain.product;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 상품번호 발급 시퀀스 ( 다음에 발급할 상품번호 값을 저장한다. )
+ * - 서버는 이 값을 blockSize 만큼 한 번에 올려서 가져가고(lease), 가져간 범위는 메모리에서 발급한다.
+ */
+@Getter
+@Entity
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ProductNumberSequence {
+
+    @Id
+    private String sequenceName;
+
+    private long nextValue;
+
+    public ProductNumberSequence(String sequenceName, long nextValue) {
+        this.sequenceName = sequenceName;
+        this.nextValue = nextValue;
+    }
+
+    /**
+     * [nextValue, nextValue + blockSize) 범위를 가져가고, 범위의 시작 값을 반환한다.
+     */
+    public long lease(int blockSize) {
+        long startValue = nextValue;
+        nextValue += blockSize;
+        return startValue;
+    }
+}
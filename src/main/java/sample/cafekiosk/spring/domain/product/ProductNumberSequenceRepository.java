@@ -0,0 +1,29 @@
+package sample.cafekiosk.spring.domain.product;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.Optional;
+
+public interface ProductNumberSequenceRepository extends JpaRepository<ProductNumberSequence, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ProductNumberSequence s where s.sequenceName = :sequenceName")
+    Optional<ProductNumberSequence> findForUpdateBySequenceName(String sequenceName);
+
+    /**
+     * 시퀀스 row 가 없으면 만든다. ( 동시에 만들려고 하면 한쪽은 키 중복 예외가 발생한다. )
+     */
+    @Modifying
+    @Query(value = "insert into product_number_sequence (sequence_name, next_value) " +
+            "select cast(:sequenceName as varchar(255)), cast(:nextValue as bigint) " +
+            "where not exists (select 1 from product_number_sequence s where s.sequence_name = :sequenceName)", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product_number_sequence"))
+    int insertIfAbsent(String sequenceName, long nextValue);
+}
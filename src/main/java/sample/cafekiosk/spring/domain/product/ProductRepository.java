@@ -1,9 +1,13 @@
 package sample.cafekiosk.spring.domain.product;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
@@ -20,10 +24,21 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      * select *
      * from product
      * where product_number in ('001', '002');
+     *
+     * 결과(상품 id 목록)는 쿼리 캐시에, 상품은 2차 캐시에 두므로 캐시가 채워지면 DB 를 조회하지 않는다. ( product 테이블이 변경되면 쿼리 캐시는 무효화된다. )
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Product> findAllByProductNumberIn(List<String> productNumbers);
 
+    Optional<Product> findByProductNumber(String productNumber);
+
     @Query(value = "select p.product_number from Product p order by p.id desc limit 1", nativeQuery = true)
     String findLatestProductNumber();
 
+    /**
+     * 가장 큰 상품번호 값 ( 상품이 없으면 0 )
+     */
+    @Query("select coalesce(max(cast(p.productNumber as Long)), 0L) from Product p")
+    long findMaxProductNumberValue();
+
 }
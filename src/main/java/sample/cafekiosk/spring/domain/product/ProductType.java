@@ -3,7 +3,8 @@ package sample.cafekiosk.spring.domain.product;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
-import java.util.List;
+import java.util.EnumSet;
+import java.util.Set;
 
 @Getter
 @RequiredArgsConstructor
@@ -12,10 +13,12 @@ public enum ProductType {
     BOTTLE("병 음료"),
     BAKERY("베이커리");
 
+    private static final Set<ProductType> STOCK_TYPES = EnumSet.of(BOTTLE, BAKERY); // 호출마다 컬렉션을 만들지 않도록 한 번만 생성 ( EnumSet: 비트 연산으로 포함 여부 확인 )
+
     private final String text;
 
     // 재고가 있는 유형의 상품인지 체크
     public static boolean containsStockType(ProductType type) {
-        return List.of(BOTTLE, BAKERY).contains(type);
+        return type != null && STOCK_TYPES.contains(type);
     }
 }
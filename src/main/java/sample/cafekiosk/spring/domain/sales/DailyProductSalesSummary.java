@@ -0,0 +1,24 @@
+package sample.cafekiosk.spring.domain.sales;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 일자 / 주문 상태 / 상품별 판매 수량 집계
+ */
+@Getter
+@Entity
+@Table(name = "daily_product_sales_summary")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class DailyProductSalesSummary {
+
+    @EmbeddedId
+    private DailyProductSalesSummaryId id;
+
+    private long quantity;
+
+}
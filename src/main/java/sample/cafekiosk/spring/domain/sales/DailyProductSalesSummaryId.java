@@ -0,0 +1,33 @@
+package sample.cafekiosk.spring.domain.sales;
+
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Getter
+@Embeddable
+@EqualsAndHashCode
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class DailyProductSalesSummaryId implements Serializable {
+
+    private LocalDate salesDate;
+
+    @Enumerated(EnumType.STRING)
+    private OrderStatus orderStatus;
+
+    private String productNumber;
+
+    public DailyProductSalesSummaryId(LocalDate salesDate, OrderStatus orderStatus, String productNumber) {
+        this.salesDate = salesDate;
+        this.orderStatus = orderStatus;
+        this.productNumber = productNumber;
+    }
+}
@@ -0,0 +1,72 @@
+package sample.cafekiosk.spring.domain.sales;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface DailyProductSalesSummaryRepository extends JpaRepository<DailyProductSalesSummary, DailyProductSalesSummaryId> {
+
+    List<DailyProductSalesSummary> findAllByIdSalesDate(LocalDate salesDate);
+
+    List<DailyProductSalesSummary> findAllByIdSalesDateAndIdOrderStatus(LocalDate salesDate, OrderStatus orderStatus);
+
+    /**
+     * 집계 row 가 없으면 0 으로 만든다. ( 동시에 만들려고 하면 한쪽은 키 중복 예외가 발생한다. )
+     * - 변경 대상 테이블만 지정해서, 상품(product) 2차 캐시가 함께 비워지지 않도록 한다.
+     */
+    @Modifying
+    @Query(value = "insert into daily_product_sales_summary (sales_date, order_status, product_number, quantity) " +
+            "select cast(:salesDate as date), cast(:orderStatus as varchar(255)), cast(:productNumber as varchar(255)), 0 " +
+            "where not exists (select 1 from daily_product_sales_summary s " +
+            "where s.sales_date = :salesDate and s.order_status = :orderStatus and s.product_number = :productNumber)", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_product_sales_summary"))
+    int insertIfAbsent(LocalDate salesDate, String orderStatus, String productNumber);
+
+    /**
+     * 집계 row 를 증감한다. ( 음수 값으로 차감할 수 있다. )
+     */
+    @Modifying
+    @Query("update DailyProductSalesSummary s set s.quantity = s.quantity + :quantity " +
+            "where s.id.salesDate = :salesDate and s.id.orderStatus = :orderStatus and s.id.productNumber = :productNumber")
+    int addQuantity(LocalDate salesDate, OrderStatus orderStatus, String productNumber, long quantity);
+
+    /**
+     * 집계 row 를 증감하고, 없으면 증감량으로 만든다. ( 한 문장으로, 호출한 트랜잭션 안에서 처리한다. )
+     */
+    @Modifying
+    @Query(value = "merge into daily_product_sales_summary s " +
+            "using (select cast(:salesDate as date) as sales_date, cast(:orderStatus as varchar(255)) as order_status, " +
+            "cast(:productNumber as varchar(255)) as product_number) d " +
+            "on s.sales_date = d.sales_date and s.order_status = d.order_status and s.product_number = d.product_number " +
+            "when matched then update set quantity = s.quantity + :quantity " +
+            "when not matched then insert (sales_date, order_status, product_number, quantity) " +
+            "values (d.sales_date, d.order_status, d.product_number, :quantity)", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_product_sales_summary"))
+    int upsertQuantity(LocalDate salesDate, String orderStatus, String productNumber, long quantity);
+
+    @Modifying
+    @Query("delete from DailyProductSalesSummary s where s.id.salesDate between :fromDate and :toDate")
+    int deleteAllBySalesDateBetween(LocalDate fromDate, LocalDate toDate);
+
+    /**
+     * orders / order_product 테이블에서 기간 내 상품별 판매 수량을 다시 집계해서 넣는다. ( 기존 row 는 먼저 지워야 한다. )
+     */
+    @Modifying
+    @Query(value = "insert into daily_product_sales_summary (sales_date, order_status, product_number, quantity) " +
+            "select cast(o.registered_date_time as date), o.order_status, p.product_number, count(*) " +
+            "from orders o " +
+            "join order_product op on op.order_id = o.id " +
+            "join product p on p.id = op.product_id " +
+            "where o.registered_date_time >= :startDateTime and o.registered_date_time < :endDateTime " +
+            "group by cast(o.registered_date_time as date), o.order_status, p.product_number", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_product_sales_summary"))
+    int insertAggregatedFromOrders(LocalDateTime startDateTime, LocalDateTime endDateTime);
+}
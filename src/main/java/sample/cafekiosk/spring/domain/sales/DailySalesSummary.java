@@ -0,0 +1,27 @@
+package sample.cafekiosk.spring.domain.sales;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 일자 / 주문 상태별 매출 집계 ( 주문이 생성되거나 상태가 바뀔 때마다 증감한다. )
+ * - 값은 DailySalesSummaryRepository 의 집계 쿼리로만 변경한다. ( 엔티티로 수정하지 않는다. )
+ */
+@Getter
+@Entity
+@Table(name = "daily_sales_summary")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class DailySalesSummary {
+
+    @EmbeddedId
+    private DailySalesSummaryId id;
+
+    private long orderCount;
+
+    private long totalPrice;
+
+}
@@ -0,0 +1,30 @@
+package sample.cafekiosk.spring.domain.sales;
+
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Getter
+@Embeddable
+@EqualsAndHashCode
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class DailySalesSummaryId implements Serializable {
+
+    private LocalDate salesDate;
+
+    @Enumerated(EnumType.STRING)
+    private OrderStatus orderStatus;
+
+    public DailySalesSummaryId(LocalDate salesDate, OrderStatus orderStatus) {
+        this.salesDate = salesDate;
+        this.orderStatus = orderStatus;
+    }
+}
@@ -0,0 +1,67 @@
+package sample.cafekiosk.spring.domain.sales;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface DailySalesSummaryRepository extends JpaRepository<DailySalesSummary, DailySalesSummaryId> {
+
+    List<DailySalesSummary> findAllByIdSalesDate(LocalDate salesDate);
+
+    /**
+     * 집계 row 가 없으면 0 으로 만든다. ( 동시에 만들려고 하면 한쪽은 키 중복 예외가 발생한다. )
+     * - 네이티브 쿼리로 변경하는 테이블을 HINT_NATIVE_SPACES 로 알려준다. ( 알려주지 않으면 Hibernate 는 주문마다 2차 캐시 전체를 비운다. )
+     */
+    @Modifying
+    @Query(value = "insert into daily_sales_summary (sales_date, order_status, order_count, total_price) " +
+            "select cast(:salesDate as date), cast(:orderStatus as varchar(255)), 0, 0 " +
+            "where not exists (select 1 from daily_sales_summary s where s.sales_date = :salesDate and s.order_status = :orderStatus)", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_sales_summary"))
+    int insertIfAbsent(LocalDate salesDate, String orderStatus);
+
+    /**
+     * 집계 row 를 증감한다. ( 음수 값으로 차감할 수 있다. )
+     */
+    @Modifying
+    @Query("update DailySalesSummary s set s.orderCount = s.orderCount + :orderCount, s.totalPrice = s.totalPrice + :totalPrice " +
+            "where s.id.salesDate = :salesDate and s.id.orderStatus = :orderStatus")
+    int addSales(LocalDate salesDate, OrderStatus orderStatus, long orderCount, long totalPrice);
+
+    /**
+     * 집계 row 를 증감하고, 없으면 증감량으로 만든다. ( 한 문장으로, 호출한 트랜잭션 안에서 처리한다. )
+     * - 같은 row 를 두 트랜잭션이 동시에 처음 만들려고 하면 한쪽은 키 중복 예외가 발생하므로, 주문이 몰리는 row 는 미리 만들어둔다. ( insertIfAbsent )
+     */
+    @Modifying
+    @Query(value = "merge into daily_sales_summary s " +
+            "using (select cast(:salesDate as date) as sales_date, cast(:orderStatus as varchar(255)) as order_status) d " +
+            "on s.sales_date = d.sales_date and s.order_status = d.order_status " +
+            "when matched then update set order_count = s.order_count + :orderCount, total_price = s.total_price + :totalPrice " +
+            "when not matched then insert (sales_date, order_status, order_count, total_price) " +
+            "values (d.sales_date, d.order_status, :orderCount, :totalPrice)", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_sales_summary"))
+    int upsertSales(LocalDate salesDate, String orderStatus, long orderCount, long totalPrice);
+
+    @Modifying
+    @Query("delete from DailySalesSummary s where s.id.salesDate between :fromDate and :toDate")
+    int deleteAllBySalesDateBetween(LocalDate fromDate, LocalDate toDate);
+
+    /**
+     * orders 테이블에서 기간 내 주문을 다시 집계해서 넣는다. ( 백필 / 재집계용, 기존 row 는 먼저 지워야 한다. )
+     */
+    @Modifying
+    @Query(value = "insert into daily_sales_summary (sales_date, order_status, order_count, total_price) " +
+            "select cast(o.registered_date_time as date), o.order_status, count(*), sum(o.total_price) " +
+            "from orders o " +
+            "where o.registered_date_time >= :startDateTime and o.registered_date_time < :endDateTime " +
+            "group by cast(o.registered_date_time as date), o.order_status", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_sales_summary"))
+    int insertAggregatedFromOrders(LocalDateTime startDateTime, LocalDateTime endDateTime);
+}
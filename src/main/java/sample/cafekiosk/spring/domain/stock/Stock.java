@@ -1,24 +1,37 @@
 package sample.cafekiosk.spring.domain.stock;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import lombok.*;
 import sample.cafekiosk.spring.domain.BaseEntity;
 
 @Getter
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_stock_product_number", columnNames = "product_number")) // 상품당 재고 row 하나
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+// 참고) 2차 캐시에 두지 않는다. 주문마다 바뀌고, 차감은 조건부 UPDATE / 비관적 락 / 메모리 원장으로 DB 값을 기준으로 하기 때문이다.
 public class Stock extends BaseEntity {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_seq_generator")
+    @SequenceGenerator(name = "stock_seq_generator", sequenceName = "stock_seq", allocationSize = 50)
     private Long id;
 
     private String productNumber;
 
     private int quantity;
 
+    @Version // 낙관적 락 ( OPTIMISTIC_LOCK 재고 차감 전략에서 사용 )
+    @Column(nullable = false)
+    private Long version;
+
     @Builder
     private Stock(String productNumber, int quantity) {
         this.productNumber = productNumber;
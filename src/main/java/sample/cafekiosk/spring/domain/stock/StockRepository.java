@@ -1,10 +1,49 @@
 package sample.cafekiosk.spring.domain.stock;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 public interface StockRepository extends JpaRepository<Stock, Long> {
 
     List<Stock> findAllByProductNumberIn(List<String> productNumbers);
+
+    /**
+     * select ... for update
+     * - 여러 상품의 row lock 을 항상 같은 순서로 잡도록 상품번호 순으로 정렬한다. ( 데드락 방지 )
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from Stock s where s.productNumber in :productNumbers order by s.productNumber")
+    List<Stock> findAllForUpdateByProductNumberIn(List<String> productNumbers);
+
+    /**
+     * 재고 row 에 락을 걸고, 상품번호별 재고 수량을 Map 으로 반환한다.
+     */
+    default Map<String, Integer> findQuantityMapForUpdate(List<String> productNumbers) {
+        return findAllForUpdateByProductNumberIn(productNumbers).stream()
+                .collect(Collectors.toMap(Stock::getProductNumber, Stock::getQuantity));
+    }
+
+    /**
+     * 재고가 충분한 경우에만 차감한다. ( 차감된 row 수를 반환하므로, 0 이면 재고 부족 )
+     * - 낙관적 락으로 읽어간 트랜잭션이 충돌을 감지할 수 있도록 version 도 함께 올린다.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update Stock s set s.quantity = s.quantity - :quantity, s.version = s.version + 1 " +
+            "where s.productNumber = :productNumber and s.quantity >= :quantity")
+    int deductQuantity(String productNumber, int quantity);
+
+    /**
+     * 읽어온 시점의 version 이 그대로인 경우에만 수량을 변경한다. ( 변경된 row 수를 반환하므로, 0 이면 버전 충돌 )
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update Stock s set s.quantity = :quantity, s.version = s.version + 1 " +
+            "where s.id = :id and s.version = :version")
+    int updateQuantityIfVersionMatches(Long id, int quantity, Long version);
 }
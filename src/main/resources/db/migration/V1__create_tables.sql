@@ -0,0 +1,101 @@
+-- 인덱스를 추가하기 전까지 Hibernate(ddl-auto)가 만들던 스키마
+-- 참고) enum 컬럼은 값을 추가할 때마다 스키마를 바꾸지 않도록 varchar 로 둔다.
+
+create sequence product_seq start with 1 increment by 50;
+create sequence orders_seq start with 1 increment by 50;
+create sequence order_product_seq start with 1 increment by 50;
+create sequence stock_seq start with 1 increment by 50;
+create sequence mail_send_history_seq start with 1 increment by 50;
+
+create table product
+(
+    id                 bigint       not null,
+    product_number     varchar(255),
+    type               varchar(255),
+    selling_status     varchar(255),
+    name               varchar(255),
+    price              integer      not null,
+    created_date_time  timestamp(6),
+    modified_date_time timestamp(6),
+    primary key (id)
+);
+
+create table orders
+(
+    id                   bigint  not null,
+    order_status         varchar(255),
+    total_price          integer not null,
+    registered_date_time timestamp(6),
+    created_date_time    timestamp(6),
+    modified_date_time   timestamp(6),
+    primary key (id)
+);
+
+create table order_product
+(
+    id                 bigint not null,
+    order_id           bigint,
+    product_id         bigint,
+    created_date_time  timestamp(6),
+    modified_date_time timestamp(6),
+    primary key (id),
+    constraint fk_order_product_order foreign key (order_id) references orders (id),
+    constraint fk_order_product_product foreign key (product_id) references product (id)
+);
+
+create table stock
+(
+    id                 bigint  not null,
+    product_number     varchar(255),
+    quantity           integer not null,
+    version            bigint,
+    created_date_time  timestamp(6),
+    modified_date_time timestamp(6),
+    primary key (id)
+);
+
+create table mail_send_history
+(
+    id                 bigint not null,
+    from_email         varchar(255),
+    to_email           varchar(255),
+    subject            varchar(255),
+    content            varchar(255),
+    created_date_time  timestamp(6),
+    modified_date_time timestamp(6),
+    primary key (id)
+);
+
+create table daily_sales_summary
+(
+    sales_date   date         not null,
+    order_status varchar(255) not null,
+    order_count  bigint       not null,
+    total_price  bigint       not null,
+    primary key (sales_date, order_status)
+);
+
+create table daily_product_sales_summary
+(
+    sales_date     date         not null,
+    order_status   varchar(255) not null,
+    product_number varchar(255) not null,
+    quantity       bigint       not null,
+    primary key (sales_date, order_status, product_number)
+);
+
+create table product_number_sequence
+(
+    sequence_name varchar(255) not null,
+    next_value    bigint       not null,
+    primary key (sequence_name)
+);
+
+create table order_idempotency_record
+(
+    idempotency_key      varchar(255) not null,
+    request_fingerprint  varchar(255),
+    response_body        clob         not null,
+    registered_date_time timestamp(6),
+    primary key (idempotency_key)
+);
@@ -0,0 +1,17 @@
+-- 조회 조건에 맞춘 인덱스 / 유니크 제약 ( 엔티티의 @Table(indexes, uniqueConstraints) 와 같은 이름, 같은 컬럼 순서로 유지한다. )
+
+-- 상태 + 기간 조회 ( findOrdersBy, sumTotalPriceBy ). total_price 까지 포함해서 합계는 테이블을 읽지 않는다.
+create index idx_orders_status_registered_date_time on orders (order_status, registered_date_time, total_price);
+-- 기간 내 상태별 집계 ( findSalesByStatus, findHourlySales )
+create index idx_orders_registered_date_time on orders (registered_date_time, order_status, total_price);
+
+create index idx_order_product_order_id on order_product (order_id);
+
+-- 상품번호로 조회 ( findAllByProductNumberIn ). 상품번호가 중복되면 주문 시 상품을 찾을 수 없으므로 유니크로 둔다.
+alter table product add constraint uk_product_product_number unique (product_number);
+create index idx_product_selling_status on product (selling_status);
+
+-- 상품당 재고 row 는 하나
+alter table stock add constraint uk_stock_product_number unique (product_number);
+
+create index idx_order_idempotency_record_registered_date_time on order_idempotency_record (registered_date_time);
@@ -0,0 +1,22 @@
+-- 주문 이벤트 outbox ( OrderEventOutbox 가 주문과 같은 트랜잭션에서 기록하고, OrderEventRelay 가 전달한다. )
+-- 참고) JDBC 배치로만 insert 하므로 id 는 identity 로 둔다.
+
+create table order_event
+(
+    id                   bigint generated by default as identity,
+    order_id             bigint,
+    event_type           varchar(255),
+    before_status        varchar(255),
+    order_status         varchar(255),
+    total_price          integer not null,
+    registered_date_time timestamp(6),
+    product_numbers      varchar(4000),
+    attempts             integer not null,
+    available_date_time  timestamp(6),
+    published_date_time  timestamp(6),
+    created_date_time    timestamp(6),
+    primary key (id)
+);
+
+-- 전달하지 않은 이벤트(published_date_time is null)를 id 순으로 가져온다. ( findAllForClaim )
+create index idx_order_event_published_date_time on order_event (published_date_time, id);
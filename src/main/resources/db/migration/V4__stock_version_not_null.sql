@@ -0,0 +1,6 @@
+-- 재고 버전은 null 일 수 없다. ( OPTIMISTIC_LOCK 전략은 "version = ?" 조건으로 차감하므로, null 이면 차감할 수 없다. )
+-- 참고) JPA 밖에서 넣는 row 도 0 부터 시작하도록 기본값을 둔다.
+
+update stock set version = 0 where version is null;
+alter table stock alter column version set default 0;
+alter table stock alter column version set not null;
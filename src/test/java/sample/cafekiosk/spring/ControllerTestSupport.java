@@ -4,16 +4,29 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.web.servlet.MockMvc;
+import sample.cafekiosk.spring.api.controller.kitchen.KitchenController;
 import sample.cafekiosk.spring.api.controller.order.OrderController;
 import sample.cafekiosk.spring.api.controller.product.ProductController;
+import sample.cafekiosk.spring.api.controller.statistics.StatisticsController;
+import sample.cafekiosk.spring.api.service.kitchen.KitchenDisplayBroadcaster;
+import sample.cafekiosk.spring.api.service.kitchen.KitchenOrderQueue;
+import sample.cafekiosk.spring.api.service.order.OrderIdempotencyStore;
+import sample.cafekiosk.spring.api.service.order.OrderQueryService;
 import sample.cafekiosk.spring.api.service.order.OrderService;
+import sample.cafekiosk.spring.api.service.order.OrderStatisticsService;
+import sample.cafekiosk.spring.api.service.order.OrderStatusService;
 import sample.cafekiosk.spring.api.service.product.ProductService;
+import sample.cafekiosk.spring.api.service.product.SellingMenuSnapshotService;
 
 @WebMvcTest(controllers = {
         OrderController.class,
-        ProductController.class
+        ProductController.class,
+        StatisticsController.class,
+        KitchenController.class
 })
+@Import(SellingMenuSnapshotService.class) // 목록 응답을 직렬화해두는 컴포넌트는 (mock 처리된 ProductService 를 사용하는) 실제 빈으로 띄운다.
 public abstract class ControllerTestSupport {
 
     @Autowired
@@ -25,7 +38,25 @@ public abstract class ControllerTestSupport {
     @MockBean
     protected OrderService orderService;
 
+    @MockBean
+    protected OrderIdempotencyStore orderIdempotencyStore;
+
+    @MockBean
+    protected OrderQueryService orderQueryService;
+
+    @MockBean
+    protected OrderStatusService orderStatusService;
+
     @MockBean
     protected ProductService productService;
 
+    @MockBean
+    protected OrderStatisticsService orderStatisticsService;
+
+    @MockBean
+    protected KitchenOrderQueue kitchenOrderQueue;
+
+    @MockBean
+    protected KitchenDisplayBroadcaster kitchenDisplayBroadcaster;
+
 }
@@ -1,16 +1,85 @@
 package sample.cafekiosk.spring;
 
+import com.google.common.base.Ticker;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 import sample.cafekiosk.spring.client.mail.MailSendClient;
+import sample.cafekiosk.spring.domain.product.ProductNumberSequenceRepository;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
 
 @ActiveProfiles("test")
 @SpringBootTest
+@Import(IntegrationTestSupport.ManualTickerConfig.class)
 public abstract class IntegrationTestSupport {
 
     @MockBean
     protected MailSendClient mailSendClient;
+
+    @Autowired
+    private ManualTicker productCatalogCacheTicker;
+
+    @Value("${cafekiosk.product.catalog-cache.expire-after-write:10m}")
+    private Duration productCatalogCacheExpireAfterWrite;
+
+    @Autowired
+    private ProductNumberSequenceRepository productNumberSequenceRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void clearProductCatalogCache() {
+        // 테스트에서는 리포지토리로 상품을 직접 저장/삭제하므로(캐시 무효화 이벤트가 발행되지 않음), 테스트마다 상품 카탈로그 캐시를 만료시킨다.
+        expireProductCatalogCache();
+        // 같은 이유로, 상품번호도 테스트마다 그 시점의 상품 테이블 기준으로 다시 발급한다. ( 테스트 프로파일은 번호를 하나씩 가져오므로 시퀀스 row 만 지우면 된다. )
+        productNumberSequenceRepository.deleteAllInBatch();
+        // JdbcTemplate 으로 넣은 데이터가 있을 수 있으므로, Hibernate 2차 캐시 / 쿼리 캐시도 비운다.
+        entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+    }
+
+    /**
+     * 상품 카탈로그 캐시의 시간을 expire-after-write 만큼 흘려서, 캐싱된 상품을 모두 만료시킨다.
+     */
+    protected void expireProductCatalogCache() {
+        productCatalogCacheTicker.advance(productCatalogCacheExpireAfterWrite);
+    }
+
+    @TestConfiguration
+    static class ManualTickerConfig {
+
+        @Bean
+        ManualTicker productCatalogCacheTicker() {
+            return new ManualTicker();
+        }
+    }
+
+    /**
+     * 테스트에서 직접 흘려보내는 시간 ( 상품 카탈로그 캐시의 만료 시각 계산에 사용 )
+     */
+    static class ManualTicker extends Ticker {
+
+        private final AtomicLong nanos = new AtomicLong();
+
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+
+        void advance(Duration duration) {
+            nanos.addAndGet(duration.toNanos());
+        }
+    }
 }
 
 // 참고) 11:10
@@ -0,0 +1,42 @@
+package sample.cafekiosk.spring.api.controller.kitchen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import sample.cafekiosk.spring.ControllerTestSupport;
+import sample.cafekiosk.spring.api.service.kitchen.response.KitchenOrderItemResponse;
+import sample.cafekiosk.spring.api.service.kitchen.response.KitchenOrderResponse;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+class KitchenControllerTest extends ControllerTestSupport {
+
+    @DisplayName("주방 대기열을 조회한다.")
+    @Test
+    public void getKitchenOrders() throws Exception {
+        // given
+        BDDMockito.given(kitchenOrderQueue.getOrders())
+                .willReturn(List.of(KitchenOrderResponse.builder()
+                        .orderId(1L)
+                        .registeredDateTime(LocalDateTime.of(2024, 1, 1, 9, 0))
+                        .items(List.of(KitchenOrderItemResponse.builder()
+                                .productNumber("001")
+                                .name("카페라떼")
+                                .quantity(2)
+                                .build()))
+                        .build()));
+
+        // when & then
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/kitchen/orders"))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.code").value("200"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data[0].orderId").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data[0].items[0].name").value("카페라떼"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data[0].items[0].quantity").value(2));
+    }
+}
@@ -0,0 +1,222 @@
+package sample.cafekiosk.spring.api.controller.kitchen;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.TestPropertySource;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.api.service.kitchen.KitchenDisplayBroadcaster;
+import sample.cafekiosk.spring.api.service.kitchen.KitchenOrderQueue;
+import sample.cafekiosk.spring.api.service.order.OrderStatusService;
+import sample.cafekiosk.spring.api.service.order.request.OrderStatusChangeServiceRequest;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.sales.DailyProductSalesSummaryRepository;
+import sample.cafekiosk.spring.domain.sales.DailySalesSummaryRepository;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 주방 화면 500개가 GET /api/v1/kitchen/orders/stream 에 연결된 상태에서, 주문 100건을 한 건씩 접수할 때
+ * 마지막 접수가 모든 화면에 도착하기까지의 시간과 화면마다 받은 이벤트 수를 측정한다.
+ * - 실행: ./gradlew benchmark --tests '*KitchenDisplayLoadTest'
+ * - 이벤트는 한 번만 직렬화해서 모든 화면에 보내고, 보내는 동안 쌓인 변경은 한 이벤트로 합쳐진다. ( 화면마다 받은 이벤트 수 <= 접수 건수 )
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = {
+        "spring.jpa.show-sql=false"
+})
+class KitchenDisplayLoadTest extends IntegrationTestSupport {
+
+    private static final int DISPLAY_COUNT = 500;
+    private static final int ORDER_COUNT = 100;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private KitchenOrderQueue kitchenOrderQueue;
+
+    @Autowired
+    private KitchenDisplayBroadcaster kitchenDisplayBroadcaster;
+
+    @Autowired
+    private OrderStatusService orderStatusService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private DailySalesSummaryRepository dailySalesSummaryRepository;
+
+    @Autowired
+    private DailyProductSalesSummaryRepository dailyProductSalesSummaryRepository;
+
+    private final List<Display> displays = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        kitchenOrderQueue.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        displays.forEach(Display::disconnect);
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        dailySalesSummaryRepository.deleteAllInBatch();
+        dailyProductSalesSummaryRepository.deleteAllInBatch();
+        kitchenOrderQueue.clear();
+    }
+
+    @DisplayName("주방 화면 500개에 접수된 주문이 모두 전달된다.")
+    @Test
+    void broadcastToDisplays() throws Exception {
+        // given
+        Product latte = productRepository.save(Product.builder()
+                .productNumber("001")
+                .type(ProductType.HANDMADE)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name("카페라떼")
+                .price(4500)
+                .build());
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            orderIds.add(orderRepository.save(Order.builder()
+                    .products(List.of(latte))
+                    .orderStatus(OrderStatus.PAYMENT_COMPLETED)
+                    .registeredDateTime(LocalDateTime.now())
+                    .build()).getId());
+        }
+        String lastOrderMarker = "\"orderId\":" + orderIds.get(ORDER_COUNT - 1);
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/kitchen/orders/stream"))
+                .header("Accept", "text/event-stream")
+                .build();
+        CountDownLatch connected = new CountDownLatch(DISPLAY_COUNT);
+        CountDownLatch updated = new CountDownLatch(DISPLAY_COUNT);
+        for (int i = 0; i < DISPLAY_COUNT; i++) {
+            Display display = new Display(lastOrderMarker, connected, updated);
+            displays.add(display);
+            client.sendAsync(request, HttpResponse.BodyHandlers.fromLineSubscriber(display));
+        }
+        assertThat(connected.await(60, TimeUnit.SECONDS)).isTrue(); // 연결하자마자 현재 대기열을 한 번 받는다.
+
+        // when
+        long start = System.nanoTime();
+        for (Long orderId : orderIds) {
+            orderStatusService.changeOrderStatuses(OrderStatusChangeServiceRequest.builder()
+                    .orderIds(List.of(orderId))
+                    .orderStatus(OrderStatus.RECEIVED)
+                    .build(), LocalDateTime.now());
+        }
+        boolean allUpdated = updated.await(60, TimeUnit.SECONDS);
+        long elapsedNanos = System.nanoTime() - start;
+
+        // then
+        int minEvents = displays.stream().mapToInt(Display::getEventCount).min().orElse(0);
+        int maxEvents = displays.stream().mapToInt(Display::getEventCount).max().orElse(0);
+        System.out.printf("displays=%d, subscribers=%d, orders=%d, lastOrderDelivered=%.1fms, eventsPerDisplay=%d~%d%n",
+                DISPLAY_COUNT, kitchenDisplayBroadcaster.getSubscriberCount(), ORDER_COUNT,
+                elapsedNanos / 1_000_000.0, minEvents, maxEvents);
+
+        assertThat(allUpdated).isTrue();
+        assertThat(kitchenDisplayBroadcaster.getSubscriberCount()).isEqualTo(DISPLAY_COUNT);
+        assertThat(kitchenOrderQueue.getOrders()).hasSize(ORDER_COUNT);
+    }
+
+    /**
+     * 주방 화면 하나 ( SSE 응답을 줄 단위로 읽는다. )
+     */
+    private static class Display implements Flow.Subscriber<String> {
+
+        private final String lastOrderMarker;
+        private final CountDownLatch connected;
+        private final CountDownLatch updated;
+        private final AtomicInteger eventCount = new AtomicInteger();
+
+        private volatile Flow.Subscription subscription;
+        private volatile boolean received;
+
+        private Display(String lastOrderMarker, CountDownLatch connected, CountDownLatch updated) {
+            this.lastOrderMarker = lastOrderMarker;
+            this.connected = connected;
+            this.updated = updated;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (!line.startsWith("data:")) {
+                return;
+            }
+            if (eventCount.incrementAndGet() == 1) {
+                connected.countDown();
+                return;
+            }
+            if (!received && line.contains(lastOrderMarker)) {
+                received = true;
+                updated.countDown();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        private int getEventCount() {
+            return eventCount.get() - 1; // 연결할 때 받은 이벤트 제외
+        }
+
+        private void disconnect() {
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+    }
+}
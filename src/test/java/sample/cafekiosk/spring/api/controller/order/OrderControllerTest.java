@@ -3,6 +3,9 @@ package sample.cafekiosk.spring.api.controller.order;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -12,9 +15,16 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import sample.cafekiosk.spring.ControllerTestSupport;
+import sample.cafekiosk.spring.api.controller.order.request.OrderBatchCreateRequest;
 import sample.cafekiosk.spring.api.controller.order.request.OrderCreateRequest;
+import sample.cafekiosk.spring.api.controller.order.request.OrderStatusChangeRequest;
 import sample.cafekiosk.spring.api.service.order.OrderService;
+import sample.cafekiosk.spring.api.service.order.OrderStatusConflictException;
+import sample.cafekiosk.spring.api.service.order.response.OrderPageResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
 
+import java.time.LocalDate;
 import java.util.List;
 
 // @WebMvcTest(controllers = OrderController.class)
@@ -68,4 +78,193 @@ class OrderControllerTest extends ControllerTestSupport {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.data").isEmpty());
     }
 
-}
\ No newline at end of file
+    @DisplayName("Idempotency-Key 헤더가 있으면 키별로 한 번만 주문을 등록한다.")
+    @Test
+    public void createOrderWithIdempotencyKey() throws Exception {
+        // given
+        OrderCreateRequest request = OrderCreateRequest.builder()
+                .productNumbers(List.of("001"))
+                .build();
+        OrderResponse response = OrderResponse.builder()
+                .id(1L)
+                .totalPrice(4000)
+                .products(List.of())
+                .build();
+        BDDMockito.given(orderIdempotencyStore.createOrderOnce(ArgumentMatchers.eq("kiosk-01-0001"), ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .willReturn(response);
+
+        // when & then
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/orders/new")
+                        .header(OrderController.IDEMPOTENCY_KEY_HEADER, "kiosk-01-0001")
+                        .content(objectMapper.writeValueAsString(request))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data.id").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data.totalPrice").value(4000));
+
+        Mockito.verify(orderService, Mockito.never()).createOrder(ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    @DisplayName("주문을 조회한다.")
+    @Test
+    public void getOrder() throws Exception {
+        // given
+        BDDMockito.given(orderQueryService.getOrder(1L))
+                .willReturn(OrderResponse.builder()
+                        .id(1L)
+                        .totalPrice(4000)
+                        .products(List.of())
+                        .build());
+
+        // when & then
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/orders/1"))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.code").value("200"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data.id").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data.totalPrice").value(4000));
+    }
+
+    @DisplayName("기간 내 주문 목록을 조회한다.")
+    @Test
+    public void getOrders() throws Exception {
+        // given
+        BDDMockito.given(orderQueryService.getOrders(OrderStatus.PAYMENT_COMPLETED, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), null, 20))
+                .willReturn(OrderPageResponse.builder()
+                        .orders(List.of(OrderResponse.builder().id(1L).orderStatus(OrderStatus.PAYMENT_COMPLETED).totalPrice(4000).products(List.of()).build()))
+                        .hasNext(true)
+                        .nextCursor("next-cursor")
+                        .build());
+
+        // when & then
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/orders")
+                        .param("orderStatus", "PAYMENT_COMPLETED")
+                        .param("from", "2024-01-01")
+                        .param("to", "2024-01-31"))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data.orders[0].id").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data.orders[0].orderStatus").value("PAYMENT_COMPLETED"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data.hasNext").value(true))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data.nextCursor").value("next-cursor"));
+    }
+
+    @DisplayName("여러 주문을 한 번에 등록한다.")
+    @Test
+    public void createOrders() throws Exception {
+        // given
+        OrderBatchCreateRequest request = OrderBatchCreateRequest.builder()
+                .orders(List.of(
+                        OrderCreateRequest.builder().productNumbers(List.of("001")).build(),
+                        OrderCreateRequest.builder().productNumbers(List.of("001", "002")).build()
+                ))
+                .build();
+
+        // when & then
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/orders/batch")
+                        .content(objectMapper.writeValueAsString(request))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.code").value("200"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status").value("OK"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message").value("OK"));
+    }
+
+    @DisplayName("여러 주문을 한 번에 등록할 때 주문은 1개 이상이어야 한다.")
+    @Test
+    public void createOrdersWithEmptyOrders() throws Exception {
+        // given
+        OrderBatchCreateRequest request = OrderBatchCreateRequest.builder().orders(List.of()).build();
+
+        // when & then
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.code").value("400"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status").value("BAD_REQUEST"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message").value("주문 리스트는 필수입니다."))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data").isEmpty());
+    }
+
+    @DisplayName("여러 주문을 한 번에 등록할 때 각 주문의 상품번호는 1개 이상이어야 한다.")
+    @Test
+    public void createOrdersWithEmptyProductNumbers() throws Exception {
+        // given
+        OrderBatchCreateRequest request = OrderBatchCreateRequest.builder()
+                .orders(List.of(OrderCreateRequest.builder().productNumbers(List.of()).build()))
+                .build();
+
+        // when & then
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.code").value("400"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message").value("상품 번호 리스트는 필수입니다."));
+    }
+
+    @DisplayName("여러 주문의 상태를 한 번에 바꾼다.")
+    @Test
+    public void changeOrderStatuses() throws Exception {
+        // given
+        OrderStatusChangeRequest request = OrderStatusChangeRequest.builder()
+                .orderIds(List.of(1L, 2L))
+                .orderStatus(OrderStatus.PAYMENT_COMPLETED)
+                .build();
+
+        // when & then
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/orders/status")
+                        .content(objectMapper.writeValueAsString(request))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.code").value("200"));
+    }
+
+    @DisplayName("여러 주문의 상태를 바꾸는 동안 다른 요청이 먼저 바꾸면 409 로 응답한다.")
+    @Test
+    public void changeOrderStatusesWithConflict() throws Exception {
+        // given
+        OrderStatusChangeRequest request = OrderStatusChangeRequest.builder()
+                .orderIds(List.of(1L, 2L))
+                .orderStatus(OrderStatus.PAYMENT_COMPLETED)
+                .build();
+
+        BDDMockito.given(orderStatusService.changeOrderStatuses(ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .willThrow(new OrderStatusConflictException("다른 요청에서 주문 상태가 바뀌었습니다. 다시 시도해주세요."));
+
+        // when & then
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/orders/status")
+                        .content(objectMapper.writeValueAsString(request))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isConflict())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.code").value("409"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status").value("CONFLICT"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message").value("다른 요청에서 주문 상태가 바뀌었습니다. 다시 시도해주세요."));
+    }
+
+    @DisplayName("여러 주문의 상태를 바꿀 때 바꿀 상태는 필수값이다.")
+    @Test
+    public void changeOrderStatusesWithoutOrderStatus() throws Exception {
+        // given
+        OrderStatusChangeRequest request = OrderStatusChangeRequest.builder()
+                .orderIds(List.of(1L, 2L))
+                .build();
+
+        // when & then
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/orders/status")
+                        .content(objectMapper.writeValueAsString(request))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.code").value("400"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message").value("주문 상태는 필수입니다."));
+    }
+
+}
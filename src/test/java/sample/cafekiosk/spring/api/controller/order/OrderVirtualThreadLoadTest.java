@@ -0,0 +1,177 @@
+package sample.cafekiosk.spring.api.controller.order;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.TestPropertySource;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.sales.DailyProductSalesSummaryRepository;
+import sample.cafekiosk.spring.domain.sales.DailySalesSummaryRepository;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * 동시 클라이언트 2,000개가 POST /api/v1/orders/new 를 호출할 때, 플랫폼 스레드(Tomcat 스레드 풀)와 가상 스레드 모드의 p99 응답시간을 비교한다.
+ * - 실행: ./gradlew benchmark -PjavaVersion=21 --tests '*OrderVirtualThreadLoadTest'
+ * - platform: Tomcat 기본 스레드 200개 + Hikari 기본 커넥션 10개
+ * - virtual : application.yml 의 virtual-threads 프로파일과 같은 설정 ( 요청마다 가상 스레드, Hikari 커넥션 50개 )
+ * - 가상 스레드는 JDK 21 부터 지원되므로, VirtualThreads 는 JDK 21 이상에서만 실행된다.
+ */
+@Tag("benchmark")
+class OrderVirtualThreadLoadTest {
+
+    private static final int CONCURRENT_CLIENTS = 2_000;
+    private static final int REQUESTS_PER_CLIENT = 5;
+    private static final int WARM_UP_REQUESTS = 500;
+    private static final String REQUEST_BODY = "{\"productNumbers\":[\"001\",\"002\",\"003\"]}";
+
+    @Nested
+    @TestPropertySource(properties = {
+            "spring.jpa.show-sql=false"
+    })
+    class PlatformThreads extends OrderLoadTest {
+    }
+
+    @Nested
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @TestPropertySource(properties = {
+            "spring.threads.virtual.enabled=true",
+            "spring.datasource.hikari.maximum-pool-size=50",
+            "spring.datasource.hikari.connection-timeout=5000",
+            "spring.jpa.show-sql=false"
+    })
+    class VirtualThreads extends OrderLoadTest {
+    }
+
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+    abstract static class OrderLoadTest extends IntegrationTestSupport {
+
+        @LocalServerPort
+        private int port;
+
+        @Autowired
+        private ProductRepository productRepository;
+
+        @Autowired
+        private OrderRepository orderRepository;
+
+        @Autowired
+        private OrderProductRepository orderProductRepository;
+
+        @Autowired
+        private DailySalesSummaryRepository dailySalesSummaryRepository;
+
+        @Autowired
+        private DailyProductSalesSummaryRepository dailyProductSalesSummaryRepository;
+
+        @BeforeEach
+        void setUp() {
+            // 재고 차감 경합이 섞이지 않도록, 재고가 없는 제조 음료로만 주문한다.
+            productRepository.saveAll(IntStream.rangeClosed(1, 3)
+                    .mapToObj(i -> Product.builder()
+                            .productNumber(String.format("%03d", i))
+                            .type(ProductType.HANDMADE)
+                            .sellingStatus(ProductSellingStatus.SELLING)
+                            .name("상품" + i)
+                            .price(1000 * i)
+                            .build())
+                    .toList());
+        }
+
+        @AfterEach
+        void tearDown() {
+            orderProductRepository.deleteAllInBatch();
+            orderRepository.deleteAllInBatch();
+            productRepository.deleteAllInBatch();
+            dailySalesSummaryRepository.deleteAllInBatch();
+            dailyProductSalesSummaryRepository.deleteAllInBatch();
+        }
+
+        @DisplayName("동시 클라이언트 2,000개로 신규 주문을 등록할 때의 p99 응답시간을 측정한다.")
+        @Test
+        void p99LatencyOfCreateOrder() {
+            // given
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/orders/new"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(REQUEST_BODY))
+                    .build();
+            IntStream.range(0, WARM_UP_REQUESTS)
+                    .mapToObj(i -> client.sendAsync(request, HttpResponse.BodyHandlers.discarding()))
+                    .toList()
+                    .forEach(CompletableFuture::join);
+
+            long[] latencies = new long[CONCURRENT_CLIENTS * REQUESTS_PER_CLIENT];
+            AtomicInteger index = new AtomicInteger();
+            AtomicInteger failures = new AtomicInteger();
+
+            // when
+            long start = System.nanoTime();
+            List<CompletableFuture<Void>> clients = IntStream.range(0, CONCURRENT_CLIENTS)
+                    .mapToObj(i -> sendSequentially(client, request, REQUESTS_PER_CLIENT, latencies, index, failures))
+                    .toList();
+            clients.forEach(CompletableFuture::join);
+            long elapsedNanos = System.nanoTime() - start;
+
+            // then
+            long[] measured = Arrays.copyOf(latencies, index.get());
+            Arrays.sort(measured);
+            System.out.printf("[%s] requests=%d, failures=%d, p50=%.1fms, p99=%.1fms, max=%.1fms, requests/sec=%.1f%n",
+                    getClass().getSimpleName(),
+                    measured.length,
+                    failures.get(),
+                    percentile(measured, 0.50) / 1_000_000.0,
+                    percentile(measured, 0.99) / 1_000_000.0,
+                    measured[measured.length - 1] / 1_000_000.0,
+                    measured.length / (elapsedNanos / 1_000_000_000.0));
+        }
+
+        // 한 클라이언트는 응답을 받은 뒤에야 다음 요청을 보낸다. ( 클라이언트 수 = 동시에 처리 중인 요청 수 )
+        private CompletableFuture<Void> sendSequentially(HttpClient client, HttpRequest request, int remaining,
+                                                         long[] latencies, AtomicInteger index, AtomicInteger failures) {
+            if (remaining == 0) {
+                return CompletableFuture.completedFuture(null);
+            }
+            long requestedAt = System.nanoTime();
+            return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, throwable) -> {
+                        latencies[index.getAndIncrement()] = System.nanoTime() - requestedAt;
+                        if (throwable != null || response.statusCode() != 200) {
+                            failures.incrementAndGet();
+                        }
+                        return null;
+                    })
+                    .thenCompose(ignored -> sendSequentially(client, request, remaining - 1, latencies, index, failures));
+        }
+
+        private long percentile(long[] sorted, double percentile) {
+            return sorted[(int) Math.ceil(percentile * sorted.length) - 1];
+        }
+    }
+}
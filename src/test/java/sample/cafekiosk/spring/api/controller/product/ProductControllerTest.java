@@ -1,26 +1,34 @@
 package sample.cafekiosk.spring.api.controller.product;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import sample.cafekiosk.spring.ControllerTestSupport;
 import sample.cafekiosk.spring.api.controller.product.dto.request.ProductCreateRequest;
 import sample.cafekiosk.spring.api.service.product.ProductService;
+import sample.cafekiosk.spring.api.service.product.SellingMenuSnapshotService;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.domain.product.ProductChangedEvent;
 import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
 import sample.cafekiosk.spring.domain.product.ProductType;
 
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 // 서비스 레이어 하위로는 다 mocking 처리를 한다. -> mocking 처리를 도와주는 테스트 프레임워크: MockMvc
 // 그리고 MockMvc 를 사용하려면 @WebMvcTest 라는 애가 필요하다. ( @SpringBootTest 는 전체 빈 컨텍스트를 다 띄우는 어노테이션이라면, @WebMvcTest 는 컨트롤러 관련된 빈들만 올릴 수 있는 가벼운 테스트 어노테이션 이라고 생각하자. )
 // @WebMvcTest(controllers = ProductController.class) // 테스트 하고자 하는 컨트롤러를 명시해주면 된다.
@@ -36,6 +44,14 @@ class ProductControllerTest extends ControllerTestSupport {
     //@MockBean // @MockBean 은 컨테이너에 mockito 로 만든 Mock 객체를 넣어주는 역할을 한다. ( ProductService 는 이미 빈으로 관리되고 있다. 빈에 적용하면, ProductService 대신 ProductService Mock 객체를 대신 컨테이너에 넣어준다. )
     //private ProductService productService;
 
+    @Autowired
+    private SellingMenuSnapshotService sellingMenuSnapshotService;
+
+    @BeforeEach
+    void setUp() {
+        sellingMenuSnapshotService.invalidate(); // 컨텍스트가 재사용되므로, 이전 테스트에서 만들어둔 목록 응답이 남아있지 않도록 한다.
+    }
+
     /**
      * 컨트롤러 테스트
      * - 1) 요청이 정상적으로 처리되는가 ? (요청 자체에 대한 검증)
@@ -178,6 +194,65 @@ class ProductControllerTest extends ControllerTestSupport {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.data").isArray()); // Java의 List 타입은 JSON으로 직렬화될 때 배열(Array) 형태로 변환되기 때문에 isArray()로 확인하면 된다. ( https://www.inflearn.com/questions/1105245/data%EA%B0%80-isarray-ture%EC%9D%B8-%EC%9D%B4%EC%9C%A0 )
     }
 
+
+    @DisplayName("판매 상품 목록을 조회하면 ETag 를 함께 내려주고, 같은 ETag 로 다시 조회하면 본문 없이 304 로 응답한다.")
+    @Test
+    public void getSellingProductsNotModified() throws Exception {
+        // given
+        Mockito.when(productService.getSellingProducts()).thenReturn(List.of(createProductResponse("001")));
+
+        MvcResult firstResult = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/products/selling"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.ETAG))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data[0].productNumber").value("001"))
+                .andReturn();
+        String eTag = firstResult.getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when & then
+        MvcResult secondResult = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/products/selling")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, eTag))
+                .andReturn();
+
+        assertThat(secondResult.getResponse().getContentAsByteArray()).isEmpty();
+        Mockito.verify(productService, Mockito.times(1)).getSellingProducts(); // 두 번째 요청은 만들어둔 응답을 사용한다.
+    }
+
+    @DisplayName("상품이 변경되면 판매 상품 목록 응답을 다시 만들고, 이전 ETag 로 조회해도 새 목록을 내려준다.")
+    @Test
+    public void getSellingProductsAfterProductChanged() throws Exception {
+        // given
+        Mockito.when(productService.getSellingProducts()).thenReturn(List.of(createProductResponse("001")));
+        String oldETag = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/products/selling"))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        Mockito.when(productService.getSellingProducts()).thenReturn(List.of(createProductResponse("001"), createProductResponse("002")));
+        sellingMenuSnapshotService.onProductChanged(new ProductChangedEvent("002"));
+
+        // when & then
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/products/selling")
+                        .header(HttpHeaders.IF_NONE_MATCH, oldETag))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, Matchers.not(oldETag)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data.length()").value(2));
+    }
+
+    private ProductResponse createProductResponse(String productNumber) {
+        return ProductResponse.builder()
+                .id(1L)
+                .productNumber(productNumber)
+                .type(ProductType.HANDMADE)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name("아메리카노")
+                .price(4000)
+                .build();
+    }
+
 }
 
 // [ 참고 ]
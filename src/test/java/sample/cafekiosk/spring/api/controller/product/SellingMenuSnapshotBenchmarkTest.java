@@ -0,0 +1,121 @@
+package sample.cafekiosk.spring.api.controller.product;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.api.service.product.SellingMenuSnapshotService;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 판매 상품 목록 조회(GET /api/v1/products/selling) 한 건당 CPU 시간을 비교한다.
+ * - before   : 요청마다 목록을 직렬화하는 경우 ( 매 요청 전에 만들어둔 응답을 무효화한다. )
+ * - snapshot : 만들어둔 응답(byte[])을 그대로 내려주는 경우
+ * - 304      : 키오스크가 ETag 를 보내서 본문 없이 응답하는 경우
+ * - MockMvc 는 요청을 호출한 스레드에서 처리하므로, 현재 스레드의 CPU 시간으로 측정한다.
+ * - 실행: ./gradlew benchmark --tests '*SellingMenuSnapshotBenchmarkTest'
+ */
+@Tag("benchmark")
+@AutoConfigureMockMvc
+class SellingMenuSnapshotBenchmarkTest extends IntegrationTestSupport {
+
+    private static final int PRODUCT_COUNT = 100;
+    private static final int WARM_UP_REQUESTS = 2_000;
+    private static final int REQUESTS = 10_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SellingMenuSnapshotService sellingMenuSnapshotService;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.saveAll(IntStream.rangeClosed(1, PRODUCT_COUNT)
+                .mapToObj(i -> createProduct(String.format("%03d", i)))
+                .toList());
+        sellingMenuSnapshotService.invalidate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAllInBatch();
+        sellingMenuSnapshotService.invalidate();
+    }
+
+    @DisplayName("만들어둔 응답을 내려주면 요청마다 직렬화하는 것보다 요청당 CPU 시간이 적다.")
+    @Test
+    public void cpuTimePerRequest() throws Exception {
+        // given
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        assertThat(threadMXBean.isCurrentThreadCpuTimeSupported()).isTrue();
+        String eTag = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/products/selling"))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        // when
+        long beforeNanos = measureCpuNanosPerRequest(threadMXBean, () -> {
+            sellingMenuSnapshotService.invalidate();
+            mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/products/selling"));
+        });
+        long snapshotNanos = measureCpuNanosPerRequest(threadMXBean,
+                () -> mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/products/selling")));
+        long notModifiedNanos = measureCpuNanosPerRequest(threadMXBean,
+                () -> mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/products/selling").header(HttpHeaders.IF_NONE_MATCH, eTag)));
+
+        // then
+        System.out.printf("[products=%d, requests=%d] cpu/request: before=%dus, snapshot=%dus, 304=%dus%n",
+                PRODUCT_COUNT, REQUESTS, beforeNanos / 1_000, snapshotNanos / 1_000, notModifiedNanos / 1_000);
+
+        assertThat(snapshotNanos).isLessThan(beforeNanos);
+        assertThat(notModifiedNanos).isLessThan(beforeNanos);
+    }
+
+    private long measureCpuNanosPerRequest(ThreadMXBean threadMXBean, Request request) throws Exception {
+        for (int i = 0; i < WARM_UP_REQUESTS; i++) {
+            request.perform();
+        }
+
+        long start = threadMXBean.getCurrentThreadCpuTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            request.perform();
+        }
+        return (threadMXBean.getCurrentThreadCpuTime() - start) / REQUESTS;
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        void perform() throws Exception;
+    }
+
+    private Product createProduct(String productNumber) {
+        return Product.builder()
+                .type(ProductType.HANDMADE)
+                .productNumber(productNumber)
+                .price(4000)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name("메뉴 " + productNumber)
+                .build();
+    }
+}
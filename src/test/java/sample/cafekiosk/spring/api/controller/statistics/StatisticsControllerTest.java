@@ -0,0 +1,71 @@
+package sample.cafekiosk.spring.api.controller.statistics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import sample.cafekiosk.spring.ControllerTestSupport;
+import sample.cafekiosk.spring.api.service.order.SalesGranularity;
+import sample.cafekiosk.spring.api.service.order.response.SalesTimeSeriesPointResponse;
+import sample.cafekiosk.spring.api.service.order.response.SalesTimeSeriesResponse;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+
+class StatisticsControllerTest extends ControllerTestSupport {
+
+    @DisplayName("기간 내 매출 추이를 조회한다.")
+    @Test
+    public void getSales() throws Exception {
+        // given
+        LocalDate fromDate = LocalDate.of(2024, 1, 1);
+        LocalDate toDate = LocalDate.of(2024, 1, 14);
+        BDDMockito.given(orderStatisticsService.getSalesTimeSeries(fromDate, toDate, SalesGranularity.WEEK, OrderStatus.PAYMENT_COMPLETED))
+                .willReturn(SalesTimeSeriesResponse.builder()
+                        .fromDate(fromDate)
+                        .toDate(toDate)
+                        .granularity(SalesGranularity.WEEK)
+                        .orderStatus(OrderStatus.PAYMENT_COMPLETED)
+                        .totalOrderCount(3)
+                        .totalPrice(12000)
+                        .points(List.of(
+                                SalesTimeSeriesPointResponse.builder().startDateTime(fromDate.atStartOfDay()).orderCount(2).totalPrice(8000).build(),
+                                SalesTimeSeriesPointResponse.builder().startDateTime(fromDate.plusDays(7).atStartOfDay()).orderCount(1).totalPrice(4000).build()
+                        ))
+                        .build());
+
+        // when & then
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/statistics/sales")
+                        .param("from", "2024-01-01")
+                        .param("to", "2024-01-14")
+                        .param("granularity", "WEEK"))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.code").value("200"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data.totalPrice").value(12000))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data.points").isArray())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data.points.length()").value(2));
+    }
+
+    @DisplayName("매출 추이를 조회할 때 기간이 올바르지 않으면 400 으로 응답한다.")
+    @Test
+    public void getSalesWithInvalidPeriod() throws Exception {
+        // given
+        BDDMockito.given(orderStatisticsService.getSalesTimeSeries(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .willThrow(new IllegalArgumentException("조회 시작일은 종료일보다 늦을 수 없습니다."));
+
+        // when & then
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/statistics/sales")
+                        .param("from", "2024-01-14")
+                        .param("to", "2024-01-01"))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.code").value("400"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message").value("조회 시작일은 종료일보다 늦을 수 없습니다."))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data").isEmpty());
+    }
+}
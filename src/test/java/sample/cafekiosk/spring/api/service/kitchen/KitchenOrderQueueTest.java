@@ -0,0 +1,201 @@
+package sample.cafekiosk.spring.api.service.kitchen;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.api.service.kitchen.response.KitchenOrderResponse;
+import sample.cafekiosk.spring.api.service.order.OrderStatusService;
+import sample.cafekiosk.spring.api.service.order.request.OrderStatusChangeServiceRequest;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.sales.DailyProductSalesSummaryRepository;
+import sample.cafekiosk.spring.domain.sales.DailySalesSummaryRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+class KitchenOrderQueueTest extends IntegrationTestSupport {
+
+    @Autowired
+    private KitchenOrderQueue kitchenOrderQueue;
+
+    @Autowired
+    private OrderStatusService orderStatusService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private DailySalesSummaryRepository dailySalesSummaryRepository;
+
+    @Autowired
+    private DailyProductSalesSummaryRepository dailyProductSalesSummaryRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Product latte;
+    private Product americano;
+    private Product bottle;
+
+    @BeforeEach
+    void setUp() {
+        kitchenOrderQueue.clear();
+        latte = productRepository.save(createProduct(ProductType.HANDMADE, "001", 4500, "카페라떼"));
+        americano = productRepository.save(createProduct(ProductType.HANDMADE, "002", 4000, "아메리카노"));
+        bottle = productRepository.save(createProduct(ProductType.BOTTLE, "003", 2000, "병 음료"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        dailySalesSummaryRepository.deleteAllInBatch();
+        dailyProductSalesSummaryRepository.deleteAllInBatch();
+        kitchenOrderQueue.clear();
+    }
+
+    @DisplayName("접수된 주문 중 제조 음료가 있는 주문만, 먼저 들어온 순서로 대기열에 들어온다.")
+    @Test
+    void enqueueReceivedOrders() {
+        // given
+        Order laterOrder = createOrder(LocalDateTime.of(2024, 1, 1, 10, 0), OrderStatus.PAYMENT_COMPLETED, latte, latte, bottle);
+        Order earlierOrder = createOrder(LocalDateTime.of(2024, 1, 1, 9, 0), OrderStatus.PAYMENT_COMPLETED, americano);
+        Order bottleOrder = createOrder(LocalDateTime.of(2024, 1, 1, 9, 30), OrderStatus.PAYMENT_COMPLETED, bottle);
+
+        // when
+        changeOrderStatuses(OrderStatus.RECEIVED, laterOrder, earlierOrder, bottleOrder);
+
+        // then
+        List<KitchenOrderResponse> orders = kitchenOrderQueue.getOrders();
+        assertThat(orders)
+                .extracting("orderId")
+                .containsExactly(earlierOrder.getId(), laterOrder.getId());
+        assertThat(orders.get(1).getItems())
+                .extracting("productNumber", "name", "quantity")
+                .containsExactly(tuple("001", "카페라떼", 2));
+    }
+
+    @DisplayName("처리완료되거나 취소된 주문은 대기열에서 빠진다.")
+    @Test
+    void dequeueCompletedOrCanceledOrders() {
+        // given
+        Order completedOrder = createOrder(LocalDateTime.of(2024, 1, 1, 9, 0), OrderStatus.PAYMENT_COMPLETED, latte);
+        Order canceledOrder = createOrder(LocalDateTime.of(2024, 1, 1, 9, 10), OrderStatus.PAYMENT_COMPLETED, americano);
+        Order waitingOrder = createOrder(LocalDateTime.of(2024, 1, 1, 9, 20), OrderStatus.PAYMENT_COMPLETED, latte);
+        changeOrderStatuses(OrderStatus.RECEIVED, completedOrder, canceledOrder, waitingOrder);
+
+        // when
+        changeOrderStatuses(OrderStatus.COMPLETED, completedOrder);
+        changeOrderStatuses(OrderStatus.CANCELED, canceledOrder);
+
+        // then
+        assertThat(kitchenOrderQueue.getOrders())
+                .extracting("orderId")
+                .containsExactly(waitingOrder.getId());
+    }
+
+    @DisplayName("접수가 롤백되면 대기열에 들어오지 않는다.")
+    @Test
+    void noEnqueueOnRollback() {
+        // given
+        Order order = createOrder(LocalDateTime.of(2024, 1, 1, 9, 0), OrderStatus.PAYMENT_COMPLETED, latte);
+
+        // when
+        transactionTemplate.executeWithoutResult(status -> {
+            Order savedOrder = orderRepository.findById(order.getId()).orElseThrow();
+            savedOrder.changeOrderStatus(OrderStatus.RECEIVED);
+            orderRepository.save(savedOrder);
+            status.setRollbackOnly();
+        });
+
+        // then
+        assertThat(kitchenOrderQueue.getOrders()).isEmpty();
+    }
+
+    @DisplayName("저장하기 전에 접수 상태로 바꾼 주문도 저장된 주문 id 로 대기열에 들어온다.")
+    @Test
+    void enqueueOrderReceivedBeforeSave() {
+        // given
+        Order order = Order.create(List.of(latte), LocalDateTime.of(2024, 1, 1, 9, 0));
+        order.changeOrderStatus(OrderStatus.PAYMENT_COMPLETED);
+        order.changeOrderStatus(OrderStatus.RECEIVED);
+
+        // when
+        Order savedOrder = orderRepository.save(order);
+
+        // then
+        assertThat(kitchenOrderQueue.getOrders())
+                .extracting("orderId")
+                .containsExactly(savedOrder.getId());
+    }
+
+    @DisplayName("대기열을 다시 만들면 접수 상태의 주문으로 채워진다.")
+    @Test
+    void rebuild() {
+        // given
+        Order receivedOrder = createOrder(LocalDateTime.of(2024, 1, 1, 9, 0), OrderStatus.RECEIVED, latte, americano);
+        createOrder(LocalDateTime.of(2024, 1, 1, 9, 10), OrderStatus.COMPLETED, latte);
+
+        // when
+        kitchenOrderQueue.rebuild();
+
+        // then
+        List<KitchenOrderResponse> orders = kitchenOrderQueue.getOrders();
+        assertThat(orders)
+                .extracting("orderId")
+                .containsExactly(receivedOrder.getId());
+        assertThat(orders.get(0).getItems())
+                .extracting("productNumber", "quantity")
+                .containsExactly(
+                        tuple("001", 1),
+                        tuple("002", 1)
+                );
+    }
+
+    private void changeOrderStatuses(OrderStatus orderStatus, Order... orders) {
+        OrderStatusChangeServiceRequest request = OrderStatusChangeServiceRequest.builder()
+                .orderIds(List.of(orders).stream().map(Order::getId).toList())
+                .orderStatus(orderStatus)
+                .build();
+        orderStatusService.changeOrderStatuses(request, LocalDateTime.now());
+    }
+
+    private Order createOrder(LocalDateTime registeredDateTime, OrderStatus orderStatus, Product... products) {
+        return orderRepository.save(Order.builder()
+                .products(List.of(products))
+                .orderStatus(orderStatus)
+                .registeredDateTime(registeredDateTime)
+                .build());
+    }
+
+    private Product createProduct(ProductType type, String productNumber, int price, String name) {
+        return Product.builder()
+                .type(type)
+                .productNumber(productNumber)
+                .price(price)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name(name)
+                .build();
+    }
+}
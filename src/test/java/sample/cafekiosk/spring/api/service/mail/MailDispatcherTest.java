@@ -0,0 +1,190 @@
+package sample.cafekiosk.spring.api.service.mail;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import sample.cafekiosk.spring.client.mail.MailSendClient;
+import sample.cafekiosk.spring.domain.history.mail.MailSendHistory;
+import sample.cafekiosk.spring.domain.history.mail.MailSendHistoryRepository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+
+/**
+ * 스프링 없이 지연시간을 줄 수 있는 가짜 메일 클라이언트(FakeMailSendClient)로 검증한다.
+ */
+class MailDispatcherTest {
+
+    private final MailSendHistoryRepository mailSendHistoryRepository = Mockito.mock(MailSendHistoryRepository.class);
+
+    private MailDispatcher mailDispatcher;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mailDispatcher.shutdown();
+    }
+
+    @DisplayName("메일을 대기열에 넣으면 워커가 발송하고, 발송 이력은 여러 건을 묶어서 저장한다.")
+    @Test
+    public void dispatch() throws Exception {
+        // given
+        FakeMailSendClient mailSendClient = new FakeMailSendClient(Duration.ofMillis(5), 0);
+        mailDispatcher = createMailDispatcher(mailSendClient, 1000, 2, 50);
+
+        // when
+        List<CompletableFuture<Boolean>> results = IntStream.range(0, 200)
+                .mapToObj(i -> mailDispatcher.dispatch("from@test.com", "to@test.com", "제목", "내용 " + i))
+                .toList();
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+
+        // then
+        assertThat(results).allMatch(CompletableFuture::join);
+        assertThat(mailSendClient.getSendCount()).isEqualTo(200);
+
+        ArgumentCaptor<List<MailSendHistory>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(mailSendHistoryRepository, Mockito.atMost(199)).saveAll(captor.capture());
+        assertThat(captor.getAllValues().stream().mapToInt(List::size).sum()).isEqualTo(200);
+        assertThat(captor.getAllValues()).anyMatch(histories -> histories.size() > 1);
+    }
+
+    @DisplayName("메일 서버가 느려도 대기열에 넣는 호출은 바로 반환된다.")
+    @Test
+    public void dispatchWithSlowMailServer() throws Exception {
+        // given
+        FakeMailSendClient mailSendClient = new FakeMailSendClient(Duration.ofMillis(500), 0);
+        mailDispatcher = createMailDispatcher(mailSendClient, 100, 1, 10);
+
+        // when
+        long start = System.nanoTime();
+        CompletableFuture<Boolean> result = mailDispatcher.dispatch("from@test.com", "to@test.com", "제목", "내용");
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // then
+        assertThat(elapsedMillis).isLessThan(100);
+        assertThat(result.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @DisplayName("메일 전송에 실패하면 최대 시도 횟수까지 다시 시도한다.")
+    @Test
+    public void dispatchWithRetry() throws Exception {
+        // given
+        FakeMailSendClient mailSendClient = new FakeMailSendClient(Duration.ZERO, 2);
+        mailDispatcher = createMailDispatcher(mailSendClient, 100, 1, 10);
+
+        // when
+        CompletableFuture<Boolean> result = mailDispatcher.dispatch("from@test.com", "to@test.com", "제목", "내용");
+
+        // then
+        assertThat(result.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(mailSendClient.getSendCount()).isEqualTo(3);
+        Mockito.verify(mailSendHistoryRepository, Mockito.times(1)).saveAll(anyList());
+    }
+
+    @DisplayName("최대 시도 횟수까지 모두 실패하면 발송 결과는 false 이고, 발송 이력은 남기지 않는다.")
+    @Test
+    public void dispatchWithExhaustedRetries() throws Exception {
+        // given
+        FakeMailSendClient mailSendClient = new FakeMailSendClient(Duration.ZERO, Integer.MAX_VALUE);
+        mailDispatcher = createMailDispatcher(mailSendClient, 100, 1, 10);
+
+        // when
+        CompletableFuture<Boolean> result = mailDispatcher.dispatch("from@test.com", "to@test.com", "제목", "내용");
+
+        // then
+        assertThat(result.get(5, TimeUnit.SECONDS)).isFalse();
+        assertThat(mailSendClient.getSendCount()).isEqualTo(3);
+        Mockito.verify(mailSendHistoryRepository, Mockito.never()).saveAll(anyList());
+    }
+
+    @DisplayName("발송 대기열이 가득 차 있으면 메일을 넣을 수 없다.")
+    @Test
+    public void dispatchWithFullQueue() throws Exception {
+        // given
+        FakeMailSendClient mailSendClient = new FakeMailSendClient(Duration.ofSeconds(1), 0);
+        mailDispatcher = createMailDispatcher(mailSendClient, 1, 1, 1);
+
+        mailDispatcher.dispatch("from@test.com", "to@test.com", "제목", "내용 1"); // 워커가 꺼내서 발송 중
+        Thread.sleep(200);
+        mailDispatcher.dispatch("from@test.com", "to@test.com", "제목", "내용 2"); // 대기열을 채운다.
+
+        // when & then
+        assertThatThrownBy(() -> mailDispatcher.dispatch("from@test.com", "to@test.com", "제목", "내용 3"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("메일 발송 대기열이 가득 찼습니다.");
+    }
+
+    @DisplayName("종료할 때 기다리는 시간 안에 보내지 못한 메일은 발송 결과가 false 로 끝나고, 종료된 뒤에는 메일을 넣을 수 없다.")
+    @Test
+    public void shutdownWithLeftovers() throws Exception {
+        // given
+        FakeMailSendClient mailSendClient = new FakeMailSendClient(Duration.ofSeconds(1), 0);
+        mailDispatcher = createMailDispatcher(mailSendClient, 10, 1, 1, Duration.ofMillis(100));
+
+        List<CompletableFuture<Boolean>> results = IntStream.range(0, 5)
+                .mapToObj(i -> mailDispatcher.dispatch("from@test.com", "to@test.com", "제목", "내용 " + i))
+                .toList();
+
+        // when
+        mailDispatcher.shutdown();
+
+        // then
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+        assertThat(results).noneMatch(CompletableFuture::join);
+        assertThat(mailDispatcher.getQueueSize()).isZero();
+        assertThatThrownBy(() -> mailDispatcher.dispatch("from@test.com", "to@test.com", "제목", "내용"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("메일 발송이 종료되었습니다.");
+    }
+
+    private MailDispatcher createMailDispatcher(MailSendClient mailSendClient, int queueCapacity, int workerCount, int batchSize) {
+        return createMailDispatcher(mailSendClient, queueCapacity, workerCount, batchSize, Duration.ofSeconds(30));
+    }
+
+    private MailDispatcher createMailDispatcher(MailSendClient mailSendClient, int queueCapacity, int workerCount, int batchSize,
+                                                Duration shutdownTimeout) {
+        MailDispatcher dispatcher = new MailDispatcher(mailSendClient, mailSendHistoryRepository,
+                queueCapacity, workerCount, batchSize, 3, Duration.ofMillis(10), Duration.ofMillis(50), shutdownTimeout, false);
+        dispatcher.start();
+        return dispatcher;
+    }
+
+    /**
+     * 전송마다 latency 만큼 걸리고, 처음 failureCount 번은 실패하는 가짜 메일 클라이언트
+     */
+    private static class FakeMailSendClient extends MailSendClient {
+
+        private final Duration latency;
+        private final int failureCount;
+        private final AtomicInteger sendCount = new AtomicInteger();
+
+        FakeMailSendClient(Duration latency, int failureCount) {
+            this.latency = latency;
+            this.failureCount = failureCount;
+        }
+
+        @Override
+        public boolean sendEmail(String fromEmail, String toEmail, String subject, String content) {
+            try {
+                Thread.sleep(latency.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            return sendCount.incrementAndGet() > failureCount;
+        }
+
+        int getSendCount() {
+            return sendCount.get();
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.sales.DailyProductSalesSummary;
+import sample.cafekiosk.spring.domain.sales.DailyProductSalesSummaryRepository;
+import sample.cafekiosk.spring.domain.sales.DailySalesSummaryRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class DailySalesSummaryServiceTest extends IntegrationTestSupport {
+
+    private static final LocalDate SALES_DATE = LocalDate.of(2023, 3, 5);
+
+    @Autowired
+    private DailySalesSummaryService dailySalesSummaryService;
+
+    @Autowired
+    private DailySalesSummaryRepository dailySalesSummaryRepository;
+
+    @Autowired
+    private DailyProductSalesSummaryRepository dailyProductSalesSummaryRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        dailySalesSummaryRepository.deleteAllInBatch();
+        dailyProductSalesSummaryRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("주문이 저장되면 일자 / 주문 상태별 매출 집계와 상품별 판매 수량이 증가한다.")
+    @Test
+    public void onOrderCreated() throws Exception {
+        // given
+        Product product1 = createProduct("001", 1000);
+        Product product2 = createProduct("002", 3000);
+        productRepository.saveAll(List.of(product1, product2));
+
+        // when
+        orderRepository.save(createOrder(SALES_DATE.atTime(10, 0), OrderStatus.PAYMENT_COMPLETED, List.of(product1, product1, product2)));
+        orderRepository.saveAll(List.of(
+                createOrder(SALES_DATE.atTime(11, 0), OrderStatus.PAYMENT_COMPLETED, List.of(product2)),
+                createOrder(SALES_DATE.plusDays(1).atStartOfDay(), OrderStatus.PAYMENT_COMPLETED, List.of(product2))
+        ));
+
+        // then
+        assertThat(dailySalesSummaryService.getTotalPrice(SALES_DATE, OrderStatus.PAYMENT_COMPLETED)).isEqualTo(8000);
+        assertThat(dailySalesSummaryRepository.findAllByIdSalesDate(SALES_DATE))
+                .extracting(summary -> summary.getId().getOrderStatus(), summary -> summary.getOrderCount(), summary -> summary.getTotalPrice())
+                .containsExactly(tuple(OrderStatus.PAYMENT_COMPLETED, 2L, 8000L));
+        assertThat(dailyProductSalesSummaryRepository.findAllByIdSalesDateAndIdOrderStatus(SALES_DATE, OrderStatus.PAYMENT_COMPLETED))
+                .extracting(summary -> summary.getId().getProductNumber(), DailyProductSalesSummary::getQuantity)
+                .containsExactlyInAnyOrder(
+                        tuple("001", 2L),
+                        tuple("002", 2L)
+                );
+    }
+
+    @DisplayName("집계 row 가 지워진 뒤에 들어온 주문은 집계 row 를 다시 만들어 반영한다.")
+    @Test
+    public void onOrderCreatedAfterSummaryDeleted() throws Exception {
+        // given
+        Product product = createProduct("001", 1000);
+        productRepository.save(product);
+        orderRepository.save(createOrder(SALES_DATE.atTime(10, 0), OrderStatus.PAYMENT_COMPLETED, List.of(product)));
+        dailySalesSummaryRepository.deleteAllInBatch();
+        dailyProductSalesSummaryRepository.deleteAllInBatch();
+
+        // when
+        orderRepository.save(createOrder(SALES_DATE.atTime(11, 0), OrderStatus.PAYMENT_COMPLETED, List.of(product, product)));
+
+        // then
+        assertThat(dailySalesSummaryService.getTotalPrice(SALES_DATE, OrderStatus.PAYMENT_COMPLETED)).isEqualTo(2000);
+        assertThat(dailyProductSalesSummaryRepository.findAllByIdSalesDateAndIdOrderStatus(SALES_DATE, OrderStatus.PAYMENT_COMPLETED))
+                .extracting(summary -> summary.getId().getProductNumber(), DailyProductSalesSummary::getQuantity)
+                .containsExactly(tuple("001", 2L));
+    }
+
+    @DisplayName("다음 날의 주문 상태별 매출 집계 row 를 0 으로 미리 만들고, 이미 있는 row 는 그대로 둔다.")
+    @Test
+    public void prepareNextDay() throws Exception {
+        // given
+        LocalDate nextDay = LocalDate.now().plusDays(1);
+        Product product = createProduct("001", 1000);
+        productRepository.save(product);
+        orderRepository.save(createOrder(nextDay.atTime(10, 0), OrderStatus.PAYMENT_COMPLETED, List.of(product)));
+
+        // when
+        dailySalesSummaryService.prepareNextDay();
+
+        // then
+        assertThat(dailySalesSummaryRepository.findAllByIdSalesDate(nextDay))
+                .hasSize(OrderStatus.values().length)
+                .allMatch(summary -> summary.getId().getOrderStatus() == OrderStatus.PAYMENT_COMPLETED
+                        ? summary.getOrderCount() == 1 && summary.getTotalPrice() == 1000
+                        : summary.getOrderCount() == 0 && summary.getTotalPrice() == 0);
+    }
+
+    @DisplayName("주문 생성이 롤백되면 매출 집계도 반영되지 않는다.")
+    @Test
+    public void onOrderCreatedWithRollback() throws Exception {
+        // given
+        Product product = createProduct("001", 1000);
+        productRepository.save(product);
+
+        // when
+        transactionTemplate.executeWithoutResult(status -> {
+            orderRepository.save(createOrder(SALES_DATE.atTime(10, 0), OrderStatus.PAYMENT_COMPLETED, List.of(product)));
+            status.setRollbackOnly();
+        });
+
+        // then
+        assertThat(dailySalesSummaryService.getTotalPrice(SALES_DATE, OrderStatus.PAYMENT_COMPLETED)).isZero();
+        assertThat(dailyProductSalesSummaryRepository.findAll()).isEmpty();
+    }
+
+    @DisplayName("주문 상태가 바뀌면 이전 상태의 매출 집계에서 빼고, 바뀐 상태의 매출 집계에 더한다.")
+    @Test
+    public void onOrderStatusChanged() throws Exception {
+        // given
+        Product product = createProduct("001", 1000);
+        productRepository.save(product);
+        Order order1 = orderRepository.save(createOrder(SALES_DATE.atTime(10, 0), OrderStatus.PAYMENT_COMPLETED, List.of(product)));
+        orderRepository.save(createOrder(SALES_DATE.atTime(11, 0), OrderStatus.PAYMENT_COMPLETED, List.of(product, product)));
+
+        // when
+        transactionTemplate.executeWithoutResult(status -> {
+            Order order = orderRepository.findById(order1.getId()).orElseThrow();
+            order.changeOrderStatus(OrderStatus.CANCELED);
+            orderRepository.save(order);
+        });
+
+        // then
+        assertThat(dailySalesSummaryService.getTotalPrice(SALES_DATE, OrderStatus.PAYMENT_COMPLETED)).isEqualTo(2000);
+        assertThat(dailySalesSummaryService.getTotalPrice(SALES_DATE, OrderStatus.CANCELED)).isEqualTo(1000);
+        assertThat(dailyProductSalesSummaryRepository.findAllByIdSalesDateAndIdOrderStatus(SALES_DATE, OrderStatus.CANCELED))
+                .extracting(summary -> summary.getId().getProductNumber(), DailyProductSalesSummary::getQuantity)
+                .containsExactly(tuple("001", 1L));
+    }
+
+    @DisplayName("기간 내 매출 집계를 orders 테이블에서 다시 만든다.")
+    @Test
+    public void rebuild() throws Exception {
+        // given
+        Product product1 = createProduct("001", 1000);
+        Product product2 = createProduct("002", 3000);
+        productRepository.saveAll(List.of(product1, product2));
+        orderRepository.saveAll(List.of(
+                createOrder(SALES_DATE.atTime(10, 0), OrderStatus.PAYMENT_COMPLETED, List.of(product1, product2)),
+                createOrder(SALES_DATE.atTime(11, 0), OrderStatus.CANCELED, List.of(product2))
+        ));
+        dailySalesSummaryRepository.deleteAllInBatch(); // 집계를 도입하기 전의 주문
+        dailyProductSalesSummaryRepository.deleteAllInBatch();
+
+        // when
+        dailySalesSummaryService.rebuild(SALES_DATE, SALES_DATE);
+
+        // then
+        assertThat(dailySalesSummaryRepository.findAllByIdSalesDate(SALES_DATE))
+                .extracting(summary -> summary.getId().getOrderStatus(), summary -> summary.getOrderCount(), summary -> summary.getTotalPrice())
+                .containsExactlyInAnyOrder(
+                        tuple(OrderStatus.PAYMENT_COMPLETED, 1L, 4000L),
+                        tuple(OrderStatus.CANCELED, 1L, 3000L)
+                );
+        assertThat(dailyProductSalesSummaryRepository.findAllByIdSalesDateAndIdOrderStatus(SALES_DATE, OrderStatus.PAYMENT_COMPLETED))
+                .extracting(summary -> summary.getId().getProductNumber(), DailyProductSalesSummary::getQuantity)
+                .containsExactlyInAnyOrder(
+                        tuple("001", 1L),
+                        tuple("002", 1L)
+                );
+    }
+
+    @DisplayName("매출 집계가 orders 테이블과 어긋나 있으면 어긋난 주문 상태를 반환하고 집계를 다시 만든다.")
+    @Test
+    public void reconcile() throws Exception {
+        // given
+        Product product = createProduct("001", 1000);
+        productRepository.save(product);
+        orderRepository.save(createOrder(SALES_DATE.atTime(10, 0), OrderStatus.PAYMENT_COMPLETED, List.of(product)));
+        transactionTemplate.executeWithoutResult(status -> { // 어긋난 집계
+            dailySalesSummaryRepository.insertIfAbsent(SALES_DATE, OrderStatus.CANCELED.name());
+            dailySalesSummaryRepository.addSales(SALES_DATE, OrderStatus.CANCELED, 1, 500);
+        });
+
+        // when
+        Set<OrderStatus> mismatchedStatuses = dailySalesSummaryService.reconcile(SALES_DATE);
+
+        // then
+        assertThat(mismatchedStatuses).containsExactly(OrderStatus.CANCELED);
+        assertThat(dailySalesSummaryService.getTotalPrice(SALES_DATE, OrderStatus.CANCELED)).isZero();
+        assertThat(dailySalesSummaryService.getTotalPrice(SALES_DATE, OrderStatus.PAYMENT_COMPLETED)).isEqualTo(1000);
+    }
+
+    @DisplayName("주문 수와 매출 합계가 같아도 상품별 판매 수량이 어긋나 있으면 집계를 다시 만든다.")
+    @Test
+    public void reconcileWithMismatchedProductQuantity() throws Exception {
+        // given
+        Product product1 = createProduct("001", 1000);
+        Product product2 = createProduct("002", 1000);
+        productRepository.saveAll(List.of(product1, product2));
+        orderRepository.save(createOrder(SALES_DATE.atTime(10, 0), OrderStatus.PAYMENT_COMPLETED, List.of(product1)));
+        transactionTemplate.executeWithoutResult(status -> { // 주문한 상품과 다른 상품으로 집계된 상황
+            dailyProductSalesSummaryRepository.upsertQuantity(SALES_DATE, OrderStatus.PAYMENT_COMPLETED.name(), "001", -1);
+            dailyProductSalesSummaryRepository.upsertQuantity(SALES_DATE, OrderStatus.PAYMENT_COMPLETED.name(), "002", 1);
+        });
+
+        // when
+        Set<OrderStatus> mismatchedStatuses = dailySalesSummaryService.reconcile(SALES_DATE);
+
+        // then
+        assertThat(mismatchedStatuses).containsExactly(OrderStatus.PAYMENT_COMPLETED);
+        assertThat(dailyProductSalesSummaryRepository.findAllByIdSalesDateAndIdOrderStatus(SALES_DATE, OrderStatus.PAYMENT_COMPLETED))
+                .extracting(summary -> summary.getId().getProductNumber(), DailyProductSalesSummary::getQuantity)
+                .containsExactly(tuple("001", 1L));
+    }
+
+    @DisplayName("매출 집계가 orders 테이블과 일치하면 아무것도 바꾸지 않는다.")
+    @Test
+    public void reconcileWithoutMismatch() throws Exception {
+        // given
+        Product product = createProduct("001", 1000);
+        productRepository.save(product);
+        orderRepository.save(createOrder(SALES_DATE.atTime(10, 0), OrderStatus.PAYMENT_COMPLETED, List.of(product)));
+
+        // when
+        Set<OrderStatus> mismatchedStatuses = dailySalesSummaryService.reconcile(SALES_DATE);
+
+        // then
+        assertThat(mismatchedStatuses).isEmpty();
+    }
+
+    private Order createOrder(LocalDateTime registeredDateTime, OrderStatus orderStatus, List<Product> products) {
+        return Order.builder()
+                .products(products)
+                .orderStatus(orderStatus)
+                .registeredDateTime(registeredDateTime)
+                .build();
+    }
+
+    private Product createProduct(String productNumber, int price) {
+        return Product.builder()
+                .type(ProductType.HANDMADE)
+                .productNumber(productNumber)
+                .price(price)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name("메뉴 " + productNumber)
+                .build();
+    }
+}
@@ -0,0 +1,113 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderBatchResponse;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * N 건의 주문을 createOrder 로 한 건씩 등록하는 경우와 createOrders 로 한 번에 등록하는 경우의 처리 시간을 비교한다.
+ * - 실행: ./gradlew benchmark --tests '*OrderBatchBenchmarkTest'
+ */
+@Tag("benchmark")
+class OrderBatchBenchmarkTest extends IntegrationTestSupport {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.saveAll(List.of(
+                createProduct(ProductType.BOTTLE, "001", 1000, "생수"),
+                createProduct(ProductType.BAKERY, "002", 3000, "단팥빵"),
+                createProduct(ProductType.HANDMADE, "003", 5000, "아메리카노")
+        ));
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderProductRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        stockRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("N 건의 주문을 한 건씩 등록하는 것보다 한 번에 등록하는 것이 빠르다.")
+    @ValueSource(ints = {100, 1000})
+    @ParameterizedTest
+    public void sequentialVsBatch(int orderCount) throws Exception {
+        // given
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+        List<OrderCreateServiceRequest> requests = IntStream.range(0, orderCount)
+                .mapToObj(i -> OrderCreateServiceRequest.builder()
+                        .productNumbers(List.of("001", "002", "003"))
+                        .build())
+                .toList();
+
+        // when
+        resetStocks(orderCount);
+        long sequentialStart = System.nanoTime();
+        requests.forEach(request -> orderService.createOrder(request, registeredDateTime));
+        long sequentialNanos = System.nanoTime() - sequentialStart;
+
+        resetStocks(orderCount);
+        long batchStart = System.nanoTime();
+        OrderBatchResponse response = orderService.createOrders(requests, registeredDateTime);
+        long batchNanos = System.nanoTime() - batchStart;
+
+        // then
+        System.out.printf("[orders=%d] sequential=%dms (%.1f orders/sec), batch=%dms (%.1f orders/sec)%n",
+                orderCount,
+                sequentialNanos / 1_000_000, orderCount / (sequentialNanos / 1_000_000_000.0),
+                batchNanos / 1_000_000, orderCount / (batchNanos / 1_000_000_000.0));
+
+        assertThat(response.getSucceededCount()).isEqualTo(orderCount);
+    }
+
+    private void resetStocks(int quantity) {
+        stockRepository.deleteAllInBatch();
+        stockRepository.saveAll(List.of(Stock.create("001", quantity), Stock.create("002", quantity)));
+    }
+
+    private Product createProduct(ProductType type, String productNumber, int price, String name) {
+        return Product.builder()
+                .type(type)
+                .productNumber(productNumber)
+                .price(price)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name(name)
+                .build();
+    }
+}
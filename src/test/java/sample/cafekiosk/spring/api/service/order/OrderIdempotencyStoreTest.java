@@ -0,0 +1,247 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.domain.order.OrderIdempotencyRecordRepository;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.sales.DailyProductSalesSummaryRepository;
+import sample.cafekiosk.spring.domain.sales.DailySalesSummaryRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderIdempotencyStoreTest extends IntegrationTestSupport {
+
+    @Autowired
+    private OrderIdempotencyStore orderIdempotencyStore;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderIdempotencyRecordRepository orderIdempotencyRecordRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private DailySalesSummaryRepository dailySalesSummaryRepository;
+
+    @Autowired
+    private DailyProductSalesSummaryRepository dailyProductSalesSummaryRepository;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.saveAll(List.of(
+                createProduct("001", 1000, "아메리카노"),
+                createProduct("002", 3000, "카페라떼")
+        ));
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderIdempotencyStore.invalidateAll();
+        orderIdempotencyRecordRepository.deleteAllInBatch();
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        dailySalesSummaryRepository.deleteAllInBatch();
+        dailyProductSalesSummaryRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("같은 Idempotency-Key 로 다시 요청하면 주문을 새로 만들지 않고 처음 주문의 응답을 돌려준다.")
+    @Test
+    void createOrderOnceWithSameKey() {
+        // given
+        OrderCreateServiceRequest request = createRequest("001", "002");
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+        OrderResponse firstResponse = orderIdempotencyStore.createOrderOnce("kiosk-01-0001", request,
+                () -> orderService.createOrder(request, registeredDateTime));
+
+        // when
+        OrderResponse retriedResponse = orderIdempotencyStore.createOrderOnce("kiosk-01-0001", request,
+                () -> orderService.createOrder(request, registeredDateTime));
+
+        // then
+        assertThat(retriedResponse).isSameAs(firstResponse);
+        assertThat(orderRepository.count()).isEqualTo(1);
+    }
+
+    @DisplayName("같은 Idempotency-Key 로 다른 상품 목록을 주문하면 예외가 발생한다.")
+    @Test
+    void createOrderOnceWithSameKeyAndDifferentRequest() {
+        // given
+        OrderCreateServiceRequest request = createRequest("001");
+        orderIdempotencyStore.createOrderOnce("kiosk-01-0001", request,
+                () -> orderService.createOrder(request, LocalDateTime.now()));
+        OrderCreateServiceRequest otherRequest = createRequest("001", "002");
+
+        // when & then
+        assertThatThrownBy(() -> orderIdempotencyStore.createOrderOnce("kiosk-01-0001", otherRequest,
+                () -> orderService.createOrder(otherRequest, LocalDateTime.now())))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("같은 Idempotency-Key 로 다른 주문 요청이 들어왔습니다.");
+        assertThat(orderRepository.count()).isEqualTo(1);
+    }
+
+    @DisplayName("주문 생성에 실패한 Idempotency-Key 는 기록하지 않고, 같은 키로 다시 주문할 수 있다.")
+    @Test
+    void createOrderOnceAfterFailure() {
+        // given
+        OrderCreateServiceRequest request = createRequest("001");
+        assertThatThrownBy(() -> orderIdempotencyStore.createOrderOnce("kiosk-01-0001", request, () -> {
+            throw new IllegalArgumentException("재고가 부족한 상품이 있습니다.");
+        })).isInstanceOf(IllegalArgumentException.class);
+
+        // when
+        OrderResponse response = orderIdempotencyStore.createOrderOnce("kiosk-01-0001", request,
+                () -> orderService.createOrder(request, LocalDateTime.now()));
+
+        // then
+        assertThat(response.getId()).isNotNull();
+        assertThat(orderRepository.count()).isEqualTo(1);
+    }
+
+    @DisplayName("응답을 DB 에 저장하도록 설정하면, 메모리가 비워진 뒤(재시작)에 들어온 재시도에도 저장된 응답을 돌려준다.")
+    @Test
+    void createOrderOnceWithPersistentRecord() {
+        // given
+        OrderCreateServiceRequest request = createRequest("001", "002");
+        OrderResponse firstResponse = createPersistentStore().createOrderOnce("kiosk-01-0001", request,
+                () -> orderService.createOrder(request, LocalDateTime.now()));
+        AtomicInteger createOrderCount = new AtomicInteger();
+
+        // when
+        OrderResponse retriedResponse = createPersistentStore().createOrderOnce("kiosk-01-0001", request, () -> {
+            createOrderCount.incrementAndGet();
+            return orderService.createOrder(request, LocalDateTime.now());
+        });
+
+        // then
+        assertThat(createOrderCount.get()).isZero();
+        assertThat(orderRepository.count()).isEqualTo(1);
+        assertThat(retriedResponse)
+                .extracting("id", "totalPrice")
+                .containsExactly(firstResponse.getId(), 4000);
+        assertThat(retriedResponse.getProducts())
+                .extracting("productNumber")
+                .containsExactly("001", "002");
+    }
+
+    @DisplayName("응답을 DB 에 저장하도록 설정해도, 주문 생성에 실패한 Idempotency-Key 는 남지 않고 같은 키로 다시 주문할 수 있다.")
+    @Test
+    void createOrderOnceWithPersistentRecordAfterFailure() {
+        // given
+        OrderCreateServiceRequest request = createRequest("001");
+        OrderIdempotencyStore store = createPersistentStore();
+        assertThatThrownBy(() -> store.createOrderOnce("kiosk-01-0001", request, () -> {
+            orderService.createOrder(request, LocalDateTime.now());
+            throw new IllegalStateException("주문 응답을 만들 수 없습니다.");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // when
+        OrderResponse response = store.createOrderOnce("kiosk-01-0001", request,
+                () -> orderService.createOrder(request, LocalDateTime.now()));
+
+        // then ( 실패한 요청의 주문과 키는 함께 롤백된다. )
+        assertThat(response.getId()).isNotNull();
+        assertThat(orderRepository.count()).isEqualTo(1);
+        assertThat(orderIdempotencyRecordRepository.count()).isEqualTo(1);
+    }
+
+    @DisplayName("응답을 DB 에 저장하도록 설정하면, 다른 서버로 같은 Idempotency-Key 가 동시에 들어와도 주문은 한 번만 만든다.")
+    @Test
+    void createOrderOnceWithPersistentRecordConcurrently() throws Exception {
+        // given
+        OrderCreateServiceRequest request = createRequest("001", "002");
+        OrderIdempotencyStore server1 = createPersistentStore();
+        OrderIdempotencyStore server2 = createPersistentStore();
+        AtomicInteger server2CreateOrderCount = new AtomicInteger();
+        AtomicReference<CompletableFuture<OrderResponse>> server2Request = new AtomicReference<>();
+
+        // when ( server1 이 키를 잡고 주문을 만드는 중에 server2 로 재시도가 들어온다. )
+        OrderResponse server1Response = server1.createOrderOnce("kiosk-01-0001", request, () -> {
+            server2Request.set(CompletableFuture.supplyAsync(() -> server2.createOrderOnce("kiosk-01-0001", request, () -> {
+                server2CreateOrderCount.incrementAndGet();
+                return orderService.createOrder(request, LocalDateTime.now());
+            })));
+            sleep(200);
+            return orderService.createOrder(request, LocalDateTime.now());
+        });
+        OrderResponse server2Response = server2Request.get()
+                .exceptionally(e -> null) // 처리 중인 키로 거절되었으면 다시 시도한다.
+                .get(10, TimeUnit.SECONDS);
+        if (server2Response == null) {
+            server2Response = server2.createOrderOnce("kiosk-01-0001", request,
+                    () -> orderService.createOrder(request, LocalDateTime.now()));
+        }
+
+        // then
+        assertThat(server2CreateOrderCount.get()).isZero();
+        assertThat(orderRepository.count()).isEqualTo(1);
+        assertThat(server2Response.getId()).isEqualTo(server1Response.getId());
+    }
+
+    private OrderIdempotencyStore createPersistentStore() {
+        return new OrderIdempotencyStore(orderIdempotencyRecordRepository, transactionTemplate, objectMapper,
+                100, Duration.ofHours(24), true);
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private OrderCreateServiceRequest createRequest(String... productNumbers) {
+        return OrderCreateServiceRequest.builder()
+                .productNumbers(List.of(productNumbers))
+                .build();
+    }
+
+    private Product createProduct(String productNumber, int price, String name) {
+        return Product.builder()
+                .productNumber(productNumber)
+                .type(ProductType.HANDMADE)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name(name)
+                .price(price)
+                .build();
+    }
+}
@@ -0,0 +1,162 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.sales.DailyProductSalesSummaryRepository;
+import sample.cafekiosk.spring.domain.sales.DailySalesSummaryRepository;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 메트릭은 테스트 컨텍스트 안에서 누적되므로, 호출 전후의 차이로 검증한다.
+ */
+class OrderMetricsTest extends IntegrationTestSupport {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private DailySalesSummaryRepository dailySalesSummaryRepository;
+
+    @Autowired
+    private DailyProductSalesSummaryRepository dailyProductSalesSummaryRepository;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.saveAll(List.of(
+                createProduct(ProductType.BOTTLE, "001", 1000, "아메리카노"),
+                createProduct(ProductType.HANDMADE, "002", 3000, "카페라떼")
+        ));
+        stockRepository.save(Stock.create("001", 1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        stockRepository.deleteAllInBatch();
+        dailySalesSummaryRepository.deleteAllInBatch();
+        dailyProductSalesSummaryRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("주문을 생성하면 주문 생성 / 재고 차감 시간과 Hibernate statement 수가 기록된다.")
+    @Test
+    void createOrderMetrics() {
+        // given
+        long createOrderCount = timerCount("cafekiosk.order.create");
+        long deductCount = timerCount("cafekiosk.stock.deduct");
+        double statementCount = functionCount("hibernate.statements");
+
+        // when
+        orderService.createOrder(createRequest("001", "002"), LocalDateTime.now());
+
+        // then
+        assertThat(timerCount("cafekiosk.order.create")).isEqualTo(createOrderCount + 1);
+        assertThat(timerCount("cafekiosk.stock.deduct")).isEqualTo(deductCount + 1);
+        assertThat(functionCount("hibernate.statements")).isGreaterThan(statementCount);
+    }
+
+    @DisplayName("재고가 부족해서 주문이 거절되면 재고 부족 카운터가 증가한다.")
+    @Test
+    void insufficientStockCounter() {
+        // given
+        double singleCount = insufficientStockCount("single");
+
+        // when
+        assertThatThrownBy(() -> orderService.createOrder(createRequest("001", "001"), LocalDateTime.now()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("재고가 부족한 상품이 있습니다.");
+
+        // then
+        assertThat(insufficientStockCount("single")).isEqualTo(singleCount + 1);
+    }
+
+    @DisplayName("일괄 주문에서 재고가 부족해 실패한 주문 수만큼 재고 부족 카운터가 증가한다.")
+    @Test
+    void insufficientStockCounterOnBatch() {
+        // given
+        double batchCount = insufficientStockCount("batch");
+        List<OrderCreateServiceRequest> requests = List.of(
+                createRequest("001"),
+                createRequest("001"), // 재고 부족
+                createRequest("001", "002") // 재고 부족
+        );
+
+        // when
+        orderService.createOrders(requests, LocalDateTime.now());
+
+        // then
+        assertThat(insufficientStockCount("batch")).isEqualTo(batchCount + 2);
+    }
+
+    private long timerCount(String name) {
+        return meterRegistry.find(name).timers().stream()
+                .mapToLong(Timer::count)
+                .sum();
+    }
+
+    private double functionCount(String name) {
+        return meterRegistry.find(name).functionCounters().stream()
+                .mapToDouble(FunctionCounter::count)
+                .sum();
+    }
+
+    private double insufficientStockCount(String orderType) {
+        return meterRegistry.find("cafekiosk.stock.insufficient").tag("order.type", orderType).counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+
+    private OrderCreateServiceRequest createRequest(String... productNumbers) {
+        return OrderCreateServiceRequest.builder()
+                .productNumbers(List.of(productNumbers))
+                .build();
+    }
+
+    private Product createProduct(ProductType type, String productNumber, int price, String name) {
+        return Product.builder()
+                .type(type)
+                .productNumber(productNumber)
+                .price(price)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name(name)
+                .build();
+    }
+}
@@ -0,0 +1,122 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.domain.order.OrderKey;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 주문 100만 건에서 최신순 주문 목록의 앞 / 중간 / 끝 페이지를 조회할 때, OFFSET 방식과 keyset(커서) 방식의 조회 시간을 비교한다.
+ * - 두 방식 모두 주문 id 20건을 찾는 쿼리만 측정한다. ( 주문 상품을 함께 불러오는 두 번째 쿼리는 두 방식이 같다. )
+ * - 실행: ./gradlew benchmark --tests '*OrderPaginationBenchmarkTest'
+ */
+@Tag("benchmark")
+class OrderPaginationBenchmarkTest extends IntegrationTestSupport {
+
+    private static final long ID_OFFSET = 1_000_000_000L; // 시퀀스로 생성되는 id 와 겹치지 않도록
+    private static final int ORDER_COUNT = 1_000_000;
+    private static final int INSERT_BATCH_SIZE = 10_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int REPETITIONS = 20;
+    private static final LocalDate FIRST_ORDER_DATE = LocalDate.of(2023, 1, 1);
+    private static final LocalDate LAST_ORDER_DATE = FIRST_ORDER_DATE.plusDays(364);
+
+    private static final String OFFSET_SQL = "select id, registered_date_time from orders " +
+            "where registered_date_time >= ? and registered_date_time < ? " +
+            "order by registered_date_time desc, id desc offset ? rows fetch next ? rows only";
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("keyset 방식은 뒤쪽 페이지도 첫 페이지와 비슷한 시간에 조회한다.")
+    @ValueSource(ints = {0, 500_000, 999_000})
+    @ParameterizedTest
+    public void pageLatency(int skippedOrderCount) throws Exception {
+        // given
+        insertOrders();
+        LocalDateTime startDateTime = FIRST_ORDER_DATE.atStartOfDay();
+        LocalDateTime endDateTime = LAST_ORDER_DATE.plusDays(1).atStartOfDay();
+
+        // 커서는 바로 앞 페이지의 마지막 주문 ( 첫 페이지는 기간의 끝 )
+        LocalDateTime cursorDateTime = endDateTime;
+        long cursorId = Long.MAX_VALUE;
+        if (skippedOrderCount > 0) {
+            Map<String, Object> lastOrderOfPreviousPage = jdbcTemplate.queryForMap(OFFSET_SQL,
+                    Timestamp.valueOf(startDateTime), Timestamp.valueOf(endDateTime), skippedOrderCount - 1, 1);
+            cursorDateTime = ((Timestamp) lastOrderOfPreviousPage.get("REGISTERED_DATE_TIME")).toLocalDateTime();
+            cursorId = ((Number) lastOrderOfPreviousPage.get("ID")).longValue();
+        }
+        LocalDateTime keysetCursorDateTime = cursorDateTime;
+        long keysetCursorId = cursorId;
+
+        // when
+        Measurement offset = measure(() -> jdbcTemplate.queryForList(OFFSET_SQL,
+                Timestamp.valueOf(startDateTime), Timestamp.valueOf(endDateTime), skippedOrderCount, PAGE_SIZE).stream()
+                .map(row -> ((Number) row.get("ID")).longValue())
+                .toList());
+        Measurement keyset = measure(() -> orderRepository.findKeysBy(startDateTime, endDateTime,
+                keysetCursorDateTime, keysetCursorId, Limit.of(PAGE_SIZE)).stream()
+                .map(OrderKey::getId)
+                .toList());
+
+        // then
+        System.out.printf("[orders=%d, skipped=%d] offset=%.2fms, keyset=%.2fms%n",
+                ORDER_COUNT, skippedOrderCount, offset.millis(), keyset.millis());
+        assertThat(keyset.orderIds()).isEqualTo(offset.orderIds());
+    }
+
+    private void insertOrders() {
+        LocalDateTime startDateTime = FIRST_ORDER_DATE.atStartOfDay();
+        long secondsPerOrder = Math.max(1, 365 * 24 * 60 * 60L / ORDER_COUNT);
+        OrderStatus[] orderStatuses = OrderStatus.values();
+
+        for (int from = 0; from < ORDER_COUNT; from += INSERT_BATCH_SIZE) {
+            List<Object[]> rows = new ArrayList<>();
+            for (int i = from; i < Math.min(from + INSERT_BATCH_SIZE, ORDER_COUNT); i++) {
+                Timestamp registeredDateTime = Timestamp.valueOf(startDateTime.plusSeconds(secondsPerOrder * i));
+                rows.add(new Object[]{ID_OFFSET + i, orderStatuses[i % orderStatuses.length].name(), 4000, registeredDateTime, registeredDateTime, registeredDateTime});
+            }
+            jdbcTemplate.batchUpdate("insert into orders (id, order_status, total_price, registered_date_time, created_date_time, modified_date_time) " +
+                    "values (?, ?, ?, ?, ?, ?)", rows);
+        }
+        jdbcTemplate.execute("analyze");
+    }
+
+    private Measurement measure(Supplier<List<Long>> page) {
+        List<Long> orderIds = page.get(); // warm-up
+        long start = System.nanoTime();
+        for (int i = 0; i < REPETITIONS; i++) {
+            page.get();
+        }
+        return new Measurement(orderIds, (System.nanoTime() - start) / 1_000_000.0 / REPETITIONS);
+    }
+
+    private record Measurement(List<Long> orderIds, double millis) {
+    }
+}
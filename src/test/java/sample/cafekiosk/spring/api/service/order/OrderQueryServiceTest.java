@@ -0,0 +1,247 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.api.service.order.response.OrderPageResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.sales.DailyProductSalesSummaryRepository;
+import sample.cafekiosk.spring.domain.sales.DailySalesSummaryRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderQueryServiceTest extends IntegrationTestSupport {
+
+    @Autowired
+    private OrderQueryService orderQueryService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private DailySalesSummaryRepository dailySalesSummaryRepository;
+
+    @Autowired
+    private DailyProductSalesSummaryRepository dailyProductSalesSummaryRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        dailySalesSummaryRepository.deleteAllInBatch();
+        dailyProductSalesSummaryRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("주문을 조회하면 주문 상품과 상품까지 한 번의 쿼리로 응답을 만든다.")
+    @Test
+    void getOrder() {
+        // given
+        Order order = createOrder(List.of(
+                createProduct("001", 1000, "아메리카노"),
+                createProduct("002", 3000, "카페라떼"),
+                createProduct("003", 5000, "팥빙수")
+        ));
+        statistics.clear();
+
+        // when
+        OrderResponse response = orderQueryService.getOrder(order.getId());
+
+        // then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(response.getTotalPrice()).isEqualTo(9000);
+        assertThat(response.getProducts())
+                .extracting("productNumber")
+                .containsExactlyInAnyOrder("001", "002", "003");
+    }
+
+    @DisplayName("주문을 지연 로딩으로 조회하면 주문 상품 목록과 상품마다 쿼리가 더 나간다.")
+    @Test
+    void getOrderWithLazyLoading() {
+        // given
+        Order order = createOrder(List.of(
+                createProduct("001", 1000, "아메리카노"),
+                createProduct("002", 3000, "카페라떼"),
+                createProduct("003", 5000, "팥빙수")
+        ));
+        entityManagerFactory.getCache().evictAll(); // 상품 2차 캐시를 비운 상태
+        statistics.clear();
+
+        // when
+        transactionTemplate.executeWithoutResult(status -> OrderResponse.of(orderRepository.findById(order.getId()).orElseThrow()));
+
+        // then ( 주문 1 + 주문 상품 목록 1 + 상품 3 )
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(5);
+    }
+
+    @DisplayName("상품이 2차 캐시에 있으면 지연 로딩으로 조회해도 상품 쿼리는 나가지 않는다.")
+    @Test
+    void getOrderWithLazyLoadingAndSecondLevelCache() {
+        // given ( 저장된 상품은 커밋 시점에 2차 캐시에 들어간다. )
+        Order order = createOrder(List.of(
+                createProduct("001", 1000, "아메리카노"),
+                createProduct("002", 3000, "카페라떼"),
+                createProduct("003", 5000, "팥빙수")
+        ));
+        statistics.clear();
+
+        // when
+        transactionTemplate.executeWithoutResult(status -> OrderResponse.of(orderRepository.findById(order.getId()).orElseThrow()));
+
+        // then ( 주문 1 + 주문 상품 목록 1 )
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(3);
+    }
+
+    @DisplayName("존재하지 않는 주문을 조회하면 예외가 발생한다.")
+    @Test
+    void getOrderWithUnknownId() {
+        // when & then
+        assertThatThrownBy(() -> orderQueryService.getOrder(-1L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("존재하지 않는 주문입니다.");
+    }
+
+    @DisplayName("주문 목록을 최신순으로, 커서를 따라 페이지 단위로 조회한다. ( 등록 시간이 같으면 id 역순 )")
+    @Test
+    void getOrders() {
+        // given
+        List<Product> products = productRepository.saveAll(List.of(createProduct("001", 1000, "아메리카노")));
+        LocalDateTime registeredDateTime = LocalDateTime.of(2023, 3, 5, 10, 0);
+        Order order1 = createOrder(products, OrderStatus.INIT, registeredDateTime);
+        Order order2 = createOrder(products, OrderStatus.INIT, registeredDateTime);
+        Order order3 = createOrder(products, OrderStatus.INIT, registeredDateTime.plusHours(1));
+        Order order4 = createOrder(products, OrderStatus.INIT, registeredDateTime.plusHours(2));
+        Order order5 = createOrder(products, OrderStatus.INIT, registeredDateTime.plusDays(1));
+        LocalDate orderDate = registeredDateTime.toLocalDate();
+
+        // when
+        OrderPageResponse page1 = orderQueryService.getOrders(null, orderDate, orderDate, null, 2);
+        OrderPageResponse page2 = orderQueryService.getOrders(null, orderDate, orderDate, page1.getNextCursor(), 2);
+
+        // then
+        assertThat(page1.getOrders()).extracting("id").containsExactly(order4.getId(), order3.getId());
+        assertThat(page1.isHasNext()).isTrue();
+        assertThat(page2.getOrders()).extracting("id").containsExactly(order2.getId(), order1.getId());
+        assertThat(page2.isHasNext()).isFalse();
+        assertThat(page2.getNextCursor()).isNull();
+    }
+
+    @DisplayName("주문 상태로 주문 목록을 걸러서 조회한다.")
+    @Test
+    void getOrdersByOrderStatus() {
+        // given
+        List<Product> products = productRepository.saveAll(List.of(createProduct("001", 1000, "아메리카노")));
+        LocalDateTime registeredDateTime = LocalDateTime.of(2023, 3, 5, 10, 0);
+        Order completedOrder = createOrder(products, OrderStatus.PAYMENT_COMPLETED, registeredDateTime);
+        createOrder(products, OrderStatus.CANCELED, registeredDateTime.plusMinutes(1));
+        LocalDate orderDate = registeredDateTime.toLocalDate();
+
+        // when
+        OrderPageResponse page = orderQueryService.getOrders(OrderStatus.PAYMENT_COMPLETED, orderDate, orderDate, null, 20);
+
+        // then
+        assertThat(page.getOrders())
+                .extracting("id", "orderStatus")
+                .containsExactly(tuple(completedOrder.getId(), OrderStatus.PAYMENT_COMPLETED));
+        assertThat(page.isHasNext()).isFalse();
+    }
+
+    @DisplayName("주문 목록은 페이지 크기와 관계없이 페이지마다 두 번의 쿼리로 조회한다.")
+    @Test
+    void getOrdersStatementCount() {
+        // given
+        List<Product> products = productRepository.saveAll(List.of(
+                createProduct("001", 1000, "아메리카노"),
+                createProduct("002", 3000, "카페라떼")
+        ));
+        LocalDateTime registeredDateTime = LocalDateTime.of(2023, 3, 5, 10, 0);
+        for (int i = 0; i < 10; i++) {
+            createOrder(products, OrderStatus.INIT, registeredDateTime.plusMinutes(i));
+        }
+        statistics.clear();
+
+        // when
+        OrderPageResponse page = orderQueryService.getOrders(null, registeredDateTime.toLocalDate(), registeredDateTime.toLocalDate(), null, 10);
+
+        // then
+        assertThat(page.getOrders()).hasSize(10);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @DisplayName("잘못된 커서로 주문 목록을 조회하면 예외가 발생한다.")
+    @Test
+    void getOrdersWithInvalidCursor() {
+        // given
+        LocalDate orderDate = LocalDate.of(2023, 3, 5);
+
+        // when & then
+        assertThatThrownBy(() -> orderQueryService.getOrders(null, orderDate, orderDate, "invalid-cursor", 20))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("잘못된 페이지 커서입니다.");
+    }
+
+    private Order createOrder(List<Product> products) {
+        return createOrder(productRepository.saveAll(products), OrderStatus.INIT, LocalDateTime.now());
+    }
+
+    private Order createOrder(List<Product> products, OrderStatus orderStatus, LocalDateTime registeredDateTime) {
+        return orderRepository.save(Order.builder()
+                .products(products)
+                .orderStatus(orderStatus)
+                .registeredDateTime(registeredDateTime)
+                .build());
+    }
+
+    private Product createProduct(String productNumber, int price, String name) {
+        return Product.builder()
+                .type(ProductType.HANDMADE)
+                .productNumber(productNumber)
+                .price(price)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name(name)
+                .build();
+    }
+}
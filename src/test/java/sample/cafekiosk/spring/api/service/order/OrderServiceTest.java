@@ -1,14 +1,21 @@
 package sample.cafekiosk.spring.api.service.order;
 
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.test.context.ActiveProfiles;
 import sample.cafekiosk.spring.IntegrationTestSupport;
 import sample.cafekiosk.spring.api.controller.order.request.OrderCreateRequest;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderBatchResponse;
 import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.stock.StockDeductor;
 import sample.cafekiosk.spring.domain.order.OrderRepository;
 import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
 import sample.cafekiosk.spring.domain.product.Product;
@@ -20,10 +27,13 @@ import sample.cafekiosk.spring.domain.stock.StockRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
 
 // @ActiveProfiles("test")
 // @SpringBootTest
@@ -44,6 +54,12 @@ class OrderServiceTest extends IntegrationTestSupport {
     @Autowired
     private OrderService orderService;
 
+    @SpyBean // 일괄 주문 도중 다른 주문이 재고를 차감하는 상황을 만들기 위해 사용한다. ( 그 외에는 실제 메서드를 그대로 호출한다. )
+    private StockDeductor stockDeductor;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @AfterEach
     void tearDown() {
         orderProductRepository.deleteAllInBatch(); // 테스트에서는 Product 와 Order 만 사용하지만, 내부적으로 관계맺고 있는 테이블도 cleansing 해주어야 한다. (외래키를 가지고있는 테이블(OrderProduct)을 먼저 지워야 상품과 주문테이블의 데이터를 지울 수 있다)
@@ -183,6 +199,128 @@ class OrderServiceTest extends IntegrationTestSupport {
                 .hasMessage("재고가 부족한 상품이 있습니다.");
     }
 
+    @DisplayName("여러 주문을 한 번에 등록한다. 재고가 부족한 주문은 실패하고, 나머지 주문은 등록된다.")
+    @Test
+    public void createOrders() throws Exception {
+        // given
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+
+        Product product1 = createProduct(ProductType.BOTTLE, "001", 1000, "아메리카노");
+        Product product2 = createProduct(ProductType.BAKERY, "002", 3000, "단팥빵");
+        Product product3 = createProduct(ProductType.HANDMADE, "003", 5000, "팥빙수");
+        productRepository.saveAll(List.of(product1, product2, product3));
+
+        Stock stock1 = Stock.create("001", 2);
+        Stock stock2 = Stock.create("002", 2);
+        stockRepository.saveAll(List.of(stock1, stock2));
+
+        List<OrderCreateServiceRequest> requests = List.of(
+                OrderCreateServiceRequest.builder().productNumbers(List.of("001", "002", "003")).build(),
+                OrderCreateServiceRequest.builder().productNumbers(List.of("001", "001")).build(), // 001 재고 부족
+                OrderCreateServiceRequest.builder().productNumbers(List.of("001", "002")).build(),
+                OrderCreateServiceRequest.builder().productNumbers(List.of("999")).build() // 존재하지 않는 상품
+        );
+
+        // when
+        OrderBatchResponse response = orderService.createOrders(requests, registeredDateTime);
+
+        // then
+        assertThat(response)
+                .extracting("requestedCount", "succeededCount", "failedCount")
+                .contains(4, 2, 2);
+        assertThat(response.getResults())
+                .extracting("index", "success", "message")
+                .containsExactly(
+                        tuple(0, true, null),
+                        tuple(1, false, "재고가 부족한 상품이 있습니다."),
+                        tuple(2, true, null),
+                        tuple(3, false, "존재하지 않는 상품이 포함되어 있습니다.")
+                );
+        assertThat(response.getResults().get(0).getOrder().getTotalPrice()).isEqualTo(9000);
+        assertThat(orderRepository.findAll()).hasSize(2);
+
+        List<Stock> stocks = stockRepository.findAll();
+        assertThat(stocks).hasSize(2)
+                .extracting("productNumber", "quantity")
+                .containsExactlyInAnyOrder(
+                        tuple("001", 0),
+                        tuple("002", 0)
+                );
+    }
+
+    @DisplayName("여러 주문을 한 번에 등록할 때, 재고를 확인한 뒤 다른 주문이 재고를 차감하면 남은 재고를 다시 조회해서 나눈다.")
+    @Test
+    public void createOrdersWithConcurrentDeduction() throws Exception {
+        // given
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+
+        Product product = createProduct(ProductType.BOTTLE, "001", 1000, "아메리카노");
+        productRepository.save(product);
+
+        Stock stock = Stock.create("001", 2);
+        stockRepository.save(stock);
+
+        // 처음 재고를 조회한 직후에만, 다른 주문이 001 을 1개 차감한다.
+        doAnswer(invocation -> {
+            Object availableQuantities = invocation.callRealMethod();
+            stockDeductor.deduct(Map.of("001", 1));
+            return availableQuantities;
+        }).doCallRealMethod().when(stockDeductor).findAvailableQuantities(anyList());
+
+        List<OrderCreateServiceRequest> requests = List.of(
+                OrderCreateServiceRequest.builder().productNumbers(List.of("001")).build(),
+                OrderCreateServiceRequest.builder().productNumbers(List.of("001")).build()
+        );
+
+        // when
+        OrderBatchResponse response = orderService.createOrders(requests, registeredDateTime);
+
+        // then
+        assertThat(response.getResults())
+                .extracting("index", "success", "message")
+                .containsExactly(
+                        tuple(0, true, null),
+                        tuple(1, false, "재고가 부족한 상품이 있습니다.")
+                );
+        assertThat(orderRepository.findAll()).hasSize(1);
+        assertThat(stockRepository.findAll())
+                .extracting("productNumber", "quantity")
+                .containsExactly(tuple("001", 0));
+    }
+
+    @DisplayName("상품 카탈로그 캐시에 없는 상품도 2차 캐시 / 쿼리 캐시가 채워진 뒤에는 DB 에서 다시 조회하지 않는다. 재고는 캐싱하지 않는다.")
+    @Test
+    public void createOrderWithSecondLevelCache() throws Exception {
+        // given
+        Product product1 = createProduct(ProductType.BOTTLE, "001", 1000, "아메리카노");
+        Product product2 = createProduct(ProductType.HANDMADE, "002", 3000, "카페라떼");
+        productRepository.saveAll(List.of(product1, product2));
+        Stock stock = stockRepository.save(Stock.create("001", 10));
+
+        OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+                .productNumbers(List.of("001", "002"))
+                .build();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // when ( 상품 카탈로그 캐시가 만료된 상황 - 다른 서버, expire-after-write )
+        expireProductCatalogCache();
+        statistics.clear();
+        orderService.createOrder(request, LocalDateTime.now());
+        long coldStatementCount = statistics.getPrepareStatementCount();
+
+        expireProductCatalogCache();
+        statistics.clear();
+        orderService.createOrder(request, LocalDateTime.now());
+        long warmStatementCount = statistics.getPrepareStatementCount();
+
+        // then
+        assertThat(warmStatementCount).isLessThan(coldStatementCount);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(entityManagerFactory.getCache().contains(Product.class, product1.getId())).isTrue();
+        assertThat(entityManagerFactory.getCache().contains(Stock.class, stock.getId())).isFalse();
+        assertThat(stockRepository.findById(stock.getId()).orElseThrow().getQuantity()).isEqualTo(8);
+    }
+
     private Product createProduct(ProductType type, String productNumber, int price, String name) {
         return Product.builder()
                 .type(type)
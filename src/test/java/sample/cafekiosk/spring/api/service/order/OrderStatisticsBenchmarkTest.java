@@ -0,0 +1,116 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 하루치 결제완료 주문의 총 매출 합계를 구할 때, 주문 엔티티를 모두 불러와서 합산하는 경우(findOrdersBy)와
+ * DB 에서 합산하는 경우(sumTotalPriceBy)의 처리 시간과 메모리 할당량을 비교한다.
+ * - 주문은 JDBC 배치로 직접 넣는다. ( 주문 상품은 통계에 필요 없으므로 넣지 않는다. )
+ * - 엔티티를 불러오는 방식은 주문 수에 비례해서 메모리를 쓰므로, 100만 건에서는 측정하지 않는다.
+ * - 실행: ./gradlew benchmark --tests '*OrderStatisticsBenchmarkTest'
+ */
+@Tag("benchmark")
+class OrderStatisticsBenchmarkTest extends IntegrationTestSupport {
+
+    private static final long ID_OFFSET = 1_000_000_000L; // 시퀀스로 생성되는 id 와 겹치지 않도록
+    private static final int INSERT_BATCH_SIZE = 10_000;
+    private static final int ENTITY_LOADING_LIMIT = 100_000;
+    private static final int PRICE = 4000;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("주문 수와 관계없이 DB 에서 합산하는 방식은 일정한 메모리만 사용한다.")
+    @ValueSource(ints = {10_000, 100_000, 1_000_000})
+    @ParameterizedTest
+    public void sumTotalPrice(int orderCount) throws Exception {
+        // given
+        LocalDate orderDate = LocalDate.of(2023, 3, 5);
+        insertPaymentCompletedOrders(orderDate, orderCount);
+        LocalDateTime startDateTime = orderDate.atStartOfDay();
+        LocalDateTime endDateTime = orderDate.plusDays(1).atStartOfDay();
+
+        // when
+        Measurement aggregation = measure(() -> orderRepository.sumTotalPriceBy(startDateTime, endDateTime, OrderStatus.PAYMENT_COMPLETED));
+        Measurement entityLoading = orderCount <= ENTITY_LOADING_LIMIT
+                ? measure(() -> transactionTemplate.execute(status ->
+                        orderRepository.findOrdersBy(startDateTime, endDateTime, OrderStatus.PAYMENT_COMPLETED).stream()
+                                .mapToLong(Order::getTotalPrice)
+                                .sum()))
+                : null;
+
+        // then
+        System.out.printf("[orders=%d] aggregation=%dms (%dKB allocated), entity loading=%s%n",
+                orderCount, aggregation.millis(), aggregation.allocatedBytes() / 1024,
+                entityLoading == null ? "skipped" : String.format("%dms (%dKB allocated)", entityLoading.millis(), entityLoading.allocatedBytes() / 1024));
+
+        assertThat(aggregation.result()).isEqualTo((long) orderCount * PRICE);
+        if (entityLoading != null) {
+            assertThat(entityLoading.result()).isEqualTo(aggregation.result());
+            assertThat(aggregation.allocatedBytes()).isLessThan(entityLoading.allocatedBytes());
+        }
+    }
+
+    private void insertPaymentCompletedOrders(LocalDate orderDate, int orderCount) {
+        LocalDateTime startDateTime = orderDate.atStartOfDay();
+        long millisPerOrder = Math.max(1, 24 * 60 * 60 * 1000L / orderCount);
+
+        for (int from = 0; from < orderCount; from += INSERT_BATCH_SIZE) {
+            List<Object[]> rows = new ArrayList<>();
+            for (int i = from; i < Math.min(from + INSERT_BATCH_SIZE, orderCount); i++) {
+                Timestamp registeredDateTime = Timestamp.valueOf(startDateTime.plusNanos(millisPerOrder * i * 1_000_000));
+                rows.add(new Object[]{ID_OFFSET + i, OrderStatus.PAYMENT_COMPLETED.name(), PRICE, registeredDateTime, registeredDateTime, registeredDateTime});
+            }
+            jdbcTemplate.batchUpdate("insert into orders (id, order_status, total_price, registered_date_time, created_date_time, modified_date_time) " +
+                    "values (?, ?, ?, ?, ?, ?)", rows);
+        }
+    }
+
+    private Measurement measure(LongSupplier task) {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        long result = task.getAsLong();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        long allocatedBytes = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        return new Measurement(result, millis, allocatedBytes);
+    }
+
+    private record Measurement(long result, long millis, long allocatedBytes) {
+    }
+}
@@ -20,12 +20,18 @@ import sample.cafekiosk.spring.domain.product.Product;
 import sample.cafekiosk.spring.domain.product.ProductRepository;
 import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
 import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.sales.DailyProductSalesSummaryRepository;
+import sample.cafekiosk.spring.domain.sales.DailySalesSummaryRepository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
 
 // @ActiveProfiles("test")
 // @SpringBootTest
@@ -46,6 +52,12 @@ class OrderStatisticsServiceTest extends IntegrationTestSupport {
     @Autowired
     private MailSendHistoryRepository mailSendHistoryRepository;
 
+    @Autowired
+    private DailySalesSummaryRepository dailySalesSummaryRepository;
+
+    @Autowired
+    private DailyProductSalesSummaryRepository dailyProductSalesSummaryRepository;
+
     // @MockBean
     // private MailSendClient mailSendClient;
 
@@ -55,6 +67,8 @@ class OrderStatisticsServiceTest extends IntegrationTestSupport {
         orderRepository.deleteAllInBatch();
         productRepository.deleteAllInBatch();
         mailSendHistoryRepository.deleteAllInBatch();
+        dailySalesSummaryRepository.deleteAllInBatch();
+        dailyProductSalesSummaryRepository.deleteAllInBatch();
     }
 
     @DisplayName("결제완료 주문들을 조회하여 매출 통계 메일을 전송한다.")
@@ -93,6 +107,49 @@ class OrderStatisticsServiceTest extends IntegrationTestSupport {
                 .contains("총 매출 합계는 12000원 입니다.");
     }
 
+    @DisplayName("매출 통계 메일은 발송 대기열에 넣고 바로 반환하며, 발송이 끝나면 발송 이력이 남는다.")
+    @Test
+    public void sendOrderStatisticsMailAsync() throws Exception {
+        // given
+        Product product = createProduct(ProductType.HANDMADE, "001", 1000, "아메리카노");
+        productRepository.save(product);
+        createPaymentCompletedOrder(LocalDateTime.of(2023, 3, 5, 10, 0), List.of(product));
+
+        Mockito.when(mailSendClient.sendEmail(
+                ArgumentMatchers.any(String.class),
+                ArgumentMatchers.any(String.class),
+                ArgumentMatchers.any(String.class),
+                ArgumentMatchers.any(String.class)
+        )).thenReturn(true);
+
+        // when
+        CompletableFuture<Boolean> result = orderStatisticsService.sendOrderStatisticsMailAsync(LocalDate.of(2023, 3, 5), "test@test.com");
+
+        // then
+        assertThat(result.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(mailSendHistoryRepository.findAll()).hasSize(1)
+                .extracting("toEmail", "content")
+                .containsExactly(tuple("test@test.com", "총 매출 합계는 1000원 입니다."));
+    }
+
+    @DisplayName("매출 통계 메일 전송에 끝내 실패하면 예외가 발생하고, 발송 이력은 남지 않는다.")
+    @Test
+    public void sendOrderStatisticsMailWithFailure() throws Exception {
+        // given
+        Mockito.when(mailSendClient.sendEmail(
+                ArgumentMatchers.any(String.class),
+                ArgumentMatchers.any(String.class),
+                ArgumentMatchers.any(String.class),
+                ArgumentMatchers.any(String.class)
+        )).thenReturn(false);
+
+        // when & then
+        assertThatThrownBy(() -> orderStatisticsService.sendOrderStatisticsMail(LocalDate.of(2023, 3, 5), "test@test.com"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("매출 통계 메일 전송에 실패했습니다.");
+        assertThat(mailSendHistoryRepository.findAll()).isEmpty();
+    }
+
     private Order createPaymentCompletedOrder(LocalDateTime now, List<Product> products) {
         Order order = Order.builder()
                 .products(products)
@@ -0,0 +1,198 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.api.service.order.request.OrderStatusChangeServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderStatusChangeResponse;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.sales.DailyProductSalesSummary;
+import sample.cafekiosk.spring.domain.sales.DailyProductSalesSummaryRepository;
+import sample.cafekiosk.spring.domain.sales.DailySalesSummaryRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+class OrderStatusServiceTest extends IntegrationTestSupport {
+
+    private static final LocalDate SALES_DATE = LocalDate.of(2023, 3, 5);
+
+    @Autowired
+    private OrderStatusService orderStatusService;
+
+    @Autowired
+    private DailySalesSummaryService dailySalesSummaryService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private DailySalesSummaryRepository dailySalesSummaryRepository;
+
+    @Autowired
+    private DailyProductSalesSummaryRepository dailyProductSalesSummaryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private List<Product> products;
+
+    @BeforeEach
+    void setUp() {
+        products = productRepository.saveAll(List.of(
+                createProduct("001", 1000, "아메리카노"),
+                createProduct("002", 3000, "카페라떼")
+        ));
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        dailySalesSummaryRepository.deleteAllInBatch();
+        dailyProductSalesSummaryRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("여러 주문의 상태를 한 번에 바꾸고, 바꿀 수 없는 주문은 실패로 응답한다.")
+    @Test
+    void changeOrderStatuses() {
+        // given
+        Order initOrder1 = createOrder(OrderStatus.INIT);
+        Order initOrder2 = createOrder(OrderStatus.INIT);
+        Order completedOrder = createOrder(OrderStatus.PAYMENT_COMPLETED);
+        Order canceledOrder = createOrder(OrderStatus.CANCELED);
+
+        OrderStatusChangeServiceRequest request = OrderStatusChangeServiceRequest.builder()
+                .orderIds(List.of(initOrder1.getId(), initOrder2.getId(), completedOrder.getId(), canceledOrder.getId(), -1L))
+                .orderStatus(OrderStatus.PAYMENT_COMPLETED)
+                .build();
+        LocalDateTime modifiedDateTime = LocalDateTime.of(2023, 3, 6, 9, 0);
+
+        // when
+        OrderStatusChangeResponse response = orderStatusService.changeOrderStatuses(request, modifiedDateTime);
+
+        // then
+        assertThat(response)
+                .extracting("requestedCount", "changedCount", "unchangedCount", "failedCount")
+                .containsExactly(5, 2, 1, 2);
+        assertThat(response.getFailures())
+                .extracting("orderId", "message")
+                .containsExactly(
+                        tuple(canceledOrder.getId(), "주문취소 주문은 결제완료 상태로 바꿀 수 없습니다."),
+                        tuple(-1L, "존재하지 않는 주문입니다.")
+                );
+
+        assertThat(orderRepository.findAllById(List.of(initOrder1.getId(), initOrder2.getId())))
+                .extracting("orderStatus", "modifiedDateTime")
+                .containsExactly(
+                        tuple(OrderStatus.PAYMENT_COMPLETED, modifiedDateTime),
+                        tuple(OrderStatus.PAYMENT_COMPLETED, modifiedDateTime)
+                );
+        assertThat(orderRepository.findById(canceledOrder.getId()).orElseThrow().getOrderStatus())
+                .isEqualByComparingTo(OrderStatus.CANCELED);
+    }
+
+    @DisplayName("상태를 바꾼 주문은 이전 상태의 매출 집계에서 빠지고, 바뀐 상태의 매출 집계에 더해진다.")
+    @Test
+    void changeOrderStatusesUpdatesSalesSummary() {
+        // given
+        Order order1 = createOrder(OrderStatus.INIT);
+        Order order2 = createOrder(OrderStatus.INIT);
+        createOrder(OrderStatus.INIT);
+
+        OrderStatusChangeServiceRequest request = OrderStatusChangeServiceRequest.builder()
+                .orderIds(List.of(order1.getId(), order2.getId()))
+                .orderStatus(OrderStatus.PAYMENT_COMPLETED)
+                .build();
+
+        // when
+        orderStatusService.changeOrderStatuses(request, LocalDateTime.now());
+
+        // then
+        assertThat(dailySalesSummaryService.getTotalPrice(SALES_DATE, OrderStatus.INIT)).isEqualTo(4000);
+        assertThat(dailySalesSummaryService.getTotalPrice(SALES_DATE, OrderStatus.PAYMENT_COMPLETED)).isEqualTo(8000);
+        assertThat(dailyProductSalesSummaryRepository.findAllByIdSalesDateAndIdOrderStatus(SALES_DATE, OrderStatus.PAYMENT_COMPLETED))
+                .extracting(summary -> summary.getId().getProductNumber(), DailyProductSalesSummary::getQuantity)
+                .containsExactlyInAnyOrder(
+                        tuple("001", 2L),
+                        tuple("002", 2L)
+                );
+    }
+
+    @DisplayName("주문 수가 늘어나도 주문마다 엔티티를 불러오지 않고, 같은 수의 쿼리로 상태를 바꾼다.")
+    @Test
+    void changeOrderStatusesStatementCount() {
+        // given
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            orderIds.add(createOrder(OrderStatus.INIT).getId());
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // when
+        statistics.clear();
+        orderStatusService.changeOrderStatuses(request(orderIds.subList(0, 100), OrderStatus.PAYMENT_COMPLETED), LocalDateTime.now());
+        long statementCountFor100 = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        orderStatusService.changeOrderStatuses(request(orderIds.subList(100, 300), OrderStatus.PAYMENT_COMPLETED), LocalDateTime.now());
+        long statementCountFor200 = statistics.getPrepareStatementCount();
+
+        // then ( 처음 요청에는 그날 결제완료 집계 row 를 만드는 쿼리가 더 나간다. )
+        assertThat(statementCountFor200).isLessThanOrEqualTo(statementCountFor100);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(orderRepository.findAll())
+                .extracting("orderStatus")
+                .containsOnly(OrderStatus.PAYMENT_COMPLETED);
+    }
+
+    private OrderStatusChangeServiceRequest request(List<Long> orderIds, OrderStatus orderStatus) {
+        return OrderStatusChangeServiceRequest.builder()
+                .orderIds(orderIds)
+                .orderStatus(orderStatus)
+                .build();
+    }
+
+    private Order createOrder(OrderStatus orderStatus) {
+        return orderRepository.save(Order.builder()
+                .products(products)
+                .orderStatus(orderStatus)
+                .registeredDateTime(SALES_DATE.atTime(10, 0))
+                .build());
+    }
+
+    private Product createProduct(String productNumber, int price, String name) {
+        return Product.builder()
+                .type(ProductType.HANDMADE)
+                .productNumber(productNumber)
+                .price(price)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name(name)
+                .build();
+    }
+}
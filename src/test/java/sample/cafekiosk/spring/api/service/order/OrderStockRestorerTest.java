@@ -0,0 +1,189 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.request.OrderStatusChangeServiceRequest;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.sales.DailyProductSalesSummaryRepository;
+import sample.cafekiosk.spring.domain.sales.DailySalesSummaryRepository;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+class OrderStockRestorerTest extends IntegrationTestSupport {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderStatusService orderStatusService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private DailySalesSummaryRepository dailySalesSummaryRepository;
+
+    @Autowired
+    private DailyProductSalesSummaryRepository dailyProductSalesSummaryRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.saveAll(List.of(
+                createProduct(ProductType.BOTTLE, "001", 1000, "병 음료"),
+                createProduct(ProductType.BAKERY, "002", 3000, "베이글"),
+                createProduct(ProductType.HANDMADE, "003", 5000, "카페라떼")
+        ));
+        stockRepository.saveAll(List.of(Stock.create("001", 5), Stock.create("002", 5)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        stockRepository.deleteAllInBatch();
+        dailySalesSummaryRepository.deleteAllInBatch();
+        dailyProductSalesSummaryRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("주문을 취소하면 주문할 때 차감한 재고가 되돌아온다.")
+    @Test
+    void restoreOnCancel() {
+        // given
+        Long orderId = createOrder("001", "001", "002", "003");
+
+        // when
+        transactionTemplate.executeWithoutResult(status -> {
+            Order order = orderRepository.findById(orderId).orElseThrow();
+            order.changeOrderStatus(OrderStatus.CANCELED);
+            orderRepository.save(order);
+        });
+
+        // then
+        assertThat(stockRepository.findAll())
+                .extracting("productNumber", "quantity")
+                .containsExactlyInAnyOrder(
+                        tuple("001", 5),
+                        tuple("002", 5)
+                );
+    }
+
+    @DisplayName("여러 주문을 한 번에 취소하면 상품별로 합산한 수량만큼 재고가 되돌아온다.")
+    @Test
+    void restoreOnBulkCancel() {
+        // given
+        Long orderId1 = createOrder("001", "002");
+        Long orderId2 = createOrder("001", "001");
+        Long orderId3 = createOrder("002");
+
+        // when
+        orderStatusService.changeOrderStatuses(request(List.of(orderId1, orderId2), OrderStatus.CANCELED), LocalDateTime.now());
+
+        // then
+        assertThat(stockRepository.findAll())
+                .extracting("productNumber", "quantity")
+                .containsExactlyInAnyOrder(
+                        tuple("001", 5),
+                        tuple("002", 4) // 취소하지 않은 orderId3 만큼 차감된 상태
+                );
+    }
+
+    @DisplayName("결제에 실패한 주문의 재고는 되돌아오고, 결제가 완료된 주문의 재고는 그대로다.")
+    @Test
+    void restoreOnPaymentFailed() {
+        // given
+        Long failedOrderId = createOrder("001");
+        Long completedOrderId = createOrder("002");
+
+        // when
+        orderStatusService.changeOrderStatuses(request(List.of(failedOrderId), OrderStatus.PAYMENT_FAILED), LocalDateTime.now());
+        orderStatusService.changeOrderStatuses(request(List.of(completedOrderId), OrderStatus.PAYMENT_COMPLETED), LocalDateTime.now());
+
+        // then
+        assertThat(stockRepository.findAll())
+                .extracting("productNumber", "quantity")
+                .containsExactlyInAnyOrder(
+                        tuple("001", 5),
+                        tuple("002", 4)
+                );
+    }
+
+    @DisplayName("취소가 롤백되면 재고도 되돌아오지 않는다.")
+    @Test
+    void noRestoreOnRollback() {
+        // given
+        Long orderId = createOrder("001", "002");
+
+        // when
+        transactionTemplate.executeWithoutResult(status -> {
+            Order order = orderRepository.findById(orderId).orElseThrow();
+            order.changeOrderStatus(OrderStatus.CANCELED);
+            orderRepository.save(order);
+            status.setRollbackOnly();
+        });
+
+        // then
+        assertThat(orderRepository.findById(orderId).orElseThrow().getOrderStatus()).isEqualByComparingTo(OrderStatus.INIT);
+        assertThat(stockRepository.findAll())
+                .extracting("productNumber", "quantity")
+                .containsExactlyInAnyOrder(
+                        tuple("001", 4),
+                        tuple("002", 4)
+                );
+    }
+
+    private Long createOrder(String... productNumbers) {
+        OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+                .productNumbers(List.of(productNumbers))
+                .build();
+        return orderService.createOrder(request, LocalDateTime.now()).getId();
+    }
+
+    private OrderStatusChangeServiceRequest request(List<Long> orderIds, OrderStatus orderStatus) {
+        return OrderStatusChangeServiceRequest.builder()
+                .orderIds(orderIds)
+                .orderStatus(orderStatus)
+                .build();
+    }
+
+    private Product createProduct(ProductType type, String productNumber, int price, String name) {
+        return Product.builder()
+                .type(type)
+                .productNumber(productNumber)
+                .price(price)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name(name)
+                .build();
+    }
+}
@@ -0,0 +1,196 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.api.service.order.response.SalesTimeSeriesResponse;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.sales.DailyProductSalesSummaryRepository;
+import sample.cafekiosk.spring.domain.sales.DailySalesSummaryRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+
+class SalesTimeSeriesIndexTest extends IntegrationTestSupport {
+
+    @Autowired
+    private SalesTimeSeriesIndex salesTimeSeriesIndex;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private DailySalesSummaryRepository dailySalesSummaryRepository;
+
+    @Autowired
+    private DailyProductSalesSummaryRepository dailyProductSalesSummaryRepository;
+
+    private final LocalDate today = LocalDate.now();
+
+    private List<Product> products;
+
+    @BeforeEach
+    void setUp() {
+        salesTimeSeriesIndex.clear();
+        products = productRepository.saveAll(List.of(
+                createProduct("001", 1000, "아메리카노"),
+                createProduct("002", 3000, "카페라떼")
+        ));
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        dailySalesSummaryRepository.deleteAllInBatch();
+        dailyProductSalesSummaryRepository.deleteAllInBatch();
+        salesTimeSeriesIndex.clear();
+    }
+
+    @DisplayName("주문이 저장되면 주문 시간의 구간에 주문 수와 매출이 쌓인다.")
+    @Test
+    void queryByHour() {
+        // given
+        LocalDate yesterday = today.minusDays(1);
+        createOrder(yesterday.atTime(9, 10), OrderStatus.PAYMENT_COMPLETED);
+        createOrder(yesterday.atTime(9, 50), OrderStatus.PAYMENT_COMPLETED);
+        createOrder(yesterday.atTime(13, 0), OrderStatus.PAYMENT_COMPLETED);
+        createOrder(yesterday.atTime(13, 30), OrderStatus.INIT);
+
+        // when
+        SalesTimeSeriesResponse response = salesTimeSeriesIndex.query(yesterday, yesterday, SalesGranularity.HOUR, OrderStatus.PAYMENT_COMPLETED);
+
+        // then
+        assertThat(response.getPoints()).hasSize(24);
+        assertThat(response.getPoints())
+                .filteredOn(point -> point.getOrderCount() > 0)
+                .extracting("startDateTime", "orderCount", "totalPrice")
+                .containsExactly(
+                        tuple(yesterday.atTime(9, 0), 2L, 8000L),
+                        tuple(yesterday.atTime(13, 0), 1L, 4000L)
+                );
+        assertThat(response)
+                .extracting("totalOrderCount", "totalPrice")
+                .containsExactly(3L, 12000L);
+    }
+
+    @DisplayName("주 단위로 조회하면 조회 시작일부터 7일씩 묶어서 합산한다.")
+    @Test
+    void queryByWeek() {
+        // given
+        LocalDate fromDate = today.minusDays(13);
+        createOrder(fromDate.atTime(10, 0), OrderStatus.PAYMENT_COMPLETED);
+        createOrder(fromDate.plusDays(6).atTime(23, 59), OrderStatus.PAYMENT_COMPLETED);
+        createOrder(fromDate.plusDays(7).atTime(0, 0), OrderStatus.PAYMENT_COMPLETED);
+
+        // when
+        SalesTimeSeriesResponse response = salesTimeSeriesIndex.query(fromDate, today, SalesGranularity.WEEK, OrderStatus.PAYMENT_COMPLETED);
+
+        // then
+        assertThat(response.getPoints())
+                .extracting("startDateTime", "orderCount", "totalPrice")
+                .containsExactly(
+                        tuple(fromDate.atStartOfDay(), 2L, 8000L),
+                        tuple(fromDate.plusDays(7).atStartOfDay(), 1L, 4000L)
+                );
+    }
+
+    @DisplayName("주문 상태가 바뀌면 이전 상태의 매출은 빠지고 바뀐 상태에 더해진다.")
+    @Test
+    void queryAfterOrderStatusChanged() {
+        // given
+        Order order = createOrder(today.atTime(0, 30), OrderStatus.INIT);
+        order.changeOrderStatus(OrderStatus.PAYMENT_COMPLETED);
+        orderRepository.save(order);
+
+        // when
+        SalesTimeSeriesResponse initSales = salesTimeSeriesIndex.query(today, today, SalesGranularity.DAY, OrderStatus.INIT);
+        SalesTimeSeriesResponse completedSales = salesTimeSeriesIndex.query(today, today, SalesGranularity.DAY, OrderStatus.PAYMENT_COMPLETED);
+
+        // then
+        assertThat(initSales.getTotalOrderCount()).isZero();
+        assertThat(completedSales)
+                .extracting("totalOrderCount", "totalPrice")
+                .containsExactly(1L, 4000L);
+    }
+
+    @DisplayName("인덱스를 다시 만들면 orders 테이블의 주문으로 채워진다.")
+    @Test
+    void rebuild() {
+        // given
+        LocalDate yesterday = today.minusDays(1);
+        createOrder(yesterday.atTime(9, 10), OrderStatus.PAYMENT_COMPLETED);
+        createOrder(today.atTime(0, 0), OrderStatus.PAYMENT_COMPLETED);
+        salesTimeSeriesIndex.clear();
+
+        // when
+        salesTimeSeriesIndex.rebuild();
+
+        // then
+        SalesTimeSeriesResponse response = salesTimeSeriesIndex.query(yesterday, today, SalesGranularity.DAY, OrderStatus.PAYMENT_COMPLETED);
+        assertThat(response.getPoints())
+                .extracting("startDateTime", "orderCount", "totalPrice")
+                .containsExactly(
+                        tuple(yesterday.atStartOfDay(), 1L, 4000L),
+                        tuple(today.atStartOfDay(), 1L, 4000L)
+                );
+    }
+
+    @DisplayName("보관 기간보다 오래된 기간은 조회할 수 없다.")
+    @Test
+    void queryBeforeRetentionPeriod() {
+        // when & then
+        assertThatThrownBy(() -> salesTimeSeriesIndex.query(today.minusDays(400), today, SalesGranularity.DAY, OrderStatus.PAYMENT_COMPLETED))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("매출 시계열은 최근 400일까지만 조회할 수 있습니다.");
+    }
+
+    @DisplayName("조회 시작일이 종료일보다 늦으면 예외가 발생한다.")
+    @Test
+    void queryWithReversedPeriod() {
+        // when & then
+        assertThatThrownBy(() -> salesTimeSeriesIndex.query(today, today.minusDays(1), SalesGranularity.DAY, OrderStatus.PAYMENT_COMPLETED))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("조회 시작일은 종료일보다 늦을 수 없습니다.");
+    }
+
+    private Order createOrder(LocalDateTime registeredDateTime, OrderStatus orderStatus) {
+        return orderRepository.save(Order.builder()
+                .products(products)
+                .orderStatus(orderStatus)
+                .registeredDateTime(registeredDateTime)
+                .build());
+    }
+
+    private Product createProduct(String productNumber, int price, String name) {
+        return Product.builder()
+                .type(ProductType.HANDMADE)
+                .productNumber(productNumber)
+                .price(price)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name(name)
+                .build();
+    }
+}
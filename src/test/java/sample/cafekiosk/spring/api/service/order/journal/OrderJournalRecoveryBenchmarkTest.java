@@ -0,0 +1,109 @@
+package sample.cafekiosk.spring.api.service.order.journal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.util.unit.DataSize;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 주문 10만 / 100만 건의 이벤트(생성 -> 결제완료 -> 주문접수 -> 처리완료, 10건 중 1건은 주문접수에서 멈춘다)를 저널에 기록한 뒤,
+ * 저널을 다시 열 때(복구) 걸리는 시간을 snapshot 이 없는 경우(처음부터 replay)와 있는 경우(snapshot + 이후 1만 건)로 비교한다.
+ * - 실행: ./gradlew benchmark --tests '*OrderJournalRecoveryBenchmarkTest'
+ */
+@Tag("benchmark")
+class OrderJournalRecoveryBenchmarkTest {
+
+    private static final DataSize SEGMENT_SIZE = DataSize.ofMegabytes(64);
+    private static final int TAIL_ORDER_COUNT = 10_000;
+    private static final LocalDateTime REGISTERED_DATE_TIME = LocalDateTime.of(2024, 1, 1, 9, 0);
+    private static final List<String> PRODUCT_NUMBERS = List.of("001", "002", "003");
+
+    @TempDir
+    private Path directory;
+
+    @DisplayName("snapshot 이 있으면 복구 시간이 전체 record 수와 관계없이 snapshot 이후의 record 수에 비례한다.")
+    @ValueSource(ints = {100_000, 1_000_000})
+    @ParameterizedTest
+    public void recoveryTime(int orderCount) throws Exception {
+        // given
+        OrderJournal journal = new OrderJournal(directory, SEGMENT_SIZE);
+        journal.open();
+        long appendStart = System.nanoTime();
+        appendOrders(journal, 1, orderCount);
+        long appendNanos = System.nanoTime() - appendStart;
+        long recordCount = journal.getLastSequence();
+        journal.close();
+        deleteSnapshots();
+
+        // when
+        long fullReplayStart = System.nanoTime();
+        journal = new OrderJournal(directory, SEGMENT_SIZE);
+        journal.open();
+        long fullReplayNanos = System.nanoTime() - fullReplayStart;
+        int openOrderCount = journal.getOpenOrders().size();
+
+        journal.snapshot();
+        appendOrders(journal, orderCount + 1, TAIL_ORDER_COUNT);
+        journal.force();
+        long totalRecordCount = journal.getLastSequence();
+        int totalOpenOrderCount = journal.getOpenOrders().size(); // 비정상 종료 ( close 하지 않으므로 snapshot 이후 record 는 replay 한다. )
+
+        long snapshotRecoveryStart = System.nanoTime();
+        OrderJournal recovered = new OrderJournal(directory, SEGMENT_SIZE);
+        recovered.open();
+        long snapshotRecoveryNanos = System.nanoTime() - snapshotRecoveryStart;
+
+        // then
+        System.out.printf("[orders=%d, records=%d] append=%.0f records/sec, recovery: full replay=%.1fms, snapshot + %d records=%.1fms%n",
+                orderCount, recordCount, recordCount / (appendNanos / 1_000_000_000.0),
+                fullReplayNanos / 1_000_000.0, totalRecordCount - recordCount, snapshotRecoveryNanos / 1_000_000.0);
+
+        assertThat(openOrderCount).isEqualTo(orderCount / 10);
+        assertThat(recovered.getOpenOrders()).hasSize(totalOpenOrderCount);
+        assertThat(recovered.getLastSequence()).isEqualTo(totalRecordCount);
+        recovered.close();
+    }
+
+    private void appendOrders(OrderJournal journal, long firstOrderId, int orderCount) {
+        for (long orderId = firstOrderId; orderId < firstOrderId + orderCount; orderId++) {
+            journal.append(record(OrderJournalRecordType.CREATED, orderId, null, OrderStatus.INIT));
+            journal.append(record(OrderJournalRecordType.STATUS_CHANGED, orderId, OrderStatus.INIT, OrderStatus.PAYMENT_COMPLETED));
+            journal.append(record(OrderJournalRecordType.STATUS_CHANGED, orderId, OrderStatus.PAYMENT_COMPLETED, OrderStatus.RECEIVED));
+            if (orderId % 10 != 0) {
+                journal.append(record(OrderJournalRecordType.STATUS_CHANGED, orderId, OrderStatus.RECEIVED, OrderStatus.COMPLETED));
+            }
+        }
+    }
+
+    private OrderJournalRecord record(OrderJournalRecordType type, long orderId, OrderStatus beforeStatus, OrderStatus orderStatus) {
+        return OrderJournalRecord.builder()
+                .type(type)
+                .orderId(orderId)
+                .registeredDateTime(REGISTERED_DATE_TIME)
+                .beforeStatus(beforeStatus)
+                .orderStatus(orderStatus)
+                .totalPrice(9000)
+                .productNumbers(PRODUCT_NUMBERS)
+                .build();
+    }
+
+    private void deleteSnapshots() throws IOException {
+        try (Stream<Path> paths = Files.list(directory)) {
+            for (Path snapshot : paths.filter(path -> path.getFileName().toString().endsWith(".snapshot")).toList()) {
+                Files.delete(snapshot);
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package sample.cafekiosk.spring.api.service.order.journal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+class OrderJournalTest {
+
+    private static final LocalDateTime REGISTERED_DATE_TIME = LocalDateTime.of(2024, 1, 1, 9, 30, 15, 123_456_789);
+
+    @TempDir
+    private Path directory;
+
+    private OrderJournal journal;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    @DisplayName("기록한 record 를 순서대로 다시 읽는다.")
+    @Test
+    void appendAndReplay() throws IOException {
+        // given
+        journal = openJournal(DataSize.ofMegabytes(1));
+        journal.append(created(1L, "001", "001", "002"));
+        journal.append(statusChanged(1L, OrderStatus.INIT, OrderStatus.CANCELED));
+
+        // when
+        List<OrderJournalRecord> records = new ArrayList<>();
+        journal.replay(1, records::add);
+
+        // then
+        assertThat(records)
+                .extracting("sequence", "type", "orderId", "registeredDateTime", "beforeStatus", "orderStatus", "totalPrice", "productNumbers")
+                .containsExactly(
+                        tuple(1L, OrderJournalRecordType.CREATED, 1L, REGISTERED_DATE_TIME, null, OrderStatus.INIT, 4000, List.of("001", "001", "002")),
+                        tuple(2L, OrderJournalRecordType.STATUS_CHANGED, 1L, REGISTERED_DATE_TIME, OrderStatus.INIT, OrderStatus.CANCELED, 4000, List.of("001", "001", "002"))
+                );
+    }
+
+    @DisplayName("다시 열면 끝나지 않은 주문을 복구하고, 마지막 sequence 다음부터 이어서 기록한다.")
+    @Test
+    void recover() throws IOException {
+        // given
+        journal = openJournal(DataSize.ofMegabytes(1));
+        journal.append(created(1L, "001"));
+        journal.append(created(2L, "002"));
+        journal.append(statusChanged(1L, OrderStatus.INIT, OrderStatus.PAYMENT_COMPLETED));
+        journal.append(statusChanged(2L, OrderStatus.INIT, OrderStatus.PAYMENT_FAILED));
+        journal.close();
+        deleteSnapshots(); // snapshot 없이 저널만으로 복구
+
+        // when
+        journal = openJournal(DataSize.ofMegabytes(1));
+
+        // then
+        assertThat(journal.getOpenOrders().values())
+                .extracting("orderId", "orderStatus")
+                .containsExactly(tuple(1L, OrderStatus.PAYMENT_COMPLETED));
+        assertThat(journal.append(created(3L, "003"))).isEqualTo(5);
+    }
+
+    @DisplayName("segment 가 가득 차면 새 segment 에 이어서 기록하고, 여러 segment 를 순서대로 다시 읽는다.")
+    @Test
+    void rollSegment() throws IOException {
+        // given
+        journal = openJournal(DataSize.ofBytes(128)); // record 두세 건이면 가득 찬다.
+        for (long orderId = 1; orderId <= 10; orderId++) {
+            journal.append(created(orderId, "001"));
+        }
+        journal.close();
+        deleteSnapshots();
+
+        // when
+        journal = openJournal(DataSize.ofBytes(128));
+        List<Long> sequences = new ArrayList<>();
+        journal.replay(1, record -> sequences.add(record.getSequence()));
+
+        // then
+        assertThat(listFiles(".journal")).hasSizeGreaterThan(1);
+        assertThat(sequences).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+        assertThat(journal.getOpenOrders()).hasSize(10);
+    }
+
+    @DisplayName("snapshot 이 있으면 snapshot 과 그 이후의 record 로 복구한다.")
+    @Test
+    void recoverFromSnapshot() throws IOException {
+        // given
+        journal = openJournal(DataSize.ofMegabytes(1));
+        journal.append(created(1L, "001"));
+        journal.append(created(2L, "002"));
+        journal.snapshot();
+        journal.append(statusChanged(1L, OrderStatus.INIT, OrderStatus.CANCELED));
+        journal.append(created(3L, "003"));
+        journal.force();
+        journal = null; // 비정상 종료 ( close 하지 않는다. )
+
+        // when
+        journal = openJournal(DataSize.ofMegabytes(1));
+
+        // then
+        assertThat(listFiles(".snapshot")).hasSize(1);
+        assertThat(journal.getOpenOrders().keySet()).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(journal.getLastSequence()).isEqualTo(4);
+    }
+
+    @DisplayName("기록되다 만 record 는 버리고, 그 자리부터 이어서 기록한다.")
+    @Test
+    void recoverFromTornRecord() throws IOException {
+        // given
+        journal = openJournal(DataSize.ofMegabytes(1));
+        journal.append(created(1L, "001"));
+        journal.append(created(2L, "002"));
+        journal.close();
+        deleteSnapshots();
+        corruptLastByteOfSecondRecord();
+
+        // when
+        journal = openJournal(DataSize.ofMegabytes(1));
+        long sequence = journal.append(created(3L, "003"));
+
+        // then
+        List<Long> orderIds = new ArrayList<>();
+        journal.replay(1, record -> orderIds.add(record.getOrderId()));
+        assertThat(sequence).isEqualTo(2);
+        assertThat(orderIds).containsExactly(1L, 3L);
+    }
+
+    private OrderJournal openJournal(DataSize segmentSize) throws IOException {
+        OrderJournal orderJournal = new OrderJournal(directory, segmentSize);
+        orderJournal.open();
+        return orderJournal;
+    }
+
+    // 두 번째 record 의 CRC 를 깨뜨린다. ( 같은 크기의 record 두 건 )
+    private void corruptLastByteOfSecondRecord() throws IOException {
+        Path segment = listFiles(".journal").get(0);
+        int frameSize = 4 + 8 + created(1L, "001").payloadSize() + 4;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer lastByte = ByteBuffer.allocate(1);
+            channel.read(lastByte, frameSize * 2L - 1);
+            lastByte.put(0, (byte) ~lastByte.get(0));
+            lastByte.rewind();
+            channel.write(lastByte, frameSize * 2L - 1);
+        }
+    }
+
+    private void deleteSnapshots() throws IOException {
+        for (Path snapshot : listFiles(".snapshot")) {
+            Files.delete(snapshot);
+        }
+    }
+
+    private List<Path> listFiles(String suffix) throws IOException {
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.filter(path -> path.getFileName().toString().endsWith(suffix))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private OrderJournalRecord created(long orderId, String... productNumbers) {
+        return OrderJournalRecord.builder()
+                .type(OrderJournalRecordType.CREATED)
+                .orderId(orderId)
+                .registeredDateTime(REGISTERED_DATE_TIME)
+                .orderStatus(OrderStatus.INIT)
+                .totalPrice(4000)
+                .productNumbers(List.of(productNumbers))
+                .build();
+    }
+
+    private OrderJournalRecord statusChanged(long orderId, OrderStatus beforeStatus, OrderStatus orderStatus) {
+        return OrderJournalRecord.builder()
+                .type(OrderJournalRecordType.STATUS_CHANGED)
+                .orderId(orderId)
+                .registeredDateTime(REGISTERED_DATE_TIME)
+                .beforeStatus(beforeStatus)
+                .orderStatus(orderStatus)
+                .totalPrice(4000)
+                .productNumbers(List.of("001", "001", "002"))
+                .build();
+    }
+}
@@ -0,0 +1,140 @@
+package sample.cafekiosk.spring.api.service.order.outbox;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.event.ApplicationEventMulticaster;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.domain.order.OrderCreatedEvent;
+import sample.cafekiosk.spring.domain.order.OrderEvent;
+import sample.cafekiosk.spring.domain.order.OrderEventRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.sales.DailyProductSalesSummaryRepository;
+import sample.cafekiosk.spring.domain.sales.DailySalesSummaryRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 주문 이벤트 10만 건을 outbox 에 기록한 뒤, relay 1 / 4 개가 동시에 전달할 때의 처리량(events/sec)을 측정한다. ( 목표: 로컬 H2 에서 10,000 events/sec 이상 )
+ * - 실행: ./gradlew benchmark --tests '*OrderEventRelayBenchmarkTest'
+ * - relay 가 여러 개여도 각 이벤트는 한 번씩만 전달되어야 한다. ( skip locked + lease )
+ */
+@Tag("benchmark")
+@TestPropertySource(properties = {
+        "spring.jpa.show-sql=false"
+})
+class OrderEventRelayBenchmarkTest extends IntegrationTestSupport {
+
+    private static final int EVENT_COUNT = 100_000;
+    private static final int EVENTS_PER_TRANSACTION = 1000;
+    private static final List<String> PRODUCT_NUMBERS = List.of("001", "002", "003");
+
+    @Autowired
+    private OrderEventRelay orderEventRelay;
+
+    @Autowired
+    private OrderEventRepository orderEventRepository;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    private ApplicationEventMulticaster applicationEventMulticaster;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DailySalesSummaryRepository dailySalesSummaryRepository;
+
+    @Autowired
+    private DailyProductSalesSummaryRepository dailyProductSalesSummaryRepository;
+
+    private final Set<Long> deliveredIds = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger deliveryCount = new AtomicInteger();
+    private final ApplicationListener<ApplicationEvent> listener = event -> { // relay 가 전달한 이벤트를 센다.
+        if (event instanceof PayloadApplicationEvent<?> payloadEvent && payloadEvent.getPayload() instanceof OrderEvent orderEvent) {
+            deliveryCount.incrementAndGet();
+            deliveredIds.add(orderEvent.getId());
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        orderEventRepository.deleteAllInBatch();
+        applicationEventMulticaster.addApplicationListener(listener);
+    }
+
+    @AfterEach
+    void tearDown() {
+        applicationEventMulticaster.removeApplicationListener(listener);
+        orderEventRepository.deleteAllInBatch();
+        dailySalesSummaryRepository.deleteAllInBatch();
+        dailyProductSalesSummaryRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("relay 를 여러 개 실행해도 모든 이벤트가 한 번씩 전달된다.")
+    @ValueSource(ints = {1, 4})
+    @ParameterizedTest
+    public void relayThroughput(int relayCount) throws Exception {
+        // given
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+        long writeStart = System.nanoTime();
+        for (int first = 1; first <= EVENT_COUNT; first += EVENTS_PER_TRANSACTION) {
+            long firstOrderId = first;
+            transactionTemplate.executeWithoutResult(status -> {
+                for (long orderId = firstOrderId; orderId < firstOrderId + EVENTS_PER_TRANSACTION; orderId++) {
+                    applicationEventPublisher.publishEvent(new OrderCreatedEvent(orderId, registeredDateTime, OrderStatus.INIT, 9000, PRODUCT_NUMBERS));
+                }
+            });
+        }
+        long writeNanos = System.nanoTime() - writeStart;
+
+        // when
+        ExecutorService executorService = Executors.newFixedThreadPool(relayCount);
+        long relayStart = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < relayCount; i++) {
+            futures.add(executorService.submit(() -> {
+                while (orderEventRelay.relay() > 0) {
+                    // 가져올 이벤트가 없을 때까지 ( 다른 relay 가 잡고 있는 이벤트는 건너뛴다. )
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long relayNanos = System.nanoTime() - relayStart;
+        executorService.shutdown();
+
+        // then
+        System.out.printf("relays=%d, events=%d, write=%.0f events/sec, relay=%.0f events/sec (%.1fms)%n",
+                relayCount, EVENT_COUNT,
+                EVENT_COUNT / (writeNanos / 1_000_000_000.0),
+                EVENT_COUNT / (relayNanos / 1_000_000_000.0), relayNanos / 1_000_000.0);
+
+        assertThat(orderEventRepository.countByPublishedDateTimeIsNull()).isZero();
+        assertThat(deliveredIds).hasSize(EVENT_COUNT);
+        assertThat(deliveryCount.get()).isEqualTo(EVENT_COUNT);
+    }
+}
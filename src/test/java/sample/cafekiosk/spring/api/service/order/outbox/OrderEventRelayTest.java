@@ -0,0 +1,195 @@
+package sample.cafekiosk.spring.api.service.order.outbox;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.api.service.order.OrderStatusService;
+import sample.cafekiosk.spring.api.service.order.request.OrderStatusChangeServiceRequest;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderCreatedEvent;
+import sample.cafekiosk.spring.domain.order.OrderEvent;
+import sample.cafekiosk.spring.domain.order.OrderEventRepository;
+import sample.cafekiosk.spring.domain.order.OrderEventType;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.sales.DailyProductSalesSummaryRepository;
+import sample.cafekiosk.spring.domain.sales.DailySalesSummaryRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+@RecordApplicationEvents
+class OrderEventRelayTest extends IntegrationTestSupport {
+
+    private static final LocalDateTime REGISTERED_DATE_TIME = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    @Autowired
+    private OrderEventRelay orderEventRelay;
+
+    @Autowired
+    private OrderEventRepository orderEventRepository;
+
+    @Autowired
+    private OrderStatusService orderStatusService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private DailySalesSummaryRepository dailySalesSummaryRepository;
+
+    @Autowired
+    private DailyProductSalesSummaryRepository dailyProductSalesSummaryRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    private List<Product> products;
+
+    @BeforeEach
+    void setUp() {
+        orderEventRepository.deleteAllInBatch(); // 다른 테스트에서 만든 주문의 이벤트
+        products = productRepository.saveAll(List.of(
+                createProduct("001", 1000, "아메리카노"),
+                createProduct("002", 3000, "카페라떼")
+        ));
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderEventRepository.deleteAllInBatch();
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        dailySalesSummaryRepository.deleteAllInBatch();
+        dailyProductSalesSummaryRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("주문을 저장하면 같은 트랜잭션에서 전달하지 않은 주문 이벤트가 기록된다.")
+    @Test
+    void writeOrderEvent() {
+        // when
+        Order order = orderRepository.save(Order.create(products, REGISTERED_DATE_TIME));
+
+        // then
+        assertThat(orderEventRepository.findAll())
+                .extracting("orderId", "eventType", "beforeStatus", "orderStatus", "totalPrice", "registeredDateTime", "productNumbers", "published")
+                .containsExactly(
+                        tuple(order.getId(), OrderEventType.CREATED, null, OrderStatus.INIT, 4000, REGISTERED_DATE_TIME, List.of("001", "002"), false)
+                );
+    }
+
+    @DisplayName("주문 트랜잭션이 롤백되면 주문 이벤트도 남지 않는다.")
+    @Test
+    void noOrderEventOnRollback() {
+        // when
+        transactionTemplate.executeWithoutResult(status -> {
+            orderRepository.save(Order.create(products, REGISTERED_DATE_TIME));
+            status.setRollbackOnly();
+        });
+
+        // then
+        assertThat(orderRepository.count()).isZero();
+        assertThat(orderEventRepository.count()).isZero();
+    }
+
+    @DisplayName("relay 가 꺼져 있으면 주문 이벤트를 기록하지 않는다.")
+    @Test
+    void noOrderEventWhenRelayDisabled() {
+        // given
+        OrderEventOutbox disabledOutbox = new OrderEventOutbox(jdbcTemplate, false);
+
+        // when
+        disabledOutbox.onOrderCreated(new OrderCreatedEvent(1L, REGISTERED_DATE_TIME, OrderStatus.INIT, 4000, List.of("001", "002")));
+
+        // then
+        assertThat(orderEventRepository.count()).isZero();
+    }
+
+    @DisplayName("커밋된 주문 이벤트를 기록된 순서대로 리스너에 전달하고, 전달한 이벤트는 다시 전달하지 않는다.")
+    @Test
+    void relay() {
+        // given
+        Order order = orderRepository.save(Order.create(products, REGISTERED_DATE_TIME));
+        orderStatusService.changeOrderStatuses(OrderStatusChangeServiceRequest.builder()
+                .orderIds(List.of(order.getId()))
+                .orderStatus(OrderStatus.PAYMENT_COMPLETED)
+                .build(), LocalDateTime.now());
+
+        // when
+        int relayedCount = orderEventRelay.relay();
+
+        // then
+        assertThat(relayedCount).isEqualTo(2);
+        assertThat(applicationEvents.stream(OrderEvent.class))
+                .extracting("orderId", "eventType", "beforeStatus", "orderStatus")
+                .containsExactly(
+                        tuple(order.getId(), OrderEventType.CREATED, null, OrderStatus.INIT),
+                        tuple(order.getId(), OrderEventType.STATUS_CHANGED, OrderStatus.INIT, OrderStatus.PAYMENT_COMPLETED)
+                );
+        assertThat(orderEventRepository.findAll())
+                .extracting("published", "attempts")
+                .containsOnly(tuple(true, 1));
+        assertThat(orderEventRelay.relay()).isZero();
+    }
+
+    @DisplayName("다른 relay 가 가져간 이벤트는 lease 가 지나기 전까지 다시 가져가지 않는다.")
+    @Test
+    void skipClaimedEvents() {
+        // given ( 다른 relay 가 가져간 뒤 전달하지 못하고 종료된 상황 )
+        orderRepository.save(Order.create(products, REGISTERED_DATE_TIME));
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> ids = orderEventRepository.findAllForClaim(now, 5, Limit.of(10)).stream()
+                    .map(OrderEvent::getId)
+                    .toList();
+            orderEventRepository.claim(ids, now.plusMinutes(1));
+        });
+
+        // when
+        int relayedCount = orderEventRelay.relay();
+
+        // then
+        assertThat(relayedCount).isZero();
+        assertThat(applicationEvents.stream(OrderEvent.class)).isEmpty();
+        assertThat(orderEventRepository.countByPublishedDateTimeIsNull()).isEqualTo(1);
+    }
+
+    private Product createProduct(String productNumber, int price, String name) {
+        return Product.builder()
+                .type(ProductType.HANDMADE)
+                .productNumber(productNumber)
+                .price(price)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name(name)
+                .build();
+    }
+}
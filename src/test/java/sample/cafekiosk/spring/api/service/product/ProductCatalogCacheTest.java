@@ -0,0 +1,133 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import com.google.common.base.Ticker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductChangedEvent;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+
+class ProductCatalogCacheTest extends IntegrationTestSupport {
+
+    @Autowired
+    private ProductCatalogCache productCatalogCache;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ObjectProvider<Ticker> ticker;
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("상품번호로 조회한 상품은 캐싱되고, 캐시에 없는 상품만 DB 에서 조회한다.")
+    @Test
+    public void getProductsByProductNumbers() throws Exception {
+        // given
+        Product product1 = createProduct("001", ProductSellingStatus.SELLING);
+        Product product2 = createProduct("002", ProductSellingStatus.SELLING);
+        productRepository.saveAll(List.of(product1, product2));
+        productCatalogCache.getProductsByProductNumbers(List.of("001"));
+        long hitCount = productCatalogCache.getProductNumberCacheStats().hitCount();
+        long missCount = productCatalogCache.getProductNumberCacheStats().missCount();
+
+        // when
+        List<Product> products = productCatalogCache.getProductsByProductNumbers(List.of("001", "002", "999"));
+
+        // then
+        assertThat(products)
+                .extracting("productNumber")
+                .containsExactlyInAnyOrder("001", "002");
+        assertThat(productCatalogCache.getProductNumberCacheStats().hitCount() - hitCount).isEqualTo(1);
+        assertThat(productCatalogCache.getProductNumberCacheStats().missCount() - missCount).isEqualTo(2);
+    }
+
+    @DisplayName("판매상태별 상품 목록은 캐싱되어, 두 번째 조회부터는 캐시에서 응답한다.")
+    @Test
+    public void getProductsBySellingStatuses() throws Exception {
+        // given
+        Product product1 = createProduct("001", ProductSellingStatus.SELLING);
+        Product product2 = createProduct("002", ProductSellingStatus.HOLD);
+        Product product3 = createProduct("003", ProductSellingStatus.STOP_SELLING);
+        productRepository.saveAll(List.of(product1, product2, product3));
+        List<ProductSellingStatus> sellingStatuses = ProductSellingStatus.forDisplay();
+        productCatalogCache.getProductsBySellingStatuses(sellingStatuses);
+        long hitCount = productCatalogCache.getSellingStatusCacheStats().hitCount();
+
+        // when
+        List<Product> products = productCatalogCache.getProductsBySellingStatuses(sellingStatuses);
+
+        // then
+        assertThat(products)
+                .extracting("productNumber")
+                .containsExactly("001", "002");
+        assertThat(productCatalogCache.getSellingStatusCacheStats().hitCount() - hitCount).isEqualTo(2);
+    }
+
+    @DisplayName("상품 변경 이벤트를 받으면 해당 상품과 판매상태별 목록을 무효화한다.")
+    @Test
+    public void onProductChanged() throws Exception {
+        // given
+        productRepository.save(createProduct("001", ProductSellingStatus.SELLING));
+        productCatalogCache.getProductsBySellingStatuses(ProductSellingStatus.forDisplay());
+        productRepository.save(createProduct("002", ProductSellingStatus.SELLING));
+
+        // when
+        productCatalogCache.onProductChanged(new ProductChangedEvent("002"));
+
+        // then
+        assertThat(productCatalogCache.getProductsBySellingStatuses(ProductSellingStatus.forDisplay()))
+                .extracting("productNumber")
+                .containsExactly("001", "002");
+    }
+
+    @DisplayName("조회하는 도중에 상품 변경 이벤트를 받으면, 조회한 목록은 변경 이전의 값일 수 있으므로 캐싱하지 않는다.")
+    @Test
+    public void onProductChangedWhileLoading() throws Exception {
+        // given
+        ProductRepository loadingProductRepository = mock(ProductRepository.class);
+        ProductCatalogCache catalogCache = new ProductCatalogCache(loadingProductRepository, 100, Duration.ofMinutes(10), ticker);
+        given(loadingProductRepository.findAllBySellingStatusIn(anyList()))
+                .willAnswer(invocation -> {
+                    catalogCache.onProductChanged(new ProductChangedEvent("001")); // 조회하는 도중에 상품이 바뀌었다.
+                    return List.of(createProduct("001", ProductSellingStatus.SELLING));
+                })
+                .willReturn(List.of());
+
+        // when
+        catalogCache.getProductsBySellingStatuses(List.of(ProductSellingStatus.SELLING));
+        catalogCache.getProductsBySellingStatuses(List.of(ProductSellingStatus.SELLING));
+
+        // then
+        then(loadingProductRepository).should(times(2)).findAllBySellingStatusIn(anyList());
+    }
+
+    private Product createProduct(String productNumber, ProductSellingStatus sellingStatus) {
+        return Product.builder()
+                .productNumber(productNumber)
+                .type(ProductType.HANDMADE)
+                .sellingStatus(sellingStatus)
+                .name("아메리카노")
+                .price(4000)
+                .build();
+    }
+}
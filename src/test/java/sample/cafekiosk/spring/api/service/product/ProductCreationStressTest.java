@@ -0,0 +1,77 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.api.service.product.request.ProductCreateServiceRequest;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 동시에 10,000 개의 상품을 등록해도 상품번호가 겹치지 않는지 확인한다.
+ * - 상품 등록 트랜잭션이 커넥션을 하나씩 잡고, 상품번호 범위를 가져올 때 커넥션이 하나 더 필요하므로 스레드 수는 커넥션 풀보다 작게 둔다.
+ * - 실행: ./gradlew benchmark --tests '*ProductCreationStressTest'
+ */
+@Tag("benchmark")
+class ProductCreationStressTest extends IntegrationTestSupport {
+
+    private static final int PRODUCT_COUNT = 10_000;
+    private static final int THREAD_COUNT = 8;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("동시에 상품을 등록해도 상품번호는 모두 다르다.")
+    @Test
+    public void createProductConcurrently() throws Exception {
+        // given
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        ProductCreateServiceRequest request = ProductCreateServiceRequest.builder()
+                .type(ProductType.HANDMADE)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name("아메리카노")
+                .price(4000)
+                .build();
+        Callable<String> task = () -> productService.createProduct(request).getProductNumber();
+
+        // when
+        long start = System.nanoTime();
+        List<Future<String>> results = executorService.invokeAll(IntStream.range(0, PRODUCT_COUNT).mapToObj(i -> task).toList());
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        executorService.shutdown();
+
+        // then
+        for (Future<String> result : results) {
+            result.get(); // 실패한 등록이 있으면 예외
+        }
+        System.out.printf("[products=%d, threads=%d] %dms (%.1f products/sec)%n",
+                PRODUCT_COUNT, THREAD_COUNT, elapsedMillis, PRODUCT_COUNT / (elapsedMillis / 1000.0));
+
+        List<String> productNumbers = productRepository.findAll().stream()
+                .map(Product::getProductNumber)
+                .toList();
+        assertThat(productNumbers).hasSize(PRODUCT_COUNT).doesNotHaveDuplicates();
+    }
+}
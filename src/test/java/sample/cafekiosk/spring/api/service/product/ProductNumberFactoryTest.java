@@ -1,7 +1,123 @@
 package sample.cafekiosk.spring.api.service.product;
 
-import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductNumberSequenceRepository;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
 
-class ProductNumberFactoryTest {
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
 
-}
\ No newline at end of file
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductNumberFactoryTest extends IntegrationTestSupport {
+
+    private static final int BLOCK_SIZE = 100;
+
+    @Autowired
+    private ProductNumberBlockLeaser productNumberBlockLeaser;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductNumberSequenceRepository productNumberSequenceRepository;
+
+    private ProductNumberFactory productNumberFactory;
+
+    @BeforeEach
+    void setUp() {
+        // 테스트 프로파일의 상품번호 발급은 범위를 1 로 두므로, 범위 단위 발급은 테스트마다 새로 만든 factory 로 확인한다.
+        productNumberFactory = new ProductNumberFactory(productNumberBlockLeaser, BLOCK_SIZE, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("상품번호는 가장 큰 상품번호 다음 값부터 차례대로 발급된다.")
+    @Test
+    public void createNextProductNumber() throws Exception {
+        // given
+        productRepository.saveAll(List.of(createProduct("001"), createProduct("005")));
+
+        // when
+        String first = productNumberFactory.createNextProductNumber();
+        String second = productNumberFactory.createNextProductNumber();
+
+        // then
+        assertThat(first).isEqualTo("006");
+        assertThat(second).isEqualTo("007");
+    }
+
+    @DisplayName("상품번호 범위는 한 번에 가져오므로, 범위 안에서는 시퀀스 값이 바뀌지 않는다.")
+    @Test
+    public void createNextProductNumberWithinBlock() throws Exception {
+        // given
+        productNumberFactory.createNextProductNumber();
+        long nextValue = productNumberSequenceRepository.findAll().get(0).getNextValue();
+
+        // when
+        IntStream.range(0, 10).forEach(i -> productNumberFactory.createNextProductNumber());
+
+        // then
+        assertThat(productNumberSequenceRepository.findAll().get(0).getNextValue()).isEqualTo(nextValue);
+    }
+
+    @DisplayName("상품번호가 999 를 넘으면 자릿수가 늘어난다.")
+    @Test
+    public void createNextProductNumberOverMinWidth() throws Exception {
+        // given
+        productRepository.save(createProduct("999"));
+
+        // when
+        String productNumber = productNumberFactory.createNextProductNumber();
+
+        // then
+        assertThat(productNumber).isEqualTo("1000");
+    }
+
+    @DisplayName("동시에 10,000 개의 상품번호를 발급해도 겹치지 않는다.")
+    @Test
+    public void createNextProductNumberConcurrently() throws Exception {
+        // given
+        int count = 10_000;
+        ExecutorService executorService = Executors.newFixedThreadPool(32);
+        Set<String> productNumbers = ConcurrentHashMap.newKeySet();
+        Callable<Boolean> task = () -> productNumbers.add(productNumberFactory.createNextProductNumber());
+
+        // when
+        List<Future<Boolean>> results = executorService.invokeAll(IntStream.range(0, count).mapToObj(i -> task).toList());
+        executorService.shutdown();
+
+        // then
+        for (Future<Boolean> result : results) {
+            assertThat(result.get()).isTrue(); // 이미 발급된 번호가 다시 나오면 false
+        }
+        assertThat(productNumbers).hasSize(count);
+    }
+
+    private Product createProduct(String productNumber) {
+        return Product.builder()
+                .type(ProductType.HANDMADE)
+                .productNumber(productNumber)
+                .price(4000)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name("메뉴 " + productNumber)
+                .build();
+    }
+}
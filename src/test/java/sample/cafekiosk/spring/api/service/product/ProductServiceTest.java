@@ -16,8 +16,11 @@ import sample.cafekiosk.spring.domain.product.ProductType;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.HOLD;
 import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.STOP_SELLING;
 import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
 
 // @ActiveProfiles("test")
@@ -108,6 +111,65 @@ class ProductServiceTest extends IntegrationTestSupport {
                 );
     }
 
+    @DisplayName("판매 상품을 조회한다. 상품 목록은 캐싱되어, 이후 조회는 DB 를 거치지 않는다.")
+    @Test
+    public void getSellingProducts() throws Exception {
+        // given
+        Product product1 = createProduct("001", HANDMADE, SELLING, "아메리카노", 4000);
+        Product product2 = createProduct("002", HANDMADE, HOLD, "카페라떼", 4500);
+        Product product3 = createProduct("003", HANDMADE, STOP_SELLING, "팥빙수", 7000);
+        productRepository.saveAll(List.of(product1, product2, product3));
+
+        // when
+        List<ProductResponse> productResponses = productService.getSellingProducts();
+        productRepository.deleteAllInBatch(); // 캐시를 거치지 않고 DB 에서 삭제
+        List<ProductResponse> cachedProductResponses = productService.getSellingProducts();
+
+        // then
+        assertThat(productResponses)
+                .extracting("productNumber", "sellingStatus")
+                .containsExactly(
+                        Tuple.tuple("001", SELLING),
+                        Tuple.tuple("002", HOLD)
+                );
+        assertThat(cachedProductResponses)
+                .extracting("productNumber", "sellingStatus")
+                .containsExactly(
+                        Tuple.tuple("001", SELLING),
+                        Tuple.tuple("002", HOLD)
+                );
+    }
+
+    @DisplayName("상품의 판매상태를 변경하면, 판매 상품 조회에 바로 반영된다.")
+    @Test
+    public void changeSellingStatus() throws Exception {
+        // given
+        Product product1 = createProduct("001", HANDMADE, SELLING, "아메리카노", 4000);
+        Product product2 = createProduct("002", HANDMADE, SELLING, "카페라떼", 4500);
+        productRepository.saveAll(List.of(product1, product2));
+        productService.getSellingProducts(); // 캐싱
+
+        // when
+        ProductResponse productResponse = productService.changeSellingStatus("002", STOP_SELLING);
+
+        // then
+        assertThat(productResponse)
+                .extracting("productNumber", "sellingStatus")
+                .contains("002", STOP_SELLING);
+        assertThat(productService.getSellingProducts())
+                .extracting("productNumber")
+                .containsExactly("001");
+    }
+
+    @DisplayName("존재하지 않는 상품의 판매상태를 변경하려는 경우 예외가 발생한다.")
+    @Test
+    public void changeSellingStatusWithUnknownProduct() throws Exception {
+        // when & then
+        assertThatThrownBy(() -> productService.changeSellingStatus("999", STOP_SELLING))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("존재하지 않는 상품입니다.");
+    }
+
     private Product createProduct(String productNumber, ProductType type,
                                   ProductSellingStatus sellingStatus, String name, int price) {
         Product product1 = Product.builder()
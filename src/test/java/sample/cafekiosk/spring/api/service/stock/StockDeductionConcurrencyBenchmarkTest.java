@@ -0,0 +1,114 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 상품을 동시에 구매하는 상황에서 재고 차감 전략별 처리량(orders/sec)과 초과 판매(oversell) 건수를 측정한다.
+ * - 실행: ./gradlew benchmark --tests '*StockDeductionConcurrencyBenchmarkTest'
+ * - 주문 한 건 = 재고 차감 트랜잭션 한 번 ( 1개 구매 )
+ */
+@Tag("benchmark")
+class StockDeductionConcurrencyBenchmarkTest extends IntegrationTestSupport {
+
+    private static final AtomicInteger PRODUCT_NUMBER_SEQUENCE = new AtomicInteger();
+    private static final int BUYER_COUNT = 64;
+    private static final int ORDERS_PER_BUYER = 10;
+    private static final int INITIAL_QUANTITY = 300;
+
+    @Autowired
+    private StockDeductor stockDeductor;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    private String productNumber;
+
+    @BeforeEach
+    void setUp() {
+        // 재고 원장은 애플리케이션에 하나뿐이므로, 앞선 전략이 원장에 올려둔 재고와 겹치지 않도록 측정마다 다른 상품번호를 쓴다.
+        productNumber = "B" + PRODUCT_NUMBER_SEQUENCE.incrementAndGet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stockRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("64명이 같은 상품을 동시에 구매해도 재고보다 많이 팔리지 않는다.")
+    @EnumSource(StockDeductionType.class)
+    @ParameterizedTest
+    public void concurrentDeduction(StockDeductionType type) throws Exception {
+        // given
+        stockRepository.save(Stock.create(productNumber, INITIAL_QUANTITY));
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger soldOut = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(BUYER_COUNT);
+
+        // when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < BUYER_COUNT; i++) {
+            futures.add(executorService.submit(() -> {
+                start.await();
+                for (int j = 0; j < ORDERS_PER_BUYER; j++) {
+                    try {
+                        stockDeductor.deduct(type, Map.of(productNumber, 1)); // StockDeductor 호출 = 하나의 트랜잭션
+                        succeeded.incrementAndGet();
+                    } catch (IllegalArgumentException e) {
+                        soldOut.incrementAndGet();
+                    } catch (RuntimeException e) { // 락 타임아웃, 재시도 초과 등
+                        failed.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        executorService.shutdown();
+
+        stockLedger.flush(); // IN_MEMORY_LEDGER 전략은 flush 시점에 DB 에 반영된다.
+
+        // then
+        int remainingQuantity = stockRepository.findAll().get(0).getQuantity();
+        int oversold = Math.max(0, succeeded.get() - INITIAL_QUANTITY) + Math.max(0, -remainingQuantity);
+        int lostUpdates = (INITIAL_QUANTITY - remainingQuantity) - succeeded.get();
+
+        System.out.printf("[%s] buyers=%d, orders/sec=%.1f, succeeded=%d, soldOut=%d, failed=%d, remaining=%d, oversold=%d, lostUpdates=%d%n",
+                type, BUYER_COUNT, succeeded.get() / (elapsedNanos / 1_000_000_000.0),
+                succeeded.get(), soldOut.get(), failed.get(), remainingQuantity, oversold, lostUpdates);
+
+        assertThat(oversold).isZero();
+        assertThat(lostUpdates).isZero();
+    }
+}
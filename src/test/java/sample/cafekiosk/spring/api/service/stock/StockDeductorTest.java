@@ -0,0 +1,156 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+
+class StockDeductorTest extends IntegrationTestSupport {
+
+    private static final AtomicInteger PRODUCT_NUMBER_SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private StockDeductor stockDeductor;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    private String productNumberPrefix;
+
+    @BeforeEach
+    void setUp() {
+        // 재고 원장은 애플리케이션에 하나뿐이므로, 앞선 테스트가 원장에 올려둔 재고와 겹치지 않도록 테스트마다 다른 상품번호를 쓴다.
+        productNumberPrefix = "D" + PRODUCT_NUMBER_SEQUENCE.incrementAndGet() + "-";
+    }
+
+    @AfterEach
+    void tearDown() {
+        stockRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("상품번호별 수량만큼 재고를 차감한다.")
+    @EnumSource(StockDeductionType.class)
+    @ParameterizedTest
+    public void deduct(StockDeductionType type) throws Exception {
+        // given
+        Stock stock1 = Stock.create(productNumber("001"), 2);
+        Stock stock2 = Stock.create(productNumber("002"), 2);
+        stockRepository.saveAll(List.of(stock1, stock2));
+
+        Map<String, Integer> deductionQuantities = new TreeMap<>(Map.of(productNumber("001"), 2, productNumber("002"), 1));
+
+        // when
+        stockDeductor.deduct(type, deductionQuantities);
+        stockLedger.flush(); // IN_MEMORY_LEDGER 전략은 flush 시점에 DB 에 반영된다.
+
+        // then
+        List<Stock> stocks = stockRepository.findAll();
+        assertThat(stocks).hasSize(2)
+                .extracting("productNumber", "quantity")
+                .containsExactlyInAnyOrder(
+                        tuple(productNumber("001"), 0),
+                        tuple(productNumber("002"), 1)
+                );
+    }
+
+    @DisplayName("재고가 부족한 상품이 있으면 예외가 발생하고, 앞서 차감한 재고도 원복된다.")
+    @EnumSource(StockDeductionType.class)
+    @ParameterizedTest
+    public void deductWithNoStock(StockDeductionType type) throws Exception {
+        // given
+        Stock stock1 = Stock.create(productNumber("001"), 2);
+        Stock stock2 = Stock.create(productNumber("002"), 1);
+        stockRepository.saveAll(List.of(stock1, stock2));
+
+        Map<String, Integer> deductionQuantities = new TreeMap<>(Map.of(productNumber("001"), 1, productNumber("002"), 2));
+
+        // when & then
+        assertThatThrownBy(() -> stockDeductor.deduct(type, deductionQuantities))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("재고가 부족한 상품이 있습니다.");
+
+        List<Stock> stocks = stockRepository.findAll();
+        assertThat(stocks).hasSize(2)
+                .extracting("productNumber", "quantity")
+                .containsExactlyInAnyOrder(
+                        tuple(productNumber("001"), 2),
+                        tuple(productNumber("002"), 1)
+                );
+    }
+
+    @DisplayName("재고 정보가 없는 상품을 차감하려는 경우 예외가 발생한다.")
+    @EnumSource(StockDeductionType.class)
+    @ParameterizedTest
+    public void deductWithoutStock(StockDeductionType type) throws Exception {
+        // given
+        Map<String, Integer> deductionQuantities = new TreeMap<>(Map.of(productNumber("001"), 1));
+
+        // when & then
+        assertThatThrownBy(() -> stockDeductor.deduct(type, deductionQuantities))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("재고가 부족한 상품이 있습니다.");
+    }
+
+    @DisplayName("차감했던 수량을 되돌리고, 재고 정보가 없는 상품은 무시한다.")
+    @EnumSource(StockDeductionType.class)
+    @ParameterizedTest
+    public void restore(StockDeductionType type) throws Exception {
+        // given
+        stockRepository.saveAll(List.of(Stock.create(productNumber("001"), 2), Stock.create(productNumber("002"), 2)));
+        stockDeductor.deduct(type, new TreeMap<>(Map.of(productNumber("001"), 2, productNumber("002"), 1)));
+
+        // when
+        stockDeductor.restore(type, new TreeMap<>(Map.of(productNumber("001"), 2, productNumber("002"), 1, productNumber("003"), 1)));
+        stockLedger.flush(); // IN_MEMORY_LEDGER 전략은 flush 시점에 DB 에 반영된다.
+
+        // then
+        assertThat(stockRepository.findAll())
+                .extracting("productNumber", "quantity")
+                .containsExactlyInAnyOrder(
+                        tuple(productNumber("001"), 2),
+                        tuple(productNumber("002"), 2)
+                );
+        assertThat(stockDeductor.findAvailableQuantities(List.of(productNumber("001"), productNumber("002"))))
+                .containsEntry(productNumber("001"), 2)
+                .containsEntry(productNumber("002"), 2);
+    }
+
+    @DisplayName("서버 한 대로 운영한다고 설정하지 않으면 IN_MEMORY_LEDGER 전략을 사용할 수 없다.")
+    @Test
+    public void inMemoryLedgerWithoutSingleInstance() throws Exception {
+        // given
+        stockRepository.save(Stock.create(productNumber("001"), 2));
+        InMemoryLedgerStockDeductionStrategy strategy =
+                new InMemoryLedgerStockDeductionStrategy(stockLedger, StockDeductionType.ATOMIC_UPDATE, false);
+
+        // when & then
+        assertThatThrownBy(() -> strategy.deduct(Map.of(productNumber("001"), 1)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("IN_MEMORY_LEDGER 재고 차감은 서버 한 대로 운영할 때만 사용할 수 있습니다. ( cafekiosk.stock.ledger.single-instance )");
+        assertThatThrownBy(() -> new InMemoryLedgerStockDeductionStrategy(stockLedger, StockDeductionType.IN_MEMORY_LEDGER, false))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(stockLedger.getAvailableQuantity(productNumber("001"))).isZero(); // 원장에 올리지도 않는다.
+    }
+
+    private String productNumber(String number) {
+        return productNumberPrefix + number;
+    }
+}
@@ -0,0 +1,135 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+class StockLedgerTest extends IntegrationTestSupport {
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private StockLedger stockLedger;
+
+    @BeforeEach
+    void setUp() {
+        // 애플리케이션의 원장과 상태를 나누지 않도록 테스트마다 새 원장을 만든다.
+        stockLedger = createStockLedger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stockRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("원장에 없는 상품의 재고는 DB 에서 읽어온다.")
+    @Test
+    public void load() throws Exception {
+        // given
+        stockRepository.saveAll(List.of(Stock.create("001", 3), Stock.create("002", 5)));
+
+        // when
+        stockLedger.load(List.of("001", "002"));
+
+        // then
+        assertThat(stockLedger.getAvailableQuantity("001")).isEqualTo(3);
+        assertThat(stockLedger.getAvailableQuantity("002")).isEqualTo(5);
+    }
+
+    @DisplayName("재고가 충분한 경우에만 예약할 수 있다.")
+    @Test
+    public void tryReserve() throws Exception {
+        // given
+        stockRepository.save(Stock.create("001", 2));
+        stockLedger.load(List.of("001"));
+
+        // when
+        boolean result1 = stockLedger.tryReserve("001", 2);
+        boolean result2 = stockLedger.tryReserve("001", 1);
+
+        // then
+        assertThat(result1).isTrue();
+        assertThat(result2).isFalse();
+        assertThat(stockLedger.getAvailableQuantity("001")).isZero();
+    }
+
+    @DisplayName("예약을 되돌리면 주문 가능한 수량이 복구된다.")
+    @Test
+    public void release() throws Exception {
+        // given
+        stockRepository.save(Stock.create("001", 2));
+        stockLedger.load(List.of("001"));
+        stockLedger.tryReserve("001", 2);
+
+        // when
+        stockLedger.release(Map.of("001", 2));
+
+        // then
+        assertThat(stockLedger.getAvailableQuantity("001")).isEqualTo(2);
+    }
+
+    @DisplayName("확정된 차감량은 flush 할 때 상품별로 합산되어 DB 에 반영된다.")
+    @Test
+    public void flush() throws Exception {
+        // given
+        stockRepository.saveAll(List.of(Stock.create("001", 5), Stock.create("002", 5)));
+        stockLedger.load(List.of("001", "002"));
+        stockLedger.tryReserve("001", 1);
+        stockLedger.tryReserve("001", 2);
+        stockLedger.tryReserve("002", 1);
+        stockLedger.confirm(Map.of("001", 1));
+        stockLedger.confirm(Map.of("001", 2, "002", 1));
+
+        // when
+        stockLedger.flush();
+
+        // then
+        assertThat(stockRepository.findAll())
+                .extracting("productNumber", "quantity")
+                .containsExactlyInAnyOrder(
+                        tuple("001", 2),
+                        tuple("002", 4)
+                );
+    }
+
+    @DisplayName("재시작하면 원장은 DB 에 반영된 재고로 다시 만들어진다.")
+    @Test
+    public void rebuildFromDatabase() throws Exception {
+        // given
+        stockRepository.save(Stock.create("001", 5));
+        stockLedger.load(List.of("001"));
+        stockLedger.tryReserve("001", 2);
+        stockLedger.confirm(Map.of("001", 2));
+        stockLedger.flush();
+
+        // when
+        StockLedger restartedStockLedger = createStockLedger(); // 재시작
+        restartedStockLedger.load(List.of("001"));
+
+        // then
+        assertThat(restartedStockLedger.getAvailableQuantity("001")).isEqualTo(3);
+    }
+
+    private StockLedger createStockLedger() {
+        return new StockLedger(stockRepository, jdbcTemplate, transactionTemplate);
+    }
+}
@@ -12,12 +12,15 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import sample.cafekiosk.spring.api.controller.product.ProductController;
 import sample.cafekiosk.spring.api.controller.product.dto.request.ProductCreateRequest;
 import sample.cafekiosk.spring.api.service.product.ProductService;
+import sample.cafekiosk.spring.api.service.product.SellingMenuSnapshotService;
 import sample.cafekiosk.spring.api.service.product.request.ProductCreateServiceRequest;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
 import sample.cafekiosk.spring.docs.RestDocsSupport;
 import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
 import sample.cafekiosk.spring.domain.product.ProductType;
 
+import java.time.Duration;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
 import static org.springframework.restdocs.operation.preprocess.Preprocessors.*;
@@ -29,7 +32,7 @@ public class ProductControllerDocsTest extends RestDocsSupport {
 
     @Override
     protected Object initController() {
-        return new ProductController(productService);
+        return new ProductController(productService, new SellingMenuSnapshotService(productService, objectMapper, Duration.ofMinutes(10)));
     }
 
     @DisplayName("신규 상품을 등록하는 API")
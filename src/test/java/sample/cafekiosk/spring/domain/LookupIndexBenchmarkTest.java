@@ -0,0 +1,165 @@
+package sample.cafekiosk.spring.domain;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * 주문 / 상품 / 재고가 10만, 100만 건일 때, 조회 조건 인덱스가 있는 경우와 없는 경우의 조회 시간을 비교한다.
+ * - 주문은 1년에 걸쳐 고르게, 주문 상태를 번갈아 넣는다. ( 하루 / 한 상태의 주문은 전체의 약 1/2000 )
+ * - 인덱스는 엔티티의 @Table 설정으로 만들어져 있으므로, 먼저 인덱스가 있는 상태에서 측정하고 인덱스를 지운 뒤 다시 측정한다. ( 측정 후에는 다시 만든다. )
+ * - 실행: ./gradlew benchmark --tests '*LookupIndexBenchmarkTest'
+ */
+@Tag("benchmark")
+class LookupIndexBenchmarkTest extends IntegrationTestSupport {
+
+    private static final long ID_OFFSET = 1_000_000_000L; // 시퀀스로 생성되는 id 와 겹치지 않도록
+    private static final int INSERT_BATCH_SIZE = 10_000;
+    private static final int REPETITIONS = 20;
+    private static final LocalDate FIRST_ORDER_DATE = LocalDate.of(2023, 1, 1);
+    private static final OrderStatus[] ORDER_STATUSES = OrderStatus.values();
+
+    private static final List<String> DROP_INDEXES = List.of(
+            "drop index idx_orders_status_registered_date_time",
+            "drop index idx_orders_registered_date_time",
+            "alter table product drop constraint uk_product_product_number",
+            "alter table stock drop constraint uk_stock_product_number"
+    );
+    private static final List<String> CREATE_INDEXES = List.of(
+            "create index idx_orders_status_registered_date_time on orders (order_status, registered_date_time, total_price)",
+            "create index idx_orders_registered_date_time on orders (registered_date_time, order_status, total_price)",
+            "alter table product add constraint uk_product_product_number unique (product_number)",
+            "alter table stock add constraint uk_stock_product_number unique (product_number)"
+    );
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private boolean indexesDropped;
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        stockRepository.deleteAllInBatch();
+        if (indexesDropped) {
+            CREATE_INDEXES.forEach(jdbcTemplate::execute);
+            indexesDropped = false;
+        }
+    }
+
+    @DisplayName("조회 조건 인덱스가 있으면 행 수가 늘어나도 조회 시간이 거의 늘지 않는다.")
+    @ValueSource(ints = {100_000, 1_000_000})
+    @ParameterizedTest
+    public void lookupLatency(int rowCount) throws Exception {
+        // given
+        insertOrders(rowCount);
+        insertProductsAndStocks(rowCount);
+        jdbcTemplate.execute("analyze");
+
+        // when
+        Latency withIndexes = measureLookups(rowCount);
+        DROP_INDEXES.forEach(jdbcTemplate::execute);
+        indexesDropped = true;
+        jdbcTemplate.execute("analyze");
+        Latency withoutIndexes = measureLookups(rowCount);
+
+        // then
+        System.out.printf("[rows=%d] findOrdersBy=%.2fms -> %.2fms, sumTotalPriceBy=%.2fms -> %.2fms, " +
+                        "product findAllByProductNumberIn=%.2fms -> %.2fms, stock findAllByProductNumberIn=%.2fms -> %.2fms (with -> without indexes)%n",
+                rowCount,
+                withIndexes.findOrders(), withoutIndexes.findOrders(),
+                withIndexes.sumTotalPrice(), withoutIndexes.sumTotalPrice(),
+                withIndexes.findProducts(), withoutIndexes.findProducts(),
+                withIndexes.findStocks(), withoutIndexes.findStocks());
+    }
+
+    private Latency measureLookups(int rowCount) {
+        LocalDateTime startDateTime = FIRST_ORDER_DATE.plusDays(180).atStartOfDay();
+        LocalDateTime endDateTime = startDateTime.plusDays(1);
+        List<String> productNumbers = IntStream.range(0, 10)
+                .mapToObj(i -> productNumberOf(rowCount / 10 * i + 7))
+                .toList();
+
+        return new Latency(
+                averageMillis(() -> transactionTemplate.executeWithoutResult(status ->
+                        orderRepository.findOrdersBy(startDateTime, endDateTime, OrderStatus.PAYMENT_COMPLETED))),
+                averageMillis(() -> orderRepository.sumTotalPriceBy(startDateTime, endDateTime, OrderStatus.PAYMENT_COMPLETED)),
+                averageMillis(() -> productRepository.findAllByProductNumberIn(productNumbers)),
+                averageMillis(() -> stockRepository.findAllByProductNumberIn(productNumbers))
+        );
+    }
+
+    private double averageMillis(Runnable lookup) {
+        lookup.run(); // warm-up
+        long start = System.nanoTime();
+        for (int i = 0; i < REPETITIONS; i++) {
+            lookup.run();
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / REPETITIONS;
+    }
+
+    private void insertOrders(int orderCount) {
+        LocalDateTime startDateTime = FIRST_ORDER_DATE.atStartOfDay();
+        long secondsPerOrder = Math.max(1, 365 * 24 * 60 * 60L / orderCount);
+
+        for (int from = 0; from < orderCount; from += INSERT_BATCH_SIZE) {
+            List<Object[]> rows = new ArrayList<>();
+            for (int i = from; i < Math.min(from + INSERT_BATCH_SIZE, orderCount); i++) {
+                Timestamp registeredDateTime = Timestamp.valueOf(startDateTime.plusSeconds(secondsPerOrder * i));
+                rows.add(new Object[]{ID_OFFSET + i, ORDER_STATUSES[i % ORDER_STATUSES.length].name(), 4000, registeredDateTime, registeredDateTime, registeredDateTime});
+            }
+            jdbcTemplate.batchUpdate("insert into orders (id, order_status, total_price, registered_date_time, created_date_time, modified_date_time) " +
+                    "values (?, ?, ?, ?, ?, ?)", rows);
+        }
+    }
+
+    private void insertProductsAndStocks(int productCount) {
+        for (int from = 0; from < productCount; from += INSERT_BATCH_SIZE) {
+            List<Object[]> products = new ArrayList<>();
+            List<Object[]> stocks = new ArrayList<>();
+            for (int i = from; i < Math.min(from + INSERT_BATCH_SIZE, productCount); i++) {
+                products.add(new Object[]{ID_OFFSET + i, productNumberOf(i), "BOTTLE", "SELLING", "상품" + i, 1000});
+                stocks.add(new Object[]{ID_OFFSET + i, productNumberOf(i), 100, 0L});
+            }
+            jdbcTemplate.batchUpdate("insert into product (id, product_number, type, selling_status, name, price) values (?, ?, ?, ?, ?, ?)", products);
+            jdbcTemplate.batchUpdate("insert into stock (id, product_number, quantity, version) values (?, ?, ?, ?)", stocks);
+        }
+    }
+
+    private String productNumberOf(int i) {
+        return String.format("%07d", i);
+    }
+
+    private record Latency(double findOrders, double sumTotalPrice, double findProducts, double findStocks) {
+    }
+}
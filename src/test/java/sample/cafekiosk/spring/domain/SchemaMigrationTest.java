@@ -0,0 +1,178 @@
+package sample.cafekiosk.spring.domain;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.api.service.stock.StockDeductionType;
+import sample.cafekiosk.spring.api.service.stock.StockDeductor;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderEvent;
+import sample.cafekiosk.spring.domain.order.OrderEventRepository;
+import sample.cafekiosk.spring.domain.order.OrderEventType;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.sales.DailyProductSalesSummaryRepository;
+import sample.cafekiosk.spring.domain.sales.DailySalesSummaryRepository;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+
+/**
+ * 운영 환경처럼 Flyway 마이그레이션으로 만든 스키마에서 엔티티가 저장 / 조회되는지 확인한다. ( 별도의 인메모리 DB 사용 )
+ */
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:schemaMigrationTest",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=none"
+})
+class SchemaMigrationTest extends IntegrationTestSupport {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private DailySalesSummaryRepository dailySalesSummaryRepository;
+
+    @Autowired
+    private DailyProductSalesSummaryRepository dailyProductSalesSummaryRepository;
+
+    @Autowired
+    private OrderEventRepository orderEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StockDeductor stockDeductor;
+
+    @AfterEach
+    void tearDown() {
+        orderEventRepository.deleteAllInBatch();
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        stockRepository.deleteAllInBatch();
+        dailySalesSummaryRepository.deleteAllInBatch();
+        dailyProductSalesSummaryRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("마이그레이션으로 만든 스키마에 주문과 재고를 저장하고 조회할 수 있다.")
+    @Test
+    void saveAndFindWithMigratedSchema() {
+        // given
+        List<Product> products = productRepository.saveAll(List.of(
+                createProduct("001", 1000),
+                createProduct("002", 3000)
+        ));
+        stockRepository.save(Stock.create("001", 5));
+        LocalDateTime registeredDateTime = LocalDateTime.of(2023, 3, 5, 10, 0);
+
+        // when
+        orderRepository.save(Order.builder()
+                .products(products)
+                .orderStatus(OrderStatus.PAYMENT_COMPLETED)
+                .registeredDateTime(registeredDateTime)
+                .build());
+
+        // then
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(productRepository.findAllByProductNumberIn(List.of("001", "002"))).hasSize(2);
+        assertThat(stockRepository.findAllByProductNumberIn(List.of("001"))).hasSize(1);
+        assertThat(orderRepository.sumTotalPriceBy(registeredDateTime.minusHours(1), registeredDateTime.plusHours(1), OrderStatus.PAYMENT_COMPLETED))
+                .isEqualTo(4000L);
+    }
+
+    @DisplayName("마이그레이션으로 만든 스키마에 주문 이벤트(outbox)를 기록하고, relay 가 가져가는 쿼리로 조회할 수 있다.")
+    @Test
+    void writeAndClaimOrderEventWithMigratedSchema() {
+        // given
+        List<Product> products = productRepository.saveAll(List.of(
+                createProduct("001", 1000),
+                createProduct("002", 3000)
+        ));
+        LocalDateTime registeredDateTime = LocalDateTime.of(2023, 3, 5, 10, 0);
+
+        // when
+        Order order = orderRepository.save(Order.create(products, registeredDateTime));
+
+        // then
+        List<OrderEvent> claimedEvents = transactionTemplate.execute(status ->
+                orderEventRepository.findAllForClaim(LocalDateTime.now().plusSeconds(1), 5, Limit.of(10)));
+        assertThat(claimedEvents)
+                .extracting("orderId", "eventType", "beforeStatus", "orderStatus", "totalPrice", "registeredDateTime", "productNumbers", "attempts")
+                .containsExactly(
+                        tuple(order.getId(), OrderEventType.CREATED, null, OrderStatus.INIT, 4000, registeredDateTime, List.of("001", "002"), 0)
+                );
+    }
+
+    @DisplayName("JPA 밖에서 버전 없이 넣은 재고도 버전이 0 으로 저장되어, 낙관적 락 전략으로 차감할 수 있다.")
+    @Test
+    void deductStockInsertedWithoutVersion() {
+        // given
+        jdbcTemplate.update("insert into stock (id, product_number, quantity) values (?, ?, ?)", 1L, "001", 5);
+
+        // when
+        stockDeductor.deduct(StockDeductionType.OPTIMISTIC_LOCK, Map.of("001", 2));
+
+        // then
+        assertThat(stockRepository.findAllByProductNumberIn(List.of("001")))
+                .extracting("quantity", "version")
+                .containsExactly(tuple(3, 1L));
+    }
+
+    @DisplayName("상품번호가 같은 상품은 저장할 수 없다.")
+    @Test
+    void saveDuplicateProductNumber() {
+        // given
+        productRepository.save(createProduct("001", 1000));
+
+        // when & then
+        assertThatThrownBy(() -> productRepository.save(createProduct("001", 3000)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private Product createProduct(String productNumber, int price) {
+        return Product.builder()
+                .productNumber(productNumber)
+                .type(ProductType.HANDMADE)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name("상품" + productNumber)
+                .price(price)
+                .build();
+    }
+}
@@ -0,0 +1,121 @@
+package sample.cafekiosk.spring.domain.order;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.api.service.order.OrderService;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * 상품 10개짜리 주문을 등록할 때, id 생성/배치 설정에 따른 주문당 JDBC statement 수와 처리량(orders/sec)을 비교한다.
+ * - 실행: ./gradlew benchmark --tests '*IdGenerationBenchmarkTest'
+ * - before: id 를 한 건씩 받아오고(optimizer=none), 배치를 끈 상태 ( IDENTITY 때와 같이 row 마다 insert 가 따로 나간다. )
+ * - after : application.yml 설정 그대로 ( pooled-lo + jdbc batch )
+ */
+@Tag("benchmark")
+class IdGenerationBenchmarkTest {
+
+    private static final int ORDER_COUNT = 500;
+    private static final int ITEMS_PER_ORDER = 10;
+
+    @Nested
+    @TestPropertySource(properties = {
+            "spring.jpa.properties.hibernate.generate_statistics=true",
+            "spring.jpa.properties.hibernate.id.optimizer.pooled.preferred=none",
+            "spring.jpa.properties.hibernate.jdbc.batch_size=0",
+            "spring.jpa.show-sql=false"
+    })
+    class Before extends IdGenerationBenchmark {
+    }
+
+    @Nested
+    @TestPropertySource(properties = {
+            "spring.jpa.properties.hibernate.generate_statistics=true",
+            "spring.jpa.show-sql=false"
+    })
+    class After extends IdGenerationBenchmark {
+    }
+
+    abstract static class IdGenerationBenchmark extends IntegrationTestSupport {
+
+        @Autowired
+        private OrderService orderService;
+
+        @Autowired
+        private ProductRepository productRepository;
+
+        @Autowired
+        private OrderRepository orderRepository;
+
+        @Autowired
+        private OrderProductRepository orderProductRepository;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        @BeforeEach
+        void setUp() {
+            productRepository.saveAll(IntStream.rangeClosed(1, ITEMS_PER_ORDER)
+                    .mapToObj(i -> Product.builder()
+                            .productNumber(String.format("%03d", i))
+                            .type(ProductType.HANDMADE)
+                            .sellingStatus(ProductSellingStatus.SELLING)
+                            .name("상품" + i)
+                            .price(1000)
+                            .build())
+                    .toList());
+        }
+
+        @AfterEach
+        void tearDown() {
+            orderProductRepository.deleteAllInBatch();
+            orderRepository.deleteAllInBatch();
+            productRepository.deleteAllInBatch();
+        }
+
+        @DisplayName("상품 10개짜리 주문의 주문당 statement 수와 처리량을 측정한다.")
+        @Test
+        public void statementsPerOrder() throws Exception {
+            // given
+            OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+                    .productNumbers(IntStream.rangeClosed(1, ITEMS_PER_ORDER).mapToObj(i -> String.format("%03d", i)).toList())
+                    .build();
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            orderService.createOrder(request, LocalDateTime.now()); // warm-up
+            statistics.clear();
+
+            // when
+            long start = System.nanoTime();
+            for (int i = 0; i < ORDER_COUNT; i++) {
+                orderService.createOrder(request, LocalDateTime.now());
+            }
+            long elapsedNanos = System.nanoTime() - start;
+
+            // then
+            System.out.printf("[%s] statements/order=%.2f (prepared=%d, entity inserts=%d), orders/sec=%.1f%n",
+                    getClass().getSimpleName(),
+                    statistics.getPrepareStatementCount() / (double) ORDER_COUNT,
+                    statistics.getPrepareStatementCount(),
+                    statistics.getEntityInsertCount(),
+                    ORDER_COUNT / (elapsedNanos / 1_000_000_000.0));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package sample.cafekiosk.spring.domain.order;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Transactional
+class OrderRepositoryTest extends IntegrationTestSupport {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @DisplayName("기간 내 원하는 주문 상태를 가진 주문들의 총 매출 합계를 조회한다.")
+    @Test
+    public void sumTotalPriceBy() throws Exception {
+        // given
+        Product product1 = createProduct("001", 1000);
+        Product product2 = createProduct("002", 3000);
+        productRepository.saveAll(List.of(product1, product2));
+
+        orderRepository.saveAll(List.of(
+                createOrder(LocalDateTime.of(2023, 3, 4, 23, 59, 59), OrderStatus.PAYMENT_COMPLETED, List.of(product1)),
+                createOrder(LocalDateTime.of(2023, 3, 5, 0, 0), OrderStatus.PAYMENT_COMPLETED, List.of(product1, product2)),
+                createOrder(LocalDateTime.of(2023, 3, 5, 12, 0), OrderStatus.CANCELED, List.of(product2)),
+                createOrder(LocalDateTime.of(2023, 3, 5, 23, 59, 59), OrderStatus.PAYMENT_COMPLETED, List.of(product2)),
+                createOrder(LocalDateTime.of(2023, 3, 6, 0, 0), OrderStatus.PAYMENT_COMPLETED, List.of(product1))
+        ));
+
+        // when
+        long totalPrice = orderRepository.sumTotalPriceBy(
+                LocalDateTime.of(2023, 3, 5, 0, 0),
+                LocalDateTime.of(2023, 3, 6, 0, 0),
+                OrderStatus.PAYMENT_COMPLETED);
+
+        // then
+        assertThat(totalPrice).isEqualTo(7000);
+    }
+
+    @DisplayName("기간 내 해당하는 주문이 없으면 총 매출 합계는 0 이다.")
+    @Test
+    public void sumTotalPriceByWithoutOrders() throws Exception {
+        // when
+        long totalPrice = orderRepository.sumTotalPriceBy(
+                LocalDateTime.of(2023, 3, 5, 0, 0),
+                LocalDateTime.of(2023, 3, 6, 0, 0),
+                OrderStatus.PAYMENT_COMPLETED);
+
+        // then
+        assertThat(totalPrice).isZero();
+    }
+
+    private Order createOrder(LocalDateTime registeredDateTime, OrderStatus orderStatus, List<Product> products) {
+        return Order.builder()
+                .products(products)
+                .orderStatus(orderStatus)
+                .registeredDateTime(registeredDateTime)
+                .build();
+    }
+
+    private Product createProduct(String productNumber, int price) {
+        return Product.builder()
+                .type(ProductType.HANDMADE)
+                .productNumber(productNumber)
+                .price(price)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name("메뉴 " + productNumber)
+                .build();
+    }
+}
@@ -0,0 +1,34 @@
+package sample.cafekiosk.spring.domain.order;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderStatusTest {
+
+    @DisplayName("주문 상태별로 바꿀 수 있는 다음 상태가 정해져 있다.")
+    @CsvSource({
+            "INIT,PAYMENT_COMPLETED,true",
+            "INIT,PAYMENT_FAILED,true",
+            "INIT,CANCELED,true",
+            "INIT,RECEIVED,false",
+            "PAYMENT_COMPLETED,RECEIVED,true",
+            "PAYMENT_COMPLETED,CANCELED,true",
+            "PAYMENT_COMPLETED,INIT,false",
+            "RECEIVED,COMPLETED,true",
+            "RECEIVED,CANCELED,true",
+            "COMPLETED,CANCELED,false",
+            "CANCELED,PAYMENT_COMPLETED,false",
+            "PAYMENT_FAILED,PAYMENT_COMPLETED,false"
+    })
+    @ParameterizedTest
+    void canChangeTo(OrderStatus beforeStatus, OrderStatus afterStatus, boolean expected) {
+        // when
+        boolean result = beforeStatus.canChangeTo(afterStatus);
+
+        // then
+        assertThat(result).isEqualTo(expected);
+    }
+}
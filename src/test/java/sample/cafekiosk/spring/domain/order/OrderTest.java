@@ -10,6 +10,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class OrderTest {
 
@@ -62,6 +63,32 @@ class OrderTest {
         assertThat(order.getRegisteredDateTime()).isEqualTo(registeredDateTime);
     }
 
+    @DisplayName("주문 상태를 바꿀 수 있는 상태로 바꾼다.")
+    @Test
+    public void changeOrderStatus() throws Exception {
+        // given
+        Order order = Order.create(List.of(createProduct("001", 1000, "아메리카노")), LocalDateTime.now());
+
+        // when
+        order.changeOrderStatus(OrderStatus.PAYMENT_COMPLETED);
+
+        // then
+        assertThat(order.getOrderStatus()).isEqualByComparingTo(OrderStatus.PAYMENT_COMPLETED);
+    }
+
+    @DisplayName("바꿀 수 없는 상태로 주문 상태를 바꾸면 예외가 발생한다.")
+    @Test
+    public void changeOrderStatusWithInvalidTransition() throws Exception {
+        // given
+        Order order = Order.create(List.of(createProduct("001", 1000, "아메리카노")), LocalDateTime.now());
+
+        // when & then
+        assertThatThrownBy(() -> order.changeOrderStatus(OrderStatus.COMPLETED))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("주문생성 주문은 처리완료 상태로 바꿀 수 없습니다.");
+        assertThat(order.getOrderStatus()).isEqualByComparingTo(OrderStatus.INIT);
+    }
+
     private Product createProduct(String productNumber, int price, String name) {
         return Product.builder()
                 .type(ProductType.HANDMADE)
@@ -54,4 +54,37 @@ class StockRepositoryTest extends IntegrationTestSupport {
                         Tuple.tuple("002", 2)
                 );
     }
-}
\ No newline at end of file
+
+    @DisplayName("재고가 충분한 경우에만 재고를 차감하고, 차감된 재고의 수를 반환한다.")
+    @Test
+    public void deductQuantity() throws Exception {
+        // given
+        Stock stock1 = Stock.create("001", 2);
+        Stock stock2 = Stock.create("002", 1);
+        stockRepository.saveAll(List.of(stock1, stock2));
+
+        // when
+        int deductedCount1 = stockRepository.deductQuantity("001", 2);
+        int deductedCount2 = stockRepository.deductQuantity("002", 2);
+
+        // then
+        Assertions.assertThat(deductedCount1).isEqualTo(1);
+        Assertions.assertThat(deductedCount2).isZero();
+    }
+
+    @DisplayName("읽어온 시점의 버전이 그대로인 경우에만 재고 수량을 변경한다.")
+    @Test
+    public void updateQuantityIfVersionMatches() throws Exception {
+        // given
+        Stock stock = stockRepository.save(Stock.create("001", 2));
+        Long version = stock.getVersion();
+
+        // when
+        int updatedCount1 = stockRepository.updateQuantityIfVersionMatches(stock.getId(), 1, version);
+        int updatedCount2 = stockRepository.updateQuantityIfVersionMatches(stock.getId(), 0, version);
+
+        // then
+        Assertions.assertThat(updatedCount1).isEqualTo(1);
+        Assertions.assertThat(updatedCount2).isZero();
+    }
+}